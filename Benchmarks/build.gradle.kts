@@ -0,0 +1,61 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh")
+}
+
+repositories {
+    mavenCentral()
+}
+
+// gradle.properties
+val modJavaVersion: String by extra
+
+dependencies {
+    jmh(project(":Core"))
+    jmh(
+        group = "com.google.guava",
+        name = "guava",
+        version = "31.1-jre"
+    )
+    jmh(
+        group = "org.jetbrains",
+        name = "annotations",
+        version = "23.0.0"
+    )
+    jmh(
+        group = "it.unimi.dsi",
+        name = "fastutil",
+        version = "8.5.6"
+    )
+}
+
+sourceSets {
+    named("main") {
+        //The benchmarks module has no main code or resources
+        java.setSrcDirs(emptyList<String>())
+        resources.setSrcDirs(emptyList<String>())
+    }
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(modJavaVersion))
+    }
+}
+
+// Benchmarks for the Core search types.
+// The ingredient filter and recipe map benchmarks need Minecraft classes, they are in the NeoForge module.
+// Run with ./gradlew :Benchmarks:jmh
+// Pass -PjmhIncludes=<regex> to only run matching benchmarks, for example -PjmhIncludes=SuffixTree
+jmh {
+    jmhVersion.set(project.property("jmhVersion").toString())
+    val includes = project.findProperty("jmhIncludes")
+    if (includes != null) {
+        this.includes.add(includes.toString())
+    }
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    jvmArgs.set(listOf("-Xmx8G"))
+    resultFormat.set("JSON")
+}
@@ -0,0 +1,64 @@
+package mezz.jei.benchmark;
+
+import mezz.jei.core.search.LimitedStringStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and searches the storage used for mod names and tags, which have few distinct keys with many values each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LimitedStringStorageBenchmark {
+	private static final List<String> TOKENS = List.of("m", "mod1", "examplemod42", "ingots", "ores/iron", "zzzz");
+
+	@Param({"10000", "100000", "1000000"})
+	public int size;
+
+	private List<SyntheticIngredients.Ingredient> ingredients = List.of();
+	private LimitedStringStorage<Integer> storage = new LimitedStringStorage<>();
+
+	@Setup
+	public void setup() {
+		ingredients = SyntheticIngredients.create(size, 1);
+		storage = createStorage();
+	}
+
+	private LimitedStringStorage<Integer> createStorage() {
+		LimitedStringStorage<Integer> storage = new LimitedStringStorage<>();
+		for (int i = 0; i < ingredients.size(); i++) {
+			SyntheticIngredients.Ingredient ingredient = ingredients.get(i);
+			storage.put(ingredient.modId(), i);
+			storage.put(ingredient.modName(), i);
+			for (String tag : ingredient.tags()) {
+				storage.put(tag, i);
+			}
+		}
+		return storage;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public LimitedStringStorage<Integer> put() {
+		return createStorage();
+	}
+
+	@Benchmark
+	public void getSearchResults(Blackhole blackhole) {
+		for (String token : TOKENS) {
+			storage.getSearchResults(token, blackhole::consume);
+		}
+	}
+}
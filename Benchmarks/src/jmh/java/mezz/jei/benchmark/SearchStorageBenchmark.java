@@ -0,0 +1,82 @@
+package mezz.jei.benchmark;
+
+import mezz.jei.core.search.ISearchStorage;
+import mezz.jei.core.search.fuzzy.FuzzySearchStorage;
+import mezz.jei.core.search.suffixtree.CompactGeneralizedSuffixTree;
+import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and searches the storages used for ingredient names, tooltips and resource locations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchStorageBenchmark {
+	private static final List<String> TOKENS = List.of("i", "ir", "iro", "iron", "ingot", "cracked", "dark oak", "zzzz");
+
+	@Param({"10000", "100000", "1000000"})
+	public int size;
+
+	@Param({"GeneralizedSuffixTree", "CompactGeneralizedSuffixTree", "FuzzySearchStorage"})
+	public String storageType;
+
+	private List<String> names = List.of();
+	private ISearchStorage<Integer> storage = new GeneralizedSuffixTree<>();
+
+	@Setup
+	public void setup() {
+		names = SyntheticIngredients.create(size, 1).stream()
+			.map(SyntheticIngredients.Ingredient::name)
+			.toList();
+		storage = createStorage();
+	}
+
+	private ISearchStorage<Integer> createStorage() {
+		ISearchStorage<Integer> storage = switch (storageType) {
+			case "GeneralizedSuffixTree" -> new GeneralizedSuffixTree<>();
+			case "CompactGeneralizedSuffixTree" -> new CompactGeneralizedSuffixTree<>();
+			case "FuzzySearchStorage" -> new FuzzySearchStorage<>(new CompactGeneralizedSuffixTree<>());
+			default -> throw new IllegalArgumentException("Unknown storage type: " + storageType);
+		};
+		for (int i = 0; i < names.size(); i++) {
+			storage.put(names.get(i), i);
+		}
+		return storage;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public ISearchStorage<Integer> put() {
+		return createStorage();
+	}
+
+	@Benchmark
+	public void getSearchResults(Blackhole blackhole) {
+		for (String token : TOKENS) {
+			storage.getSearchResults(token, blackhole::consume);
+		}
+	}
+
+	/**
+	 * Tokens with a typo, which only the fuzzy storage matches.
+	 */
+	@Benchmark
+	public void getSearchResultsWithTypos(Blackhole blackhole) {
+		for (String token : List.of("irom", "ingto", "redstnoe", "chestplaet")) {
+			storage.getSearchResults(token, blackhole::consume);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package mezz.jei.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates ingredient-like search data without Minecraft,
+ * with names, mod names, tags and tooltips that repeat words the way a large modpack does.
+ */
+public final class SyntheticIngredients {
+	private static final String[] MATERIALS = {
+		"iron", "gold", "copper", "tin", "lead", "silver", "osmium", "uranium", "diamond", "emerald",
+		"redstone", "lapis", "quartz", "obsidian", "steel", "bronze", "electrum", "invar", "nickel", "platinum",
+		"oak", "spruce", "birch", "jungle", "acacia", "dark oak", "mangrove", "cherry", "crimson", "warped"
+	};
+	private static final String[] SHAPES = {
+		"ingot", "nugget", "block", "dust", "plate", "gear", "rod", "wire", "ore", "raw",
+		"planks", "log", "slab", "stairs", "fence", "door", "pickaxe", "sword", "axe", "shovel",
+		"helmet", "chestplate", "leggings", "boots", "bucket", "cable", "pipe", "tank", "machine", "casing"
+	};
+	private static final String[] MODIFIERS = {
+		"", "", "", "", "reinforced", "enchanted", "compressed", "double compressed", "advanced", "elite",
+		"basic", "ultimate", "polished", "cracked", "mossy", "smooth", "chiseled", "cut", "waxed", "weathered"
+	};
+	private static final String[] TOOLTIP_LINES = {
+		"when in main hand:", "attack damage", "attack speed", "durability", "can be placed on",
+		"stores energy", "transfers fluids", "rare", "epic", "uncommon", "right click to use", "shift for details"
+	};
+	private static final int MOD_COUNT = 300;
+
+	private SyntheticIngredients() {
+	}
+
+	public record Ingredient(String name, String modId, String modName, List<String> tags, List<String> tooltip) {}
+
+	public static List<Ingredient> create(int count, long seed) {
+		Random random = new Random(seed);
+		List<Ingredient> ingredients = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String material = MATERIALS[random.nextInt(MATERIALS.length)];
+			String shape = SHAPES[random.nextInt(SHAPES.length)];
+			String modifier = MODIFIERS[random.nextInt(MODIFIERS.length)];
+			String name = (modifier.isEmpty() ? "" : modifier + " ") + material + " " + shape + " " + Integer.toString(i, 36);
+
+			int mod = (int) Math.abs(random.nextGaussian() * MOD_COUNT / 4) % MOD_COUNT;
+			String modId = "mod" + mod;
+			String modName = "examplemod" + mod;
+
+			List<String> tags = List.of(shape + "s", shape + "s/" + material.replace(' ', '_'));
+
+			List<String> tooltip = new ArrayList<>();
+			int tooltipLines = random.nextInt(4);
+			for (int line = 0; line < tooltipLines; line++) {
+				tooltip.add(TOOLTIP_LINES[random.nextInt(TOOLTIP_LINES.length)]);
+			}
+			ingredients.add(new Ingredient(name, modId, modName, tags, tooltip));
+		}
+		return ingredients;
+	}
+}
@@ -35,6 +35,12 @@ public final class ClientConfig implements IClientConfig {
 
 	// advanced
 	private final Supplier<Boolean> lowMemorySlowSearchEnabled;
+	private final Supplier<Boolean> compactSearchIndexEnabled;
+	private final Supplier<Boolean> searchIndexCacheEnabled;
+	private final Supplier<Boolean> colorPaletteCacheEnabled;
+	private final Supplier<Boolean> asyncSearchEnabled;
+	private final Supplier<Boolean> parallelRecipeRegistrationEnabled;
+	private final Supplier<Boolean> parallelPluginRegistrationEnabled;
 	private final Supplier<Boolean> catchRenderErrorsEnabled;
 	private final Supplier<Boolean> lookupFluidContentsEnabled;
 	private final Supplier<Boolean> lookupBlockTagsEnabled;
@@ -90,6 +96,12 @@ public final class ClientConfig implements IClientConfig {
 
 		IConfigCategoryBuilder performance = schema.addCategory("performance");
 		lowMemorySlowSearchEnabled = performance.addBoolean("lowMemorySlowSearchEnabled", false);
+		compactSearchIndexEnabled = performance.addBoolean("compactSearchIndexEnabled", false);
+		searchIndexCacheEnabled = performance.addBoolean("searchIndexCacheEnabled", false);
+		colorPaletteCacheEnabled = performance.addBoolean("colorPaletteCacheEnabled", false);
+		asyncSearchEnabled = performance.addBoolean("asyncSearchEnabled", false);
+		parallelRecipeRegistrationEnabled = performance.addBoolean("parallelRecipeRegistrationEnabled", false);
+		parallelPluginRegistrationEnabled = performance.addBoolean("parallelPluginRegistrationEnabled", false);
 
 		IConfigCategoryBuilder lookups = schema.addCategory("lookups");
 		lookupFluidContentsEnabled = lookups.addBoolean("lookupFluidContentsEnabled", false);
@@ -144,6 +156,36 @@ public final class ClientConfig implements IClientConfig {
 		return lowMemorySlowSearchEnabled.get();
 	}
 
+	@Override
+	public boolean isCompactSearchIndexEnabled() {
+		return compactSearchIndexEnabled.get();
+	}
+
+	@Override
+	public boolean isSearchIndexCacheEnabled() {
+		return searchIndexCacheEnabled.get();
+	}
+
+	@Override
+	public boolean isColorPaletteCacheEnabled() {
+		return colorPaletteCacheEnabled.get();
+	}
+
+	@Override
+	public boolean isAsyncSearchEnabled() {
+		return asyncSearchEnabled.get();
+	}
+
+	@Override
+	public boolean isParallelRecipeRegistrationEnabled() {
+		return parallelRecipeRegistrationEnabled.get();
+	}
+
+	@Override
+	public boolean isParallelPluginRegistrationEnabled() {
+		return parallelPluginRegistrationEnabled.get();
+	}
+
 	@Override
 	public boolean isCatchRenderErrorsEnabled() {
 		return catchRenderErrorsEnabled.get();
@@ -12,6 +12,18 @@ public interface IClientConfig {
 
 	boolean isLowMemorySlowSearchEnabled();
 
+	boolean isCompactSearchIndexEnabled();
+
+	boolean isSearchIndexCacheEnabled();
+
+	boolean isColorPaletteCacheEnabled();
+
+	boolean isAsyncSearchEnabled();
+
+	boolean isParallelRecipeRegistrationEnabled();
+
+	boolean isParallelPluginRegistrationEnabled();
+
 	boolean isCatchRenderErrorsEnabled();
 
 	boolean isCheatToHotbarUsingHotkeysEnabled();
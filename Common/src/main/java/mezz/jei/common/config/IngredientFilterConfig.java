@@ -18,6 +18,7 @@ public class IngredientFilterConfig implements IIngredientFilterConfig {
 	public final Supplier<Boolean> searchModAliases;
 	public final Supplier<Boolean> searchShortModNames;
 	public final Supplier<Boolean> searchIngredientAliases;
+	public final Supplier<Boolean> searchTypoTolerant;
 
 	public IngredientFilterConfig(IConfigSchemaBuilder builder) {
 		IConfigCategoryBuilder search = builder.addCategory("search");
@@ -32,6 +33,7 @@ public class IngredientFilterConfig implements IIngredientFilterConfig {
 		searchModAliases = search.addBoolean("searchModAliases", true);
 		searchShortModNames = search.addBoolean("searchShortModNames", false);
 		searchIngredientAliases = search.addBoolean("searchIngredientAliases", true);
+		searchTypoTolerant = search.addBoolean("searchTypoTolerant", false);
 	}
 
 	@Override
@@ -88,4 +90,9 @@ public class IngredientFilterConfig implements IIngredientFilterConfig {
 	public boolean getSearchShortModNames() {
 		return searchShortModNames.get();
 	}
+
+	@Override
+	public boolean getSearchTypoTolerant() {
+		return searchTypoTolerant.get();
+	}
 }
@@ -61,6 +61,27 @@ public class JsonArrayFileHelper {
 		writer.end();
 	}
 
+	/**
+	 * Writes elements that are already encoded to a json array in a file, with newlines for each element.
+	 */
+	public static void writeElements(
+		BufferedWriter out,
+		int version,
+		Collection<JsonElement> elements
+	) throws IOException {
+		JsonArrayWriter writer = JsonArrayWriter.start(out);
+
+		JsonObject versionElement = new JsonObject();
+		versionElement.addProperty("version", version);
+		writer.add(versionElement);
+
+		for (JsonElement element : elements) {
+			writer.add(element);
+		}
+
+		writer.end();
+	}
+
 	@Nullable
 	private static Integer getVersion(JsonElement firstElement) {
 		if (!firstElement.isJsonObject()) {
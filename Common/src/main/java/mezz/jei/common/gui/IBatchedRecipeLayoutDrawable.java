@@ -0,0 +1,23 @@
+package mezz.jei.common.gui;
+
+import net.minecraft.client.gui.GuiGraphics;
+
+/**
+ * A recipe layout that can be drawn in two passes around a shared {@link IngredientBatch},
+ * so the ingredients of every recipe on a page can be drawn together.
+ *
+ * Drawing everything below the ingredients, then the batch, then everything above the ingredients
+ * looks the same as drawing the recipe in one pass.
+ */
+public interface IBatchedRecipeLayoutDrawable {
+	/**
+	 * Draws the recipe's background, category and slot backgrounds,
+	 * and adds the ingredients displayed in its slots to the batch instead of drawing them.
+	 */
+	void drawRecipeBelowIngredients(GuiGraphics guiGraphics, int mouseX, int mouseY, IngredientBatch ingredientBatch);
+
+	/**
+	 * Draws the slot overlays, widgets, drawables and decorators that go on top of the ingredients.
+	 */
+	void drawRecipeAboveIngredients(GuiGraphics guiGraphics, int mouseX, int mouseY);
+}
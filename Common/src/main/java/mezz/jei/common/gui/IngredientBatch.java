@@ -0,0 +1,54 @@
+package mezz.jei.common.gui;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import mezz.jei.api.ingredients.IIngredientRenderer;
+import mezz.jei.api.ingredients.IIngredientType;
+import mezz.jei.api.ingredients.rendering.BatchRenderElement;
+import mezz.jei.common.util.SafeIngredientUtil;
+import net.minecraft.client.gui.GuiGraphics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects ingredients from many places on the screen so they can be drawn together,
+ * with one {@link IIngredientRenderer#renderBatch} call for each ingredient renderer.
+ *
+ * Positions are relative to the pose when the batch is rendered, not to any pose that was active while collecting them.
+ */
+public class IngredientBatch {
+	private final Map<IIngredientRenderer<?>, Batch<?>> batches = new Reference2ObjectLinkedOpenHashMap<>();
+
+	public <T> void add(IIngredientType<T> ingredientType, IIngredientRenderer<T> ingredientRenderer, T ingredient, int x, int y) {
+		@SuppressWarnings("unchecked")
+		Batch<T> batch = (Batch<T>) batches.computeIfAbsent(ingredientRenderer, r -> new Batch<>(ingredientType, ingredientRenderer, new ArrayList<>()));
+		batch.elements().add(new BatchRenderElement<>(ingredient, x, y));
+	}
+
+	public boolean isEmpty() {
+		return batches.isEmpty();
+	}
+
+	/**
+	 * Draws every collected ingredient and clears the batch, so it can be reused for the next frame.
+	 */
+	public void render(GuiGraphics guiGraphics) {
+		if (batches.isEmpty()) {
+			return;
+		}
+		RenderSystem.enableBlend();
+		for (Batch<?> batch : batches.values()) {
+			batch.render(guiGraphics);
+		}
+		RenderSystem.disableBlend();
+		batches.clear();
+	}
+
+	private record Batch<T>(IIngredientType<T> ingredientType, IIngredientRenderer<T> ingredientRenderer, List<BatchRenderElement<T>> elements) {
+		public void render(GuiGraphics guiGraphics) {
+			SafeIngredientUtil.renderBatch(guiGraphics, ingredientType, ingredientRenderer, elements);
+		}
+	}
+}
@@ -1,7 +1,14 @@
 package mezz.jei.common.platform;
 
+import java.util.Map;
+
 public interface IPlatformModHelper {
 	String getModNameForModId(String modId);
 
+	/**
+	 * Returns a map of every loaded mod id to its version.
+	 */
+	Map<String, String> getModVersions();
+
 	boolean isInDev();
 }
@@ -0,0 +1,13 @@
+package mezz.jei.common.transfer;
+
+import mezz.jei.api.recipe.transfer.IRecipeTransferHandler;
+import mezz.jei.api.recipe.transfer.IRecipeTransferInfo;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+
+/**
+ * A recipe transfer handler that moves items between the slots given by an {@link IRecipeTransferInfo},
+ * so the recipes GUI can tell which slots a transfer would take items from without simulating it.
+ */
+public interface IBasicRecipeTransferHandler<C extends AbstractContainerMenu, R> extends IRecipeTransferHandler<C, R> {
+	IRecipeTransferInfo<C, R> getTransferInfo();
+}
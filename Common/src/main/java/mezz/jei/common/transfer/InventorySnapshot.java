@@ -0,0 +1,149 @@
+package mezz.jei.common.transfer;
+
+import it.unimi.dsi.fastutil.ints.IntArraySet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSets;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import mezz.jei.api.helpers.IStackHelper;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the items in a container's slots by their uid, with the slots and total count for each uid.
+ * <p>
+ * Simulating a recipe transfer needs the uid of every item in the inventory,
+ * and the recipes GUI and bookmarks simulate transfers for many recipes at a time.
+ * The snapshot for the last container is kept and updated each time it is used,
+ * and only slots whose item or components changed since then get a new uid.
+ * <p>
+ * The shared snapshot is only meant to be used from the client thread.
+ */
+public final class InventorySnapshot {
+	private static @Nullable InventorySnapshot lastSnapshot;
+
+	private final @Nullable WeakReference<AbstractContainerMenu> container;
+	private final IStackHelper stackHelper;
+	private final Map<Object, IntSet> slotIndexesByUid = new HashMap<>();
+	private final Object2IntOpenHashMap<Object> countsByUid = new Object2IntOpenHashMap<>();
+	private ItemStack[] stacks = new ItemStack[0];
+	private @Nullable Object[] uids = new Object[0];
+	private int[] counts = new int[0];
+
+	/**
+	 * Returns an up-to-date snapshot of the container's slots, reusing the last one if it was for the same container.
+	 */
+	public static InventorySnapshot get(AbstractContainerMenu container, IStackHelper stackHelper) {
+		InventorySnapshot snapshot = lastSnapshot;
+		if (snapshot == null || snapshot.stackHelper != stackHelper || snapshot.container == null || snapshot.container.get() != container) {
+			snapshot = new InventorySnapshot(container, stackHelper);
+			lastSnapshot = snapshot;
+		}
+		List<Slot> slots = container.slots;
+		snapshot.ensureCapacity(slots.size());
+		for (int i = 0; i < slots.size(); i++) {
+			Slot slot = slots.get(i);
+			// fake slots (recipe outputs) can never be used for a transfer
+			ItemStack stack = slot.isFake() ? ItemStack.EMPTY : slot.getItem();
+			snapshot.update(i, stack);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Creates a snapshot of just the given stacks, indexed by their slots' indexes.
+	 */
+	public static InventorySnapshot of(Map<Slot, ItemStack> itemStacks, IStackHelper stackHelper) {
+		InventorySnapshot snapshot = new InventorySnapshot(null, stackHelper);
+		for (Map.Entry<Slot, ItemStack> entry : itemStacks.entrySet()) {
+			int index = entry.getKey().index;
+			snapshot.ensureCapacity(index + 1);
+			snapshot.update(index, entry.getValue());
+		}
+		return snapshot;
+	}
+
+	private InventorySnapshot(@Nullable AbstractContainerMenu container, IStackHelper stackHelper) {
+		this.container = container == null ? null : new WeakReference<>(container);
+		this.stackHelper = stackHelper;
+	}
+
+	private void ensureCapacity(int size) {
+		if (stacks.length < size) {
+			int oldSize = stacks.length;
+			stacks = Arrays.copyOf(stacks, size);
+			Arrays.fill(stacks, oldSize, size, ItemStack.EMPTY);
+			uids = Arrays.copyOf(uids, size);
+			counts = Arrays.copyOf(counts, size);
+		}
+	}
+
+	private void update(int slotIndex, ItemStack stack) {
+		if (!ItemStack.isSameItemSameComponents(stacks[slotIndex], stack)) {
+			Object oldUid = uids[slotIndex];
+			if (oldUid != null) {
+				IntSet slotIndexes = slotIndexesByUid.get(oldUid);
+				slotIndexes.remove(slotIndex);
+				if (slotIndexes.isEmpty()) {
+					slotIndexesByUid.remove(oldUid);
+				}
+				countsByUid.addTo(oldUid, -counts[slotIndex]);
+				if (countsByUid.getInt(oldUid) <= 0) {
+					countsByUid.removeInt(oldUid);
+				}
+			}
+
+			Object uid = stack.isEmpty() ? null : stackHelper.getUidForStack(stack, UidContext.Ingredient);
+			stacks[slotIndex] = stack.copy();
+			uids[slotIndex] = uid;
+			counts[slotIndex] = stack.getCount();
+			if (uid != null) {
+				slotIndexesByUid.computeIfAbsent(uid, k -> new IntArraySet()).add(slotIndex);
+				countsByUid.addTo(uid, stack.getCount());
+			}
+		} else if (counts[slotIndex] != stack.getCount()) {
+			Object uid = uids[slotIndex];
+			if (uid != null) {
+				countsByUid.addTo(uid, stack.getCount() - counts[slotIndex]);
+			}
+			counts[slotIndex] = stack.getCount();
+		}
+	}
+
+	/**
+	 * Returns the uid of the item in the slot with the given index, or null if it is empty or not in this snapshot.
+	 */
+	@Nullable
+	public Object getUid(int slotIndex) {
+		if (slotIndex < 0 || slotIndex >= uids.length) {
+			return null;
+		}
+		return uids[slotIndex];
+	}
+
+	/**
+	 * Returns the indexes of the slots that hold an item with the given uid.
+	 */
+	public IntSet getSlotIndexes(Object uid) {
+		IntSet slotIndexes = slotIndexesByUid.get(uid);
+		if (slotIndexes == null) {
+			return IntSets.emptySet();
+		}
+		return IntSets.unmodifiable(slotIndexes);
+	}
+
+	/**
+	 * Returns the total count of items with the given uid in all slots.
+	 */
+	public int getCount(Object uid) {
+		return countsByUid.getInt(uid);
+	}
+}
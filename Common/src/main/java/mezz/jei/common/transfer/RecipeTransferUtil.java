@@ -1,8 +1,10 @@
 package mezz.jei.common.transfer;
 
-import it.unimi.dsi.fastutil.Hash;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
 import mezz.jei.api.constants.VanillaTypes;
 import mezz.jei.api.gui.IRecipeLayoutDrawable;
 import mezz.jei.api.gui.ingredient.IRecipeSlotView;
@@ -25,8 +27,9 @@ import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -36,6 +39,12 @@ import java.util.stream.Stream;
 
 public final class RecipeTransferUtil {
 	private static final Logger LOGGER = LogManager.getLogger();
+	/**
+	 * Keyed by the identity of each recipe slot's list of ingredients.
+	 */
+	private static final Cache<List<@Nullable ITypedIngredient<?>>, SlotViewUids> SLOT_VIEW_UIDS = CacheBuilder.newBuilder()
+		.weakKeys()
+		.build();
 
 	private RecipeTransferUtil() {
 	}
@@ -175,33 +184,53 @@ public final class RecipeTransferUtil {
 		List<IRecipeSlotView> requiredItemStacks,
 		List<Slot> craftingSlots
 	) {
-		RecipeTransferOperationsResult transferOperations = new RecipeTransferOperationsResult();
-
-		// Find groups of slots for each recipe input, so each ingredient knows list of slots it can take item from
-		// and also split them between "equal" groups
-		Map<IRecipeSlotView, Map<ItemStack, ArrayList<PhantomSlotState>>> relevantSlots = new IdentityHashMap<>();
-
-		Map<IRecipeSlotView, Set<Object>> slotUidCache = new IdentityHashMap<>();
-		List<IRecipeSlotView> nonEmptyRequiredStacks = requiredItemStacks.stream()
-			.filter(r -> !r.isEmpty())
-			.toList();
+		InventorySnapshot inventorySnapshot = InventorySnapshot.of(availableItemStacks, stackhelper);
+		return getRecipeTransferOperations(stackhelper, inventorySnapshot, availableItemStacks, requiredItemStacks, craftingSlots);
+	}
 
-		UidHashStrategy uidHashStrategy = new UidHashStrategy(stackhelper);
+	/**
+	 * Returns a list of items in slots that complete the recipe defined by requiredStacksList.
+	 * Returns a result that contains missingItems if there are not enough items in availableItemStacks.
+	 *
+	 * @param inventorySnapshot a snapshot that has the uids of the items in availableItemStacks,
+	 *                          so they do not need to be computed again for every recipe.
+	 */
+	public static RecipeTransferOperationsResult getRecipeTransferOperations(
+		IStackHelper stackhelper,
+		InventorySnapshot inventorySnapshot,
+		Map<Slot, ItemStack> availableItemStacks,
+		List<IRecipeSlotView> requiredItemStacks,
+		List<Slot> craftingSlots
+	) {
+		RecipeTransferOperationsResult transferOperations = new RecipeTransferOperationsResult();
 
-		for (Map.Entry<Slot, ItemStack> slotTuple : availableItemStacks.entrySet()) {
-			ItemStack slotItemStack = slotTuple.getValue();
-			Object slotItemStackUid = stackhelper.getUidForStack(slotItemStack, UidContext.Ingredient);
+		Int2ObjectMap<Map.Entry<Slot, ItemStack>> availableItemStacksBySlotIndex = new Int2ObjectOpenHashMap<>(availableItemStacks.size());
+		for (Map.Entry<Slot, ItemStack> entry : availableItemStacks.entrySet()) {
+			availableItemStacksBySlotIndex.put(entry.getKey().index, entry);
+		}
 
-			for (IRecipeSlotView ingredient : nonEmptyRequiredStacks) {
-				Set<Object> ingredientUids = slotUidCache.computeIfAbsent(ingredient, s -> calculateUids(s, stackhelper));
+		// Find groups of slots for each recipe input, so each ingredient knows list of slots it can take item from
+		// and also split them between "equal" groups (items with the same uid)
+		Map<IRecipeSlotView, Map<Object, ArrayList<PhantomSlotState>>> relevantSlots = new IdentityHashMap<>();
 
-				if (ingredientUids.contains(slotItemStackUid)) {
-					relevantSlots
-						.computeIfAbsent(ingredient, it -> new Object2ObjectOpenCustomHashMap<>(uidHashStrategy))
-						.computeIfAbsent(slotItemStack, it -> new ArrayList<>())
-						.add(new PhantomSlotState(slotTuple.getKey(), slotItemStack));
+		for (IRecipeSlotView ingredient : requiredItemStacks) {
+			if (ingredient.isEmpty() || relevantSlots.containsKey(ingredient)) {
+				continue;
+			}
+			Map<Object, ArrayList<PhantomSlotState>> slotsByUid = new Object2ObjectArrayMap<>();
+			for (Object ingredientUid : getUids(ingredient, stackhelper)) {
+				for (int slotIndex : inventorySnapshot.getSlotIndexes(ingredientUid)) {
+					Map.Entry<Slot, ItemStack> slotTuple = availableItemStacksBySlotIndex.get(slotIndex);
+					if (slotTuple != null) {
+						slotsByUid
+							.computeIfAbsent(ingredientUid, it -> new ArrayList<>())
+							.add(new PhantomSlotState(slotTuple.getKey(), slotTuple.getValue()));
+					}
 				}
 			}
+			if (!slotsByUid.isEmpty()) {
+				relevantSlots.put(ingredient, slotsByUid);
+			}
 		}
 
 		// Now we have Ingredient -> (type -> slots) list
@@ -218,10 +247,10 @@ public final class RecipeTransferUtil {
 
 		Map<IRecipeSlotView, ArrayList<PhantomSlotStateList>> bestMatches = new Object2ObjectArrayMap<>();
 
-		for (Map.Entry<IRecipeSlotView, Map<ItemStack, ArrayList<PhantomSlotState>>> entry : relevantSlots.entrySet()) {
+		for (Map.Entry<IRecipeSlotView, Map<Object, ArrayList<PhantomSlotState>>> entry : relevantSlots.entrySet()) {
 			ArrayList<PhantomSlotStateList> countedAndSorted = new ArrayList<>();
 
-			for (Map.Entry<ItemStack, ArrayList<PhantomSlotState>> foundSlots : entry.getValue().entrySet()) {
+			for (Map.Entry<Object, ArrayList<PhantomSlotState>> foundSlots : entry.getValue().entrySet()) {
 				// Ascending sort
 				// if counts are equal, push slots with lesser index to top
 				foundSlots.getValue().sort((o1, o2) -> {
@@ -289,9 +318,22 @@ public final class RecipeTransferUtil {
 		return transferOperations;
 	}
 
-	private static Set<Object> calculateUids(IRecipeSlotView recipeSlotView, IStackHelper stackhelper) {
+	/**
+	 * Recipe slots keep the same list of ingredients while they are shown,
+	 * so their uids are remembered for as long as the list is in use.
+	 */
+	private static Set<Object> getUids(IRecipeSlotView recipeSlotView, IStackHelper stackhelper) {
 		List<@Nullable ITypedIngredient<?>> allIngredientsList = recipeSlotView.getAllIngredientsList();
-		Set<Object> uids = new HashSet<>(allIngredientsList.size());
+		SlotViewUids slotViewUids = SLOT_VIEW_UIDS.getIfPresent(allIngredientsList);
+		if (slotViewUids == null || slotViewUids.stackHelper() != stackhelper) {
+			slotViewUids = new SlotViewUids(stackhelper, calculateUids(allIngredientsList, stackhelper));
+			SLOT_VIEW_UIDS.put(allIngredientsList, slotViewUids);
+		}
+		return slotViewUids.uids();
+	}
+
+	private static Set<Object> calculateUids(List<@Nullable ITypedIngredient<?>> allIngredientsList, IStackHelper stackhelper) {
+		Set<Object> uids = new LinkedHashSet<>(allIngredientsList.size());
 		for (ITypedIngredient<?> typedIngredient : allIngredientsList) {
 			if (typedIngredient == null) {
 				continue;
@@ -302,9 +344,11 @@ public final class RecipeTransferUtil {
 				uids.add(uid);
 			}
 		}
-		return uids;
+		return Collections.unmodifiableSet(uids);
 	}
 
+	private record SlotViewUids(IStackHelper stackHelper, Set<Object> uids) {}
+
 	private record PhantomSlotState(Slot slot, ItemStack itemStack) {}
 
 	private record PhantomSlotStateList(List<PhantomSlotState> stateList, long totalItemCount) {
@@ -322,22 +366,4 @@ public final class RecipeTransferUtil {
 			return null;
 		}
 	}
-
-	private static class UidHashStrategy implements Hash.Strategy<ItemStack> {
-		private final IStackHelper stackhelper;
-
-		public UidHashStrategy(IStackHelper stackhelper) {
-			this.stackhelper = stackhelper;
-		}
-
-		@Override
-		public int hashCode(ItemStack o) {
-			return o.getItem().hashCode();
-		}
-
-		@Override
-		public boolean equals(ItemStack a, ItemStack b) {
-			return stackhelper.isEquivalent(a, b, UidContext.Ingredient);
-		}
-	}
 }
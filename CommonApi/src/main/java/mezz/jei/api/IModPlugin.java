@@ -108,6 +108,19 @@ public interface IModPlugin {
 
 	}
 
+	/**
+	 * Return true if {@link #registerRecipes} is safe to call on a background thread,
+	 * at the same time as other plugins are registering their recipes.
+	 *
+	 * When parallel plugin registration is enabled in the config, these plugins are called on a thread pool.
+	 * The recipes they register are still added in plugin order, so the result is the same as calling them one at a time.
+	 *
+	 * @since 19.22.0
+	 */
+	default boolean isRecipeRegistrationThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * Register recipe transfer handlers (move ingredients from the inventory into crafting GUIs).
 	 */
@@ -1,6 +1,7 @@
 package mezz.jei.api.recipe;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -32,4 +33,21 @@ public interface IRecipeLookup<R> {
 	 * @since 9.5.0
 	 */
 	Stream<R> get();
+
+	/**
+	 * Get one page of the recipe results for this lookup.
+	 *
+	 * Recipes are only read up to the end of the requested page,
+	 * so lookups with many results do not need to find all of them when only the first pages are shown.
+	 *
+	 * @param start the index of the first recipe to return
+	 * @param count the maximum number of recipes to return
+	 * @since 19.22.0
+	 */
+	default List<R> get(int start, int count) {
+		return get()
+			.skip(start)
+			.limit(count)
+			.toList();
+	}
 }
@@ -217,6 +217,15 @@ public interface IRecipeManager {
 	 */
 	<T> IIngredientSupplier getRecipeIngredients(IRecipeCategory<T> recipeCategory, T recipe);
 
+	/**
+	 * Get the ingredients for each slot with the given role in a given recipe,
+	 * without creating a recipe layout.
+	 * Each list in the result holds all the ingredients for one slot, in the order the slots were added.
+	 *
+	 * @since 19.22.0
+	 */
+	<T> List<List<ITypedIngredient<?>>> getRecipeSlotIngredients(IRecipeCategory<T> recipeCategory, T recipe, RecipeIngredientRole role);
+
 	/**
 	 * Get the registered recipe type for the given unique id.
 	 * <p>
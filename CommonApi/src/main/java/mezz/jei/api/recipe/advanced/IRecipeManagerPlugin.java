@@ -1,6 +1,7 @@
 package mezz.jei.api.recipe.advanced;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import mezz.jei.api.recipe.RecipeType;
 
@@ -43,4 +44,30 @@ public interface IRecipeManagerPlugin {
 	 * This is used internally by JEI to implement {@link IRecipeManager#createRecipeLookup(RecipeType)}.
 	 */
 	<T> List<T> getRecipes(IRecipeCategory<T> recipeCategory);
+
+	/**
+	 * Returns a stream of Recipes in the recipeCategory that have the focus.
+	 *
+	 * JEI reads recipes from this stream as it needs them, so plugins that can create their recipes on demand
+	 * can override this to avoid creating all of them at once.
+	 * Some features still read every recipe, like sorting bookmarked or craftable recipes first.
+	 *
+	 * @since 19.22.0
+	 */
+	default <T, V> Stream<T> getRecipeStream(IRecipeCategory<T> recipeCategory, IFocus<V> focus) {
+		return getRecipes(recipeCategory, focus).stream();
+	}
+
+	/**
+	 * Returns a stream of all Recipes in the recipeCategory.
+	 *
+	 * JEI reads recipes from this stream as it needs them, so plugins that can create their recipes on demand
+	 * can override this to avoid creating all of them at once.
+	 * Some features still read every recipe, like sorting bookmarked or craftable recipes first.
+	 *
+	 * @since 19.22.0
+	 */
+	default <T> Stream<T> getRecipeStream(IRecipeCategory<T> recipeCategory) {
+		return getRecipes(recipeCategory).stream();
+	}
 }
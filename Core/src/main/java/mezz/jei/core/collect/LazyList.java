@@ -0,0 +1,122 @@
+package mezz.jei.core.collect;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An unmodifiable list that pulls its elements from a source iterator only when they are needed.
+ *
+ * Getting an element only reads the source up to that element,
+ * and iterating or streaming the list reads the source one element at a time.
+ * Only {@link #size()} (and methods that need every element) read the whole source.
+ * Elements that have been read are kept, so the list can be read many times and from many threads.
+ */
+public class LazyList<T> extends AbstractList<T> implements RandomAccess {
+	private final List<T> loaded = new ArrayList<>();
+	private Iterator<? extends T> source;
+	private boolean complete;
+
+	public static <T> LazyList<T> of(Stream<? extends T> stream) {
+		return new LazyList<>(stream.iterator());
+	}
+
+	public LazyList(Iterator<? extends T> source) {
+		this.source = source;
+	}
+
+	/**
+	 * Returns true if the list has an element at the given index, reading the source up to that element.
+	 */
+	public synchronized boolean isLoaded(int index) {
+		while (loaded.size() <= index) {
+			if (complete) {
+				return false;
+			}
+			if (source.hasNext()) {
+				loaded.add(source.next());
+			} else {
+				complete = true;
+				source = List.<T>of().iterator();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if the list has more than the given number of elements, without reading the rest of the source.
+	 */
+	public boolean hasMoreThan(int count) {
+		return isLoaded(count);
+	}
+
+	/**
+	 * Returns the number of elements that have been read from the source so far.
+	 */
+	public synchronized int getLoadedCount() {
+		return loaded.size();
+	}
+
+	/**
+	 * Returns true if the whole source has been read, so {@link #size()} is known without reading any more.
+	 */
+	public synchronized boolean isComplete() {
+		return complete;
+	}
+
+	@Override
+	public synchronized T get(int index) {
+		if (index < 0 || !isLoaded(index)) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return loaded.get(index);
+	}
+
+	@Override
+	public synchronized int size() {
+		isLoaded(Integer.MAX_VALUE - 1);
+		return loaded.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return !isLoaded(0);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<>() {
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return isLoaded(index);
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(index++);
+			}
+		};
+	}
+
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+	}
+
+	@Override
+	public Stream<T> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+}
@@ -0,0 +1,21 @@
+package mezz.jei.core.search;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * A search storage that can be written to disk and read back later, instead of being rebuilt.
+ * Values are written as int indexes so that they can be mapped to values that are created again on a later run.
+ */
+public interface ISerializableSearchStorage<T> extends ISearchStorage<T> {
+	void write(DataOutput output, ToIntFunction<T> valueIndexes) throws IOException;
+
+	/**
+	 * Reads data that was written by {@link #write} into this storage.
+	 * The storage must be empty.
+	 */
+	void read(ByteBuffer input, IntFunction<T> values);
+}
@@ -2,12 +2,20 @@ package mezz.jei.core.search;
 
 import mezz.jei.core.collect.SetMultiMap;
 import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+import mezz.jei.core.util.SerializationUtil;
+import mezz.jei.core.util.StringPool;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
 
 /**
  * This is more memory-efficient than {@link GeneralizedSuffixTree}
@@ -16,8 +24,9 @@ import java.util.function.Consumer;
  * It stores a map of keys to a set of values.
  * The set values are shared with the internal {@link GeneralizedSuffixTree} to index and find them.
  * The sets values are modified directly when values with the same key are added.
+ * Keys are interned in the {@link StringPool}, so they are shared with the ingredient info that produced them.
  */
-public class LimitedStringStorage<T> implements ISearchStorage<T> {
+public class LimitedStringStorage<T> implements ISerializableSearchStorage<T> {
 	private final SetMultiMap<String, T> multiMap = new SetMultiMap<>(() -> Collections.newSetFromMap(new IdentityHashMap<>()));
 	private final GeneralizedSuffixTree<Set<T>> generalizedSuffixTree = new GeneralizedSuffixTree<>();
 
@@ -39,6 +48,9 @@ public class LimitedStringStorage<T> implements ISearchStorage<T> {
 	@Override
 	public void put(String key, T value) {
 		boolean isNewKey = !multiMap.containsKey(key);
+		if (isNewKey) {
+			key = StringPool.intern(key);
+		}
 		multiMap.put(key, value);
 		if (isNewKey) {
 			Set<T> set = multiMap.get(key);
@@ -46,6 +58,37 @@ public class LimitedStringStorage<T> implements ISearchStorage<T> {
 		}
 	}
 
+	/**
+	 * Only the keys and their values are written.
+	 * There are few keys, so the suffix tree is quick to rebuild when reading.
+	 */
+	@Override
+	public void write(DataOutput output, ToIntFunction<T> valueIndexes) throws IOException {
+		Set<Map.Entry<String, Set<T>>> entries = multiMap.entrySet();
+		output.writeInt(entries.size());
+		for (Map.Entry<String, Set<T>> entry : entries) {
+			SerializationUtil.writeString(output, entry.getKey());
+			Set<T> values = entry.getValue();
+			output.writeInt(values.size());
+			for (T value : values) {
+				output.writeInt(valueIndexes.applyAsInt(value));
+			}
+		}
+	}
+
+	@Override
+	public void read(ByteBuffer input, IntFunction<T> values) {
+		int keyCount = input.getInt();
+		for (int i = 0; i < keyCount; i++) {
+			String key = SerializationUtil.readString(input);
+			int valueCount = input.getInt();
+			for (int j = 0; j < valueCount; j++) {
+				T value = values.apply(input.getInt());
+				put(key, value);
+			}
+		}
+	}
+
 	@Override
 	public String statistics() {
 		return "LimitedStringStorage: " + generalizedSuffixTree.statistics();
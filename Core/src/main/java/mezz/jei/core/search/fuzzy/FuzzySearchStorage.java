@@ -0,0 +1,90 @@
+package mezz.jei.core.search.fuzzy;
+
+import mezz.jei.core.search.ISearchStorage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps an exact substring search storage and adds typo-tolerant matching for when it finds nothing.
+ *
+ * Every word of each key is indexed in a {@link WordTrie}.
+ * When the exact storage has no results for a token, the words that start with something
+ * within a few edits of the token are matched instead.
+ * Short tokens are never matched fuzzily, since almost everything is a few edits away from them.
+ */
+public class FuzzySearchStorage<T> implements ISearchStorage<T> {
+	private static final Pattern WORD_SPLIT_PATTERN = Pattern.compile("\\s+");
+	private static final long DEFAULT_TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final ISearchStorage<T> exactStorage;
+	private final WordTrie<T> wordTrie = new WordTrie<>();
+	private final long timeBudgetNanos;
+
+	public FuzzySearchStorage(ISearchStorage<T> exactStorage) {
+		this(exactStorage, DEFAULT_TIME_BUDGET_NANOS);
+	}
+
+	/**
+	 * @param timeBudgetNanos the longest time spent on fuzzy matching for one token, after which the matches found so far are used
+	 */
+	public FuzzySearchStorage(ISearchStorage<T> exactStorage, long timeBudgetNanos) {
+		this.exactStorage = exactStorage;
+		this.timeBudgetNanos = timeBudgetNanos;
+	}
+
+	public static int getMaxEdits(String token) {
+		int length = token.length();
+		if (length < 4) {
+			return 0;
+		} else if (length < 8) {
+			return 1;
+		}
+		return 2;
+	}
+
+	@Override
+	public void getSearchResults(String token, Consumer<Collection<T>> resultsConsumer) {
+		boolean[] foundExact = {false};
+		exactStorage.getSearchResults(token, results -> {
+			if (!results.isEmpty()) {
+				foundExact[0] = true;
+				resultsConsumer.accept(results);
+			}
+		});
+		if (foundExact[0]) {
+			return;
+		}
+
+		int maxEdits = getMaxEdits(token);
+		if (maxEdits == 0) {
+			return;
+		}
+		long deadline = System.nanoTime() + timeBudgetNanos;
+		List<T> fuzzyResults = wordTrie.getFuzzyMatches(token, maxEdits, deadline);
+		if (!fuzzyResults.isEmpty()) {
+			resultsConsumer.accept(fuzzyResults);
+		}
+	}
+
+	@Override
+	public void getAllElements(Consumer<Collection<T>> resultsConsumer) {
+		exactStorage.getAllElements(resultsConsumer);
+	}
+
+	@Override
+	public void put(String key, T value) {
+		exactStorage.put(key, value);
+		for (String word : WORD_SPLIT_PATTERN.split(key)) {
+			wordTrie.put(word, value);
+		}
+	}
+
+	@Override
+	public String statistics() {
+		return exactStorage.statistics() + "\n" + wordTrie.statistics();
+	}
+}
@@ -0,0 +1,230 @@
+package mezz.jei.core.search.fuzzy;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A trie of words that finds the values of every word that starts with something
+ * within a small Damerau-Levenshtein (optimal string alignment) distance of a search word.
+ *
+ * The search walks the trie while keeping one row of the edit distance table per depth,
+ * which simulates a Levenshtein automaton over the trie and skips every branch that is already too far away.
+ *
+ * Nodes are stored in parallel int arrays, and values are stored as int ids in a shared pool,
+ * in the same way as {@link mezz.jei.core.search.suffixtree.CompactGeneralizedSuffixTree}.
+ */
+public class WordTrie<T> {
+	private static final int NONE = -1;
+	private static final int ROOT = 0;
+	private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+	private char[] nodeChar = new char[64];
+	private int[] firstChild = new int[64];
+	private int[] nextSibling = new int[64];
+	private int[] valueHead = new int[64];
+	private int nodeCount;
+
+	private int[] dataValues = new int[64];
+	private int[] dataNext = new int[64];
+	private int dataCount;
+
+	private final List<T> values = new ArrayList<>();
+	private final Reference2IntOpenHashMap<T> valueIds = new Reference2IntOpenHashMap<>();
+
+	public WordTrie() {
+		this.valueIds.defaultReturnValue(NONE);
+		newNode('\0');
+	}
+
+	public void put(String word, T value) {
+		if (word.isEmpty()) {
+			return;
+		}
+		int node = ROOT;
+		for (int i = 0; i < word.length(); i++) {
+			node = getOrCreateChild(node, word.charAt(i));
+		}
+		addValue(node, getValueId(value));
+	}
+
+	/**
+	 * Finds the values of words that have a prefix within {@code maxEdits} of the given word.
+	 * Stops early and returns what was found so far once {@code deadlineNanos} (from {@link System#nanoTime()}) has passed.
+	 */
+	public List<T> getFuzzyMatches(String word, int maxEdits, long deadlineNanos) {
+		int length = word.length();
+		if (length == 0) {
+			return List.of();
+		}
+
+		BitSet results = new BitSet(values.size());
+		Search search = new Search(word, maxEdits, deadlineNanos, results);
+		int[] firstRow = search.getRow(0);
+		for (int j = 0; j <= length; j++) {
+			firstRow[j] = j;
+		}
+		search.searchChildren(ROOT, 1);
+
+		if (results.isEmpty()) {
+			return List.of();
+		}
+		List<T> matches = new ArrayList<>(results.cardinality());
+		for (int id = results.nextSetBit(0); id >= 0; id = results.nextSetBit(id + 1)) {
+			matches.add(values.get(id));
+		}
+		return Collections.unmodifiableList(matches);
+	}
+
+	public String statistics() {
+		return "WordTrie:" +
+			"\nNode count: " + nodeCount +
+			"\nValue count: " + values.size() +
+			"\nValue references: " + dataCount;
+	}
+
+	private class Search {
+		private final String word;
+		private final int maxEdits;
+		private final long deadlineNanos;
+		private final BitSet results;
+		private final List<int[]> rows = new ArrayList<>();
+		private final StringBuilder path = new StringBuilder();
+		private int visitedNodes;
+		private boolean timedOut;
+
+		public Search(String word, int maxEdits, long deadlineNanos, BitSet results) {
+			this.word = word;
+			this.maxEdits = maxEdits;
+			this.deadlineNanos = deadlineNanos;
+			this.results = results;
+		}
+
+		public int[] getRow(int depth) {
+			while (rows.size() <= depth) {
+				rows.add(new int[word.length() + 1]);
+			}
+			return rows.get(depth);
+		}
+
+		public void searchChildren(int parent, int depth) {
+			for (int child = firstChild[parent]; child != NONE && !timedOut; child = nextSibling[child]) {
+				if (++visitedNodes % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadlineNanos) {
+					timedOut = true;
+					return;
+				}
+				char ch = nodeChar[child];
+				path.append(ch);
+				int[] row = fillRow(depth, ch);
+				int length = word.length();
+				if (row[length] <= maxEdits) {
+					collectSubtree(child, results);
+				} else if (min(row) <= maxEdits) {
+					searchChildren(child, depth + 1);
+				}
+				path.setLength(depth - 1);
+			}
+		}
+
+		private int[] fillRow(int depth, char ch) {
+			int[] previous = rows.get(depth - 1);
+			int[] row = getRow(depth);
+			int length = word.length();
+			row[0] = depth;
+			for (int j = 1; j <= length; j++) {
+				char wordChar = word.charAt(j - 1);
+				int cost = wordChar == ch ? 0 : 1;
+				int distance = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+				if (depth > 1 && j > 1 && wordChar == path.charAt(depth - 2) && word.charAt(j - 2) == ch) {
+					distance = Math.min(distance, rows.get(depth - 2)[j - 2] + 1);
+				}
+				row[j] = distance;
+			}
+			return row;
+		}
+	}
+
+	private static int min(int[] row) {
+		int min = Integer.MAX_VALUE;
+		for (int value : row) {
+			min = Math.min(min, value);
+		}
+		return min;
+	}
+
+	private void collectSubtree(int node, BitSet results) {
+		collectValues(node, results);
+		for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+			collectSubtree(child, results);
+		}
+	}
+
+	private void collectValues(int node, BitSet results) {
+		for (int data = valueHead[node]; data != NONE; data = dataNext[data]) {
+			results.set(dataValues[data]);
+		}
+	}
+
+	private int getValueId(T value) {
+		int id = valueIds.getInt(value);
+		if (id == NONE) {
+			id = values.size();
+			values.add(value);
+			valueIds.put(value, id);
+		}
+		return id;
+	}
+
+	private void addValue(int node, int valueId) {
+		int head = valueHead[node];
+		if (head != NONE && dataValues[head] == valueId) {
+			return;
+		}
+		if (dataCount == dataValues.length) {
+			int newLength = dataCount * 2;
+			dataValues = Arrays.copyOf(dataValues, newLength);
+			dataNext = Arrays.copyOf(dataNext, newLength);
+		}
+		int data = dataCount++;
+		dataValues[data] = valueId;
+		dataNext[data] = head;
+		valueHead[node] = data;
+	}
+
+	private int getOrCreateChild(int parent, char ch) {
+		int last = NONE;
+		for (int child = firstChild[parent]; child != NONE; child = nextSibling[child]) {
+			if (nodeChar[child] == ch) {
+				return child;
+			}
+			last = child;
+		}
+		int node = newNode(ch);
+		if (last == NONE) {
+			firstChild[parent] = node;
+		} else {
+			nextSibling[last] = node;
+		}
+		return node;
+	}
+
+	private int newNode(char ch) {
+		if (nodeCount == nodeChar.length) {
+			int newLength = nodeCount * 2;
+			nodeChar = Arrays.copyOf(nodeChar, newLength);
+			firstChild = Arrays.copyOf(firstChild, newLength);
+			nextSibling = Arrays.copyOf(nextSibling, newLength);
+			valueHead = Arrays.copyOf(valueHead, newLength);
+		}
+		int node = nodeCount++;
+		nodeChar[node] = ch;
+		firstChild[node] = NONE;
+		nextSibling[node] = NONE;
+		valueHead[node] = NONE;
+		return node;
+	}
+}
@@ -0,0 +1,662 @@
+package mezz.jei.core.search.suffixtree;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import mezz.jei.core.search.ISerializableSearchStorage;
+import mezz.jei.core.util.SerializationUtil;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * A Generalized Suffix Tree with the same structure and results as {@link GeneralizedSuffixTree},
+ * but laid out in flat primitive arrays instead of one object per node.
+ * <p>
+ * Nodes are int ids into parallel arrays.
+ * Edge labels are (start, length) pairs pointing into one shared char buffer that holds every key.
+ * Each node keeps a linked list of its children, and nodes with many children
+ * also index them in one primitive hash table keyed by (node, first char).
+ * Values are given dense int ids. A node with one value stores it inline,
+ * otherwise its ids are a sorted linked list in a shared int pool.
+ * <p>
+ * This uses several times less memory than {@link GeneralizedSuffixTree} for large indexes,
+ * at the cost of slightly more work during {@link #put}.
+ * Because it is made of flat arrays, it can also be written to disk and read back quickly.
+ *
+ * @see GeneralizedSuffixTree for a description of the algorithm.
+ */
+public class CompactGeneralizedSuffixTree<T> implements ISerializableSearchStorage<T> {
+	private static final int NONE = -1;
+	private static final int ROOT = 0;
+	private static final int INITIAL_CAPACITY = 16;
+	/**
+	 * Nodes with more children than this have their edges indexed in {@link #largeNodeEdges}.
+	 */
+	private static final int MAX_SMALL_NODE_EDGES = 8;
+
+	/**
+	 * All keys that have been added, concatenated. Edge labels point into this buffer.
+	 */
+	private char[] chars = new char[INITIAL_CAPACITY];
+	private int charsSize = 0;
+
+	// node data, indexed by node id
+	private int[] labelStart = new int[INITIAL_CAPACITY];
+	private int[] labelLength = new int[INITIAL_CAPACITY];
+	private int[] suffix = new int[INITIAL_CAPACITY];
+	private int[] firstChild = new int[INITIAL_CAPACITY];
+	private int[] nextSibling = new int[INITIAL_CAPACITY];
+	/**
+	 * Either {@link #NONE}, an inline value id (see {@link #inlineValue}), or the first entry in the value id pool.
+	 */
+	private int[] dataHead = new int[INITIAL_CAPACITY];
+	private int nodeCount = 0;
+
+	/**
+	 * Maps (node id, first char of edge label) to the child node id, for nodes in {@link #largeNodes}.
+	 */
+	private final Long2IntOpenHashMap largeNodeEdges = new Long2IntOpenHashMap();
+	private final BitSet largeNodes = new BitSet();
+
+	// value id pool, each node's ids are a linked list sorted from highest to lowest id
+	private int[] dataValues = new int[INITIAL_CAPACITY];
+	private int[] dataNext = new int[INITIAL_CAPACITY];
+	private int dataSize = 0;
+
+	private final List<T> values = new ArrayList<>();
+	private final Reference2IntOpenHashMap<T> valueIds = new Reference2IntOpenHashMap<>();
+
+	/**
+	 * The last leaf that was added during the update operation
+	 */
+	private int activeLeaf = ROOT;
+
+	// results of canonize and testAndSplit, to avoid allocating pairs
+	private int canonizedNode;
+	private int canonizedStart;
+	private int canonizedLength;
+	private boolean endpoint;
+
+	public CompactGeneralizedSuffixTree() {
+		this.largeNodeEdges.defaultReturnValue(NONE);
+		this.valueIds.defaultReturnValue(NONE);
+		int root = newNode(0, 0);
+		assert root == ROOT;
+	}
+
+	@Override
+	public void getSearchResults(String word, Consumer<Collection<T>> resultsConsumer) {
+		int node = searchNode(word);
+		if (node == NONE) {
+			return;
+		}
+
+		BitSet ids = new BitSet(values.size());
+		IntArrayList stack = new IntArrayList();
+		stack.add(node);
+		while (!stack.isEmpty()) {
+			int current = stack.popInt();
+			int head = dataHead[current];
+			if (head < NONE) {
+				ids.set(inlineValue(head));
+			} else {
+				for (int entry = head; entry != NONE; entry = dataNext[entry]) {
+					ids.set(dataValues[entry]);
+				}
+			}
+			for (int child = firstChild[current]; child != NONE; child = nextSibling[child]) {
+				stack.add(child);
+			}
+		}
+
+		if (ids.isEmpty()) {
+			return;
+		}
+		List<T> results = new ArrayList<>(ids.cardinality());
+		for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+			results.add(values.get(id));
+		}
+		resultsConsumer.accept(Collections.unmodifiableList(results));
+	}
+
+	@Override
+	public void getAllElements(Consumer<Collection<T>> resultsConsumer) {
+		if (!values.isEmpty()) {
+			resultsConsumer.accept(Collections.unmodifiableList(values));
+		}
+	}
+
+	/**
+	 * Returns the node (if present) whose path from the root is a superstring of the given word,
+	 * or {@link #NONE} if there is no match.
+	 */
+	private int searchNode(String word) {
+		int currentNode = ROOT;
+		int position = 0;
+		final int wordLength = word.length();
+
+		while (position < wordLength) {
+			// follow the edge corresponding to this char
+			int currentEdge = getEdge(currentNode, word.charAt(position));
+			if (currentEdge == NONE) {
+				// there is no edge starting with this char
+				return NONE;
+			}
+
+			int remaining = wordLength - position;
+			int lenToMatch = Math.min(remaining, labelLength[currentEdge]);
+			int start = labelStart[currentEdge];
+			for (int i = 0; i < lenToMatch; i++) {
+				if (chars[start + i] != word.charAt(position + i)) {
+					// the label on the edge does not correspond to the one in the string to search
+					return NONE;
+				}
+			}
+			if (lenToMatch == remaining) {
+				// we found the edge we're looking for
+				return currentEdge;
+			}
+
+			// advance to next node
+			currentNode = currentEdge;
+			position += lenToMatch;
+		}
+
+		return NONE;
+	}
+
+	@Override
+	public void put(String key, T value) {
+		final int keyLength = key.length();
+		if (keyLength == 0) {
+			return;
+		}
+		final int valueId = getOrCreateValueId(value);
+		final int keyStart = appendChars(key);
+
+		// reset activeLeaf
+		activeLeaf = ROOT;
+
+		int s = ROOT;
+		int textStart = keyStart;
+		int textLength = 0;
+		// iterate over the string, one char at a time
+		for (int i = 0; i < keyLength; i++) {
+			// update the tree with the new transitions due to this new char
+			int restStart = keyStart + i;
+			update(s, textStart, textLength, chars[restStart], restStart, keyLength - i, valueId);
+
+			s = canonizedNode;
+			textStart = canonizedStart;
+			textLength = canonizedLength;
+		}
+
+		// add leaf suffix link, if necessary
+		if (suffix[activeLeaf] == NONE && activeLeaf != ROOT && activeLeaf != s) {
+			suffix[activeLeaf] = s;
+		}
+	}
+
+	/**
+	 * See {@link GeneralizedSuffixTree} testAndSplit.
+	 * Returns the last node that can be reached by following the search string from the start node,
+	 * and sets {@link #endpoint} to whether (search string + t) is contained in the subtree of the start node.
+	 */
+	private int testAndSplit(int startNode, int searchStart, int searchLength, char t, int remainderStart, int remainderLength, int valueId) {
+		assert remainderLength > 0;
+		assert chars[remainderStart] == t;
+
+		// descend the tree as far as possible
+		canonize(startNode, searchStart, searchLength);
+		startNode = canonizedNode;
+		searchStart = canonizedStart;
+		searchLength = canonizedLength;
+
+		if (searchLength > 0) {
+			int g = getEdge(startNode, chars[searchStart]);
+			assert g != NONE;
+			// must see whether "searchString" is substring of the label of an edge
+			if (labelLength[g] > searchLength && chars[labelStart[g] + searchLength] == t) {
+				endpoint = true;
+				return startNode;
+			}
+			endpoint = false;
+			return splitNode(startNode, g, searchLength);
+		}
+
+		int e = getEdge(startNode, t);
+		if (e == NONE) {
+			// if there is no t-transition from s
+			endpoint = false;
+			return startNode;
+		}
+
+		if (labelStartsWith(e, remainderStart, remainderLength)) {
+			if (labelLength[e] == remainderLength) {
+				// update payload of destination node
+				addRef(e, valueId);
+				endpoint = true;
+			} else {
+				int newNode = splitNode(startNode, e, remainderLength);
+				addRef(newNode, valueId);
+				endpoint = false;
+			}
+		} else {
+			endpoint = true;
+		}
+		return startNode;
+	}
+
+	/**
+	 * Splits the edge e (a child of s) after splitLength chars, and returns the new node in between.
+	 */
+	private int splitNode(int s, int e, int splitLength) {
+		assert e == getEdge(s, chars[labelStart[e]]);
+		assert labelLength[e] > splitLength;
+
+		// build a new node r in between s and e
+		int r = newNode(labelStart[e], splitLength);
+		// replace e with r, keeping the position of e in the list of children
+		nextSibling[r] = nextSibling[e];
+		nextSibling[e] = NONE;
+		if (firstChild[s] == e) {
+			firstChild[s] = r;
+		} else {
+			int previous = firstChild[s];
+			while (nextSibling[previous] != e) {
+				previous = nextSibling[previous];
+			}
+			nextSibling[previous] = r;
+		}
+		if (largeNodes.get(s)) {
+			largeNodeEdges.put(edgeKey(s, chars[labelStart[r]]), r);
+		}
+
+		// r is the new node sitting in between s and the original destination
+		labelStart[e] += splitLength;
+		labelLength[e] -= splitLength;
+		addEdge(r, e);
+
+		return r;
+	}
+
+	/**
+	 * Descends the tree from s as far as possible by following the labels in the given input.
+	 * The farthest node is stored in {@link #canonizedNode},
+	 * and the remainder of the input in {@link #canonizedStart} and {@link #canonizedLength}.
+	 */
+	private void canonize(int s, int start, int length) {
+		int currentNode = s;
+
+		// descend the tree as long as a proper label is found
+		while (length > 0) {
+			int nextEdge = getEdge(currentNode, chars[start]);
+			if (nextEdge == NONE) {
+				break;
+			}
+			int edgeLength = labelLength[nextEdge];
+			if (edgeLength > length || !regionMatches(labelStart[nextEdge], start, edgeLength)) {
+				break;
+			}
+			currentNode = nextEdge;
+			start += edgeLength;
+			length -= edgeLength;
+		}
+
+		canonizedNode = currentNode;
+		canonizedStart = start;
+		canonizedLength = length;
+	}
+
+	/**
+	 * See {@link GeneralizedSuffixTree} update.
+	 * The resulting active (node, string) pair is stored in the canonize result fields.
+	 */
+	private void update(int s, int partStart, int partLength, char newChar, int restStart, int restLength, int valueId) {
+		assert restLength > 0;
+		assert chars[restStart] == newChar;
+
+		int kStart = partStart;
+		int kLength = partLength + 1;
+
+		// line 1
+		int oldRoot = ROOT;
+
+		// line 1b
+		int r = testAndSplit(s, partStart, partLength, newChar, restStart, restLength, valueId);
+
+		// line 2
+		while (!endpoint) {
+			// line 3
+			int leaf = getEdge(r, newChar);
+			if (leaf == NONE) {
+				// must build a new leaf
+				leaf = newNode(restStart, restLength);
+				addRef(leaf, valueId);
+				addEdge(r, leaf);
+			}
+
+			// update suffix link for newly created leaf
+			if (activeLeaf != ROOT) {
+				suffix[activeLeaf] = leaf;
+			}
+			activeLeaf = leaf;
+
+			// line 4
+			if (oldRoot != ROOT) {
+				suffix[oldRoot] = r;
+			}
+
+			// line 5
+			oldRoot = r;
+
+			// line 6
+			if (suffix[s] == NONE) { // root node
+				assert (ROOT == s);
+				// this is a special case to handle what is referred to as node _|_ on the paper
+				kStart++;
+				kLength--;
+			} else {
+				canonize(suffix[s], kStart, safeCutLastChar(kLength));
+				s = canonizedNode;
+				kStart = canonizedStart;
+				kLength = canonizedLength + 1;
+			}
+
+			// line 7
+			r = testAndSplit(s, kStart, safeCutLastChar(kLength), newChar, restStart, restLength, valueId);
+		}
+
+		// line 8
+		if (oldRoot != ROOT) {
+			suffix[oldRoot] = r;
+		}
+
+		// make sure the active pair is canonical
+		canonize(s, kStart, kLength);
+	}
+
+	private static int safeCutLastChar(int length) {
+		return length == 0 ? 0 : length - 1;
+	}
+
+	/**
+	 * Adds the value id to the node and all of its suffixes, until one is found that already has it.
+	 */
+	private void addRef(int node, int valueId) {
+		int iter = node;
+		while (iter != NONE && addValue(iter, valueId)) {
+			iter = suffix[iter];
+		}
+	}
+
+	/**
+	 * Adds the value id to the node's sorted list of ids.
+	 * Returns false if the node already contains it.
+	 * <p>
+	 * Values are usually put in increasing id order, so the common case inserts at the head.
+	 */
+	private boolean addValue(int node, int valueId) {
+		if (node == ROOT) {
+			// the root node's values are never read, see RootNode
+			return false;
+		}
+		int head = dataHead[node];
+		if (head == NONE) {
+			dataHead[node] = inlineValue(valueId);
+			return true;
+		}
+		if (head < NONE) {
+			// move the inline value into the pool
+			int existingId = inlineValue(head);
+			if (existingId == valueId) {
+				return false;
+			}
+			int low = newDataEntry(Math.min(existingId, valueId), NONE);
+			dataHead[node] = newDataEntry(Math.max(existingId, valueId), low);
+			return true;
+		}
+
+		int previous = NONE;
+		int current = head;
+		while (current != NONE && dataValues[current] > valueId) {
+			previous = current;
+			current = dataNext[current];
+		}
+		if (current != NONE && dataValues[current] == valueId) {
+			return false;
+		}
+
+		int entry = newDataEntry(valueId, current);
+		if (previous == NONE) {
+			dataHead[node] = entry;
+		} else {
+			dataNext[previous] = entry;
+		}
+		return true;
+	}
+
+	private int newDataEntry(int valueId, int next) {
+		if (dataSize == dataValues.length) {
+			int newCapacity = grow(dataSize);
+			dataValues = Arrays.copyOf(dataValues, newCapacity);
+			dataNext = Arrays.copyOf(dataNext, newCapacity);
+		}
+		int entry = dataSize++;
+		dataValues[entry] = valueId;
+		dataNext[entry] = next;
+		return entry;
+	}
+
+	/**
+	 * Converts between a value id and its inline representation in {@link #dataHead}.
+	 * Inline values are stored as negative numbers below {@link #NONE}.
+	 */
+	private static int inlineValue(int value) {
+		return -value - 2;
+	}
+
+	private int getOrCreateValueId(T value) {
+		int id = valueIds.getInt(value);
+		if (id == NONE) {
+			id = values.size();
+			values.add(value);
+			valueIds.put(value, id);
+		}
+		return id;
+	}
+
+	private int appendChars(String key) {
+		int start = charsSize;
+		int newSize = start + key.length();
+		if (newSize > chars.length) {
+			chars = Arrays.copyOf(chars, Math.max(newSize, grow(chars.length)));
+		}
+		key.getChars(0, key.length(), chars, start);
+		charsSize = newSize;
+		return start;
+	}
+
+	private int newNode(int start, int length) {
+		if (nodeCount == labelStart.length) {
+			int newCapacity = grow(nodeCount);
+			labelStart = Arrays.copyOf(labelStart, newCapacity);
+			labelLength = Arrays.copyOf(labelLength, newCapacity);
+			suffix = Arrays.copyOf(suffix, newCapacity);
+			firstChild = Arrays.copyOf(firstChild, newCapacity);
+			nextSibling = Arrays.copyOf(nextSibling, newCapacity);
+			dataHead = Arrays.copyOf(dataHead, newCapacity);
+		}
+		int node = nodeCount++;
+		labelStart[node] = start;
+		labelLength[node] = length;
+		suffix[node] = NONE;
+		firstChild[node] = NONE;
+		nextSibling[node] = NONE;
+		dataHead[node] = NONE;
+		return node;
+	}
+
+	private void addEdge(int parent, int child) {
+		nextSibling[child] = firstChild[parent];
+		firstChild[parent] = child;
+
+		if (largeNodes.get(parent)) {
+			largeNodeEdges.put(edgeKey(parent, chars[labelStart[child]]), child);
+			return;
+		}
+
+		int edgeCount = 0;
+		for (int current = firstChild[parent]; current != NONE; current = nextSibling[current]) {
+			edgeCount++;
+		}
+		if (edgeCount > MAX_SMALL_NODE_EDGES) {
+			// "upgrade" the node to a hash index once it's getting bigger,
+			// to improve its `getEdge` performance.
+			largeNodes.set(parent);
+			for (int current = firstChild[parent]; current != NONE; current = nextSibling[current]) {
+				largeNodeEdges.put(edgeKey(parent, chars[labelStart[current]]), current);
+			}
+		}
+	}
+
+	private int getEdge(int node, char ch) {
+		if (largeNodes.get(node)) {
+			return largeNodeEdges.get(edgeKey(node, ch));
+		}
+		for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+			if (chars[labelStart[child]] == ch) {
+				return child;
+			}
+		}
+		return NONE;
+	}
+
+	private static long edgeKey(int node, char ch) {
+		return ((long) node << Character.SIZE) | ch;
+	}
+
+	/**
+	 * Returns true if the label of the node starts with the given region of the chars buffer.
+	 */
+	private boolean labelStartsWith(int node, int start, int length) {
+		return length <= labelLength[node] && regionMatches(labelStart[node], start, length);
+	}
+
+	private boolean regionMatches(int start, int otherStart, int length) {
+		if (start == otherStart) {
+			return true;
+		}
+		return Arrays.equals(chars, start, start + length, chars, otherStart, otherStart + length);
+	}
+
+	@Override
+	public void write(DataOutput output, ToIntFunction<T> valueIndexes) throws IOException {
+		output.writeInt(charsSize);
+		SerializationUtil.writeChars(output, chars, charsSize);
+
+		output.writeInt(nodeCount);
+		SerializationUtil.writeInts(output, labelStart, nodeCount);
+		SerializationUtil.writeInts(output, labelLength, nodeCount);
+		SerializationUtil.writeInts(output, suffix, nodeCount);
+		SerializationUtil.writeInts(output, firstChild, nodeCount);
+		SerializationUtil.writeInts(output, nextSibling, nodeCount);
+		SerializationUtil.writeInts(output, dataHead, nodeCount);
+		SerializationUtil.writeLongs(output, largeNodes.toLongArray());
+
+		output.writeInt(dataSize);
+		SerializationUtil.writeInts(output, dataValues, dataSize);
+		SerializationUtil.writeInts(output, dataNext, dataSize);
+
+		output.writeInt(values.size());
+		for (T value : values) {
+			output.writeInt(valueIndexes.applyAsInt(value));
+		}
+	}
+
+	@Override
+	public void read(ByteBuffer input, IntFunction<T> values) {
+		if (nodeCount != 1 || !this.values.isEmpty()) {
+			throw new IllegalStateException("Cannot read into a tree that already has values.");
+		}
+
+		charsSize = input.getInt();
+		chars = SerializationUtil.readChars(input, charsSize);
+
+		nodeCount = input.getInt();
+		labelStart = SerializationUtil.readInts(input, nodeCount);
+		labelLength = SerializationUtil.readInts(input, nodeCount);
+		suffix = SerializationUtil.readInts(input, nodeCount);
+		firstChild = SerializationUtil.readInts(input, nodeCount);
+		nextSibling = SerializationUtil.readInts(input, nodeCount);
+		dataHead = SerializationUtil.readInts(input, nodeCount);
+		largeNodes.or(BitSet.valueOf(SerializationUtil.readLongs(input)));
+		for (int node = largeNodes.nextSetBit(0); node >= 0; node = largeNodes.nextSetBit(node + 1)) {
+			for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+				largeNodeEdges.put(edgeKey(node, chars[labelStart[child]]), child);
+			}
+		}
+
+		dataSize = input.getInt();
+		dataValues = SerializationUtil.readInts(input, dataSize);
+		dataNext = SerializationUtil.readInts(input, dataSize);
+
+		int valueCount = input.getInt();
+		for (int i = 0; i < valueCount; i++) {
+			T value = values.apply(input.getInt());
+			this.values.add(value);
+			this.valueIds.put(value, i);
+		}
+		activeLeaf = ROOT;
+	}
+
+	private static int grow(int size) {
+		return Math.max(INITIAL_CAPACITY, size + (size >> 1));
+	}
+
+	@Override
+	public String statistics() {
+		IntSummaryStatistics nodeSizes = new IntSummaryStatistics();
+		IntSummaryStatistics edgeCounts = new IntSummaryStatistics();
+		IntSummaryStatistics edgeLengths = new IntSummaryStatistics();
+		for (int node = 0; node < nodeCount; node++) {
+			int size = 0;
+			int head = dataHead[node];
+			if (head < NONE) {
+				size = 1;
+			} else {
+				for (int entry = head; entry != NONE; entry = dataNext[entry]) {
+					size++;
+				}
+			}
+			nodeSizes.accept(size);
+
+			int edgeCount = 0;
+			for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+				edgeCount++;
+				edgeLengths.accept(labelLength[child]);
+			}
+			edgeCounts.accept(edgeCount);
+		}
+		return "CompactGeneralizedSuffixTree:" +
+			"\nValues: " + values.size() +
+			"\nChars: " + charsSize +
+			"\nLarge nodes: " + largeNodes.cardinality() +
+			"\nNode size stats: \n" + nodeSizes +
+			"\nNode edge stats: \n" +
+			"Edge counts: " + edgeCounts +
+			"\nEdge lengths: " + edgeLengths;
+	}
+}
@@ -0,0 +1,83 @@
+package mezz.jei.core.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes and reads binary cache files that are only valid for one key.
+ * <p>
+ * A cache file starts with a magic number, a format version and the key, and ends with a CRC32 checksum of everything before it.
+ * Files are written to a temp file and then moved over the old one, so a crash never leaves a partly written cache behind.
+ * Files are read completely into memory, so nothing keeps them open and they can be replaced by the next write.
+ */
+public final class CacheFileUtil {
+	private CacheFileUtil() {
+	}
+
+	@FunctionalInterface
+	public interface ContentWriter {
+		void write(DataOutput output) throws IOException;
+	}
+
+	public static void write(Path path, int magic, int version, String key, ContentWriter contentWriter) throws IOException {
+		Files.createDirectories(path.getParent());
+		Path tempFile = Files.createTempFile(path.getParent(), null, null);
+		try {
+			CRC32 checksum = new CRC32();
+			try (OutputStream fileOutput = Files.newOutputStream(tempFile);
+				 DataOutputStream output = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(fileOutput), checksum))) {
+				output.writeInt(magic);
+				output.writeInt(version);
+				SerializationUtil.writeString(output, key);
+				contentWriter.write(output);
+
+				output.flush();
+				// the checksum is not part of itself, so write it directly to the file
+				fileOutput.write(ByteBuffer.allocate(Long.BYTES).putLong(checksum.getValue()).array());
+			}
+			PathUtil.moveAtomicReplace(tempFile, path);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * Returns the content that was written to the file, ending before the checksum.
+	 * Returns null if the file is missing, or if its checksum, magic number, version or key do not match.
+	 */
+	@Nullable
+	public static ByteBuffer read(Path path, int magic, int version, String key) throws IOException {
+		if (!Files.isRegularFile(path)) {
+			return null;
+		}
+		ByteBuffer input = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (input.limit() < Long.BYTES) {
+			return null;
+		}
+		int contentEnd = input.limit() - Long.BYTES;
+		CRC32 checksum = new CRC32();
+		checksum.update(input.duplicate().limit(contentEnd));
+		if (checksum.getValue() != input.getLong(contentEnd)) {
+			return null;
+		}
+		input.limit(contentEnd);
+
+		if (input.remaining() < 2 * Integer.BYTES || input.getInt() != magic || input.getInt() != version) {
+			return null;
+		}
+		if (!SerializationUtil.readString(input).equals(key)) {
+			return null;
+		}
+		return input;
+	}
+}
@@ -0,0 +1,67 @@
+package mezz.jei.core.util;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Helpers for writing primitive data with {@link DataOutput} and reading it back from a {@link ByteBuffer},
+ * which can wrap the bytes read from a file.
+ * Both use big-endian byte order.
+ */
+public final class SerializationUtil {
+	private SerializationUtil() {
+	}
+
+	public static void writeString(DataOutput output, String string) throws IOException {
+		output.writeInt(string.length());
+		output.writeChars(string);
+	}
+
+	public static String readString(ByteBuffer input) {
+		int length = input.getInt();
+		char[] chars = readChars(input, length);
+		return new String(chars);
+	}
+
+	public static void writeChars(DataOutput output, char[] chars, int length) throws IOException {
+		for (int i = 0; i < length; i++) {
+			output.writeChar(chars[i]);
+		}
+	}
+
+	public static char[] readChars(ByteBuffer input, int length) {
+		char[] chars = new char[length];
+		input.asCharBuffer().get(chars);
+		input.position(input.position() + length * Character.BYTES);
+		return chars;
+	}
+
+	public static void writeInts(DataOutput output, int[] ints, int length) throws IOException {
+		for (int i = 0; i < length; i++) {
+			output.writeInt(ints[i]);
+		}
+	}
+
+	public static int[] readInts(ByteBuffer input, int length) {
+		int[] ints = new int[length];
+		input.asIntBuffer().get(ints);
+		input.position(input.position() + length * Integer.BYTES);
+		return ints;
+	}
+
+	public static void writeLongs(DataOutput output, long[] longs) throws IOException {
+		output.writeInt(longs.length);
+		for (long value : longs) {
+			output.writeLong(value);
+		}
+	}
+
+	public static long[] readLongs(ByteBuffer input) {
+		int length = input.getInt();
+		long[] longs = new long[length];
+		input.asLongBuffer().get(longs);
+		input.position(input.position() + length * Long.BYTES);
+		return longs;
+	}
+}
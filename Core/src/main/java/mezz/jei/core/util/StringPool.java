@@ -0,0 +1,40 @@
+package mezz.jei.core.util;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A shared pool of canonical strings and string lists.
+ *
+ * Search keys like mod ids, mod names, tooltip lines and color names repeat across thousands of ingredients.
+ * Interning them keeps one copy of each in memory, and search storages that keep their keys share those copies.
+ *
+ * The pool only holds weak references, so strings are released once nothing else uses them (for example after a reload).
+ * It is safe to use from multiple threads.
+ */
+public final class StringPool {
+	private static final Interner<String> STRINGS = Interners.newWeakInterner();
+	private static final Interner<List<String>> LISTS = Interners.newWeakInterner();
+
+	private StringPool() {
+	}
+
+	public static String intern(String string) {
+		return STRINGS.intern(string);
+	}
+
+	/**
+	 * Returns a shared unmodifiable list with the interned strings.
+	 */
+	public static List<String> internList(Collection<String> strings) {
+		List<String> interned = new ArrayList<>(strings.size());
+		for (String string : strings) {
+			interned.add(intern(string));
+		}
+		return LISTS.intern(List.copyOf(interned));
+	}
+}
@@ -0,0 +1,82 @@
+package mezz.jei.test.collect;
+
+import mezz.jei.core.collect.LazyList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class LazyListTest {
+	@Test
+	public void testReadsOnlyWhatIsNeeded() {
+		AtomicInteger reads = new AtomicInteger();
+		Stream<Integer> source = IntStream.range(0, 100)
+			.boxed()
+			.peek(i -> reads.incrementAndGet());
+		LazyList<Integer> list = LazyList.of(source);
+		Assertions.assertEquals(0, reads.get());
+
+		Assertions.assertFalse(list.isEmpty());
+		Assertions.assertEquals(1, reads.get());
+
+		Assertions.assertEquals(4, list.get(4));
+		Assertions.assertEquals(5, reads.get());
+
+		Assertions.assertEquals(List.of(0, 1, 2), list.stream().limit(3).toList());
+		Assertions.assertEquals(5, reads.get());
+
+		Assertions.assertTrue(list.hasMoreThan(9));
+		Assertions.assertEquals(10, reads.get());
+
+		Assertions.assertEquals(100, list.size());
+		Assertions.assertEquals(100, reads.get());
+		Assertions.assertFalse(list.hasMoreThan(100));
+	}
+
+	@Test
+	public void testLoadedCount() {
+		LazyList<Integer> list = LazyList.of(IntStream.range(0, 10).boxed());
+		Assertions.assertEquals(0, list.getLoadedCount());
+		Assertions.assertFalse(list.isComplete());
+
+		Assertions.assertTrue(list.hasMoreThan(4));
+		Assertions.assertEquals(5, list.getLoadedCount());
+		Assertions.assertFalse(list.isComplete());
+
+		// reading the last element does not tell if there are more
+		Assertions.assertEquals(9, list.get(9));
+		Assertions.assertEquals(10, list.getLoadedCount());
+		Assertions.assertFalse(list.isComplete());
+
+		Assertions.assertFalse(list.hasMoreThan(10));
+		Assertions.assertEquals(10, list.getLoadedCount());
+		Assertions.assertTrue(list.isComplete());
+	}
+
+	@Test
+	public void testSameElementsAsSource() {
+		List<String> expected = List.of("a", "b", "c");
+		LazyList<String> list = LazyList.of(expected.stream());
+		Assertions.assertEquals(expected, list.stream().toList());
+		Assertions.assertEquals(expected, list);
+		Assertions.assertEquals(expected, List.copyOf(list));
+	}
+
+	@Test
+	public void testEmpty() {
+		LazyList<String> list = LazyList.of(Stream.empty());
+		Assertions.assertTrue(list.isEmpty());
+		Assertions.assertEquals(0, list.size());
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+		Assertions.assertFalse(list.iterator().hasNext());
+	}
+
+	@Test
+	public void testUnmodifiable() {
+		LazyList<String> list = LazyList.of(Stream.of("a"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> list.add("b"));
+	}
+}
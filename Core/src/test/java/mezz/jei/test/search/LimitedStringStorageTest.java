@@ -0,0 +1,79 @@
+package mezz.jei.test.search;
+
+import mezz.jei.core.search.LimitedStringStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class LimitedStringStorageTest {
+	private static Set<String> search(LimitedStringStorage<String> storage, String word) {
+		Set<String> results = new HashSet<>();
+		storage.getSearchResults(word, results::addAll);
+		return results;
+	}
+
+	private static Set<String> getAllElements(LimitedStringStorage<String> storage) {
+		Set<String> results = new HashSet<>();
+		storage.getAllElements(results::addAll);
+		return results;
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		List<String> values = List.of("stone", "cobblestone", "stone_bricks", "dirt");
+		LimitedStringStorage<String> storage = new LimitedStringStorage<>();
+		storage.put("minecraft", "stone");
+		storage.put("minecraft", "cobblestone");
+		storage.put("minecraft", "stone_bricks");
+		storage.put("minecraft", "dirt");
+		storage.put("building blocks", "stone");
+		storage.put("building blocks", "cobblestone");
+		storage.put("natural blocks", "dirt");
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			storage.write(output, values::indexOf);
+		}
+		LimitedStringStorage<String> readStorage = new LimitedStringStorage<>();
+		readStorage.read(ByteBuffer.wrap(bytes.toByteArray()), values::get);
+
+		Assertions.assertEquals(getAllElements(storage), getAllElements(readStorage));
+		for (String word : List.of("minecraft", "craft", "blocks", "building", "natural", "b", "x")) {
+			Assertions.assertEquals(search(storage, word), search(readStorage, word), word);
+		}
+		Assertions.assertEquals(Set.of("dirt"), search(readStorage, "natural"));
+		Assertions.assertEquals(Set.of(), search(readStorage, "x"));
+
+		// the read storage can still be added to
+		readStorage.put("natural blocks", "stone");
+		readStorage.put("redstone", "dust");
+		Assertions.assertEquals(Set.of("dirt", "stone"), search(readStorage, "natural"));
+		Assertions.assertEquals(Set.of("dust"), search(readStorage, "red"));
+	}
+
+	@Test
+	public void testWriteAndReadEmpty() throws IOException {
+		LimitedStringStorage<String> storage = new LimitedStringStorage<>();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			storage.write(output, value -> 0);
+		}
+		LimitedStringStorage<String> readStorage = new LimitedStringStorage<>();
+		List<String> readValues = new ArrayList<>();
+		readStorage.read(ByteBuffer.wrap(bytes.toByteArray()), index -> {
+			String value = "value" + index;
+			readValues.add(value);
+			return value;
+		});
+		Assertions.assertEquals(List.of(), readValues);
+		Assertions.assertEquals(Set.of(), getAllElements(readStorage));
+	}
+}
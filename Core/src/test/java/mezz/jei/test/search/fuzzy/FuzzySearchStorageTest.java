@@ -0,0 +1,87 @@
+package mezz.jei.test.search.fuzzy;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import mezz.jei.core.search.fuzzy.FuzzySearchStorage;
+import mezz.jei.core.search.fuzzy.WordTrie;
+import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+public class FuzzySearchStorageTest {
+
+	private static Set<Integer> search(FuzzySearchStorage<Integer> storage, String word) {
+		IntSet results = new IntOpenHashSet();
+		storage.getSearchResults(word, results::addAll);
+		return results;
+	}
+
+	private static FuzzySearchStorage<Integer> createStorage() {
+		FuzzySearchStorage<Integer> storage = new FuzzySearchStorage<>(new GeneralizedSuffixTree<>());
+		storage.put("iron ingot", 0);
+		storage.put("iron block", 1);
+		storage.put("gold ingot", 2);
+		storage.put("redstone dust", 3);
+		storage.put("diamond pickaxe", 4);
+		return storage;
+	}
+
+	@Test
+	public void testExactResultsArePreferred() {
+		FuzzySearchStorage<Integer> storage = createStorage();
+
+		Assertions.assertEquals(Set.of(0, 1), search(storage, "iron"));
+		Assertions.assertEquals(Set.of(0, 2), search(storage, "ingot"));
+		Assertions.assertEquals(Set.of(4), search(storage, "mond"));
+	}
+
+	@Test
+	public void testTypos() {
+		FuzzySearchStorage<Integer> storage = createStorage();
+
+		// substitution
+		Assertions.assertEquals(Set.of(0, 1), search(storage, "irom"));
+		// insertion
+		Assertions.assertEquals(Set.of(0, 2), search(storage, "inggot"));
+		// deletion
+		Assertions.assertEquals(Set.of(3), search(storage, "redstne"));
+		// transposition
+		Assertions.assertEquals(Set.of(0, 1), search(storage, "iorn"));
+		// two edits in a long word
+		Assertions.assertEquals(Set.of(4), search(storage, "diamnodd"));
+	}
+
+	@Test
+	public void testTypoInPrefix() {
+		FuzzySearchStorage<Integer> storage = createStorage();
+
+		Assertions.assertEquals(Set.of(3), search(storage, "redsf"));
+		Assertions.assertEquals(Set.of(4), search(storage, "pickx"));
+	}
+
+	@Test
+	public void testShortAndDistantTokens() {
+		FuzzySearchStorage<Integer> storage = createStorage();
+
+		Assertions.assertEquals(Set.of(), search(storage, "irx"));
+		Assertions.assertEquals(Set.of(), search(storage, "xxxx"));
+		Assertions.assertEquals(Set.of(), search(storage, "redxxxne"));
+	}
+
+	@Test
+	public void testWordTrieDistances() {
+		WordTrie<Integer> trie = new WordTrie<>();
+		trie.put("abcd", 0);
+		trie.put("abce", 1);
+		trie.put("xyz", 2);
+
+		long deadline = Long.MAX_VALUE;
+		Assertions.assertEquals(Set.of(0), Set.copyOf(trie.getFuzzyMatches("abcd", 0, deadline)));
+		Assertions.assertEquals(Set.of(0, 1), Set.copyOf(trie.getFuzzyMatches("abcd", 1, deadline)));
+		Assertions.assertEquals(Set.of(0, 1), Set.copyOf(trie.getFuzzyMatches("abdc", 1, deadline)));
+		Assertions.assertEquals(Set.of(2), Set.copyOf(trie.getFuzzyMatches("xz", 1, deadline)));
+		Assertions.assertEquals(Set.of(), Set.copyOf(trie.getFuzzyMatches("zzzz", 2, deadline)));
+	}
+}
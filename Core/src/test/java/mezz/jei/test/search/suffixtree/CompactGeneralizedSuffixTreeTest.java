@@ -0,0 +1,241 @@
+package mezz.jei.test.search.suffixtree;
+
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import mezz.jei.core.search.suffixtree.CompactGeneralizedSuffixTree;
+import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class CompactGeneralizedSuffixTreeTest {
+
+	private static Set<Integer> search(CompactGeneralizedSuffixTree<Integer> tree, String word) {
+		IntSet results = new IntOpenHashSet();
+		tree.getSearchResults(word, results::addAll);
+		return results;
+	}
+
+	@Test
+	public void testSearch() {
+		CompactGeneralizedSuffixTree<Integer> tree = new CompactGeneralizedSuffixTree<>();
+
+		tree.put("a", 0);
+		Assertions.assertEquals(Set.of(0), search(tree, "a"));
+
+		tree.put("ab", 1);
+		Assertions.assertEquals(Set.of(1), search(tree, "ab"));
+		Assertions.assertEquals(Set.of(1), search(tree, "b"));
+		Assertions.assertEquals(Set.of(0, 1), search(tree, "a"));
+
+		tree.put("cab", 2);
+		Assertions.assertEquals(Set.of(2), search(tree, "cab"));
+		Assertions.assertEquals(Set.of(2), search(tree, "ca"));
+		Assertions.assertEquals(Set.of(2), search(tree, "c"));
+		Assertions.assertEquals(Set.of(1, 2), search(tree, "ab"));
+		Assertions.assertEquals(Set.of(1, 2), search(tree, "b"));
+		Assertions.assertEquals(Set.of(0, 1, 2), search(tree, "a"));
+
+		tree.put("abcabxabcd", 3);
+		Assertions.assertEquals(Set.of(3), search(tree, "abcabxabcd"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abcabxabc"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abcabxab"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abcabxa"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abcabx"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abcab"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abca"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abc"));
+
+		Assertions.assertEquals(Set.of(3), search(tree, "bcabxabcd"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bcabxabc"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bcabxab"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bcabxa"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bcabx"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bcab"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bca"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bc"));
+
+		Assertions.assertEquals(Set.of(3), search(tree, "cabxabcd"));
+		Assertions.assertEquals(Set.of(3), search(tree, "cabxabc"));
+		Assertions.assertEquals(Set.of(3), search(tree, "cabxab"));
+		Assertions.assertEquals(Set.of(3), search(tree, "cabxa"));
+		Assertions.assertEquals(Set.of(3), search(tree, "cabx"));
+
+		Assertions.assertEquals(Set.of(3), search(tree, "abxabcd"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abxabc"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abxab"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abxa"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abx"));
+
+		Assertions.assertEquals(Set.of(3), search(tree, "bxabcd"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bxabc"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bxab"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bxa"));
+		Assertions.assertEquals(Set.of(3), search(tree, "bx"));
+
+		Assertions.assertEquals(Set.of(3), search(tree, "xabcd"));
+		Assertions.assertEquals(Set.of(3), search(tree, "xabc"));
+		Assertions.assertEquals(Set.of(3), search(tree, "xab"));
+		Assertions.assertEquals(Set.of(3), search(tree, "xa"));
+		Assertions.assertEquals(Set.of(3), search(tree, "x"));
+
+		Assertions.assertEquals(Set.of(3), search(tree, "abcd"));
+		Assertions.assertEquals(Set.of(3), search(tree, "abc"));
+
+		Assertions.assertEquals(Set.of(3), search(tree, "bcd"));
+
+		Assertions.assertEquals(Set.of(3), search(tree, "d"));
+
+		Assertions.assertEquals(Set.of(2, 3), search(tree, "cab"));
+		Assertions.assertEquals(Set.of(2, 3), search(tree, "ca"));
+		Assertions.assertEquals(Set.of(2, 3), search(tree, "c"));
+
+		Assertions.assertEquals(Set.of(1, 2, 3), search(tree, "ab"));
+		Assertions.assertEquals(Set.of(1, 2, 3), search(tree, "b"));
+		Assertions.assertEquals(Set.of(0, 1, 2, 3), search(tree, "a"));
+	}
+
+	@Test
+	public void testPuttingSameString() {
+		CompactGeneralizedSuffixTree<Integer> tree = new CompactGeneralizedSuffixTree<>();
+
+		tree.put("ab", 0);
+		Assertions.assertEquals(Set.of(0), search(tree, "a"));
+		Assertions.assertEquals(Set.of(0), search(tree, "b"));
+		Assertions.assertEquals(Set.of(0), search(tree, "ab"));
+
+		tree.put("ab", 1);
+		Assertions.assertEquals(Set.of(0, 1), search(tree, "a"));
+		Assertions.assertEquals(Set.of(0, 1), search(tree, "b"));
+		Assertions.assertEquals(Set.of(0, 1), search(tree, "ab"));
+	}
+
+	@Test
+	public void testPuttingShorterString() {
+		CompactGeneralizedSuffixTree<Integer> tree = new CompactGeneralizedSuffixTree<>();
+
+		tree.put("ab", 0);
+		Assertions.assertEquals(Set.of(0), search(tree, "a"));
+		Assertions.assertEquals(Set.of(0), search(tree, "b"));
+		Assertions.assertEquals(Set.of(0), search(tree, "ab"));
+
+		tree.put("a", 1);
+		Assertions.assertEquals(Set.of(0, 1), search(tree, "a"));
+		Assertions.assertEquals(Set.of(0), search(tree, "b"));
+		Assertions.assertEquals(Set.of(0), search(tree, "ab"));
+	}
+
+	@Test
+	public void testNonMatchingSearches() {
+		CompactGeneralizedSuffixTree<Integer> tree = new CompactGeneralizedSuffixTree<>();
+
+		tree.put("ab", 0);
+		Assertions.assertEquals(Set.of(), search(tree, ""));
+		Assertions.assertEquals(Set.of(), search(tree, "abc"));
+		Assertions.assertEquals(Set.of(), search(tree, "ac"));
+		Assertions.assertEquals(Set.of(), search(tree, "ba"));
+		Assertions.assertEquals(Set.of(), search(tree, "c"));
+	}
+
+	@Test
+	public void testIndexWorksOutOfOrder() {
+		CompactGeneralizedSuffixTree<Integer> tree = new CompactGeneralizedSuffixTree<>();
+
+		tree.put("ab", 10);
+		Assertions.assertEquals(Set.of(10), search(tree, "a"));
+		Assertions.assertEquals(Set.of(10), search(tree, "b"));
+		Assertions.assertEquals(Set.of(10), search(tree, "ab"));
+
+		tree.put("a", 5);
+		Assertions.assertEquals(Set.of(10, 5), search(tree, "a"));
+		Assertions.assertEquals(Set.of(10), search(tree, "b"));
+		Assertions.assertEquals(Set.of(10), search(tree, "ab"));
+	}
+
+	@Test
+	public void testMatchesGeneralizedSuffixTree() {
+		GeneralizedSuffixTree<Integer> expectedTree = new GeneralizedSuffixTree<>();
+		CompactGeneralizedSuffixTree<Integer> tree = new CompactGeneralizedSuffixTree<>();
+
+		Random random = new Random(42);
+		List<String> words = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			String word = randomWord(random, 1 + random.nextInt(12));
+			words.add(word);
+			expectedTree.put(word, i);
+			tree.put(word, i);
+			// put some values under multiple keys, not always in order
+			if (random.nextInt(4) == 0) {
+				String extraWord = randomWord(random, 1 + random.nextInt(12));
+				int value = random.nextInt(i + 1);
+				words.add(extraWord);
+				expectedTree.put(extraWord, value);
+				tree.put(extraWord, value);
+			}
+		}
+
+		for (String word : words) {
+			for (int start = 0; start < word.length(); start++) {
+				for (int end = start + 1; end <= word.length(); end++) {
+					String searchWord = word.substring(start, end);
+					IntSet expected = new IntOpenHashSet();
+					expectedTree.getSearchResults(searchWord, expected::addAll);
+					Assertions.assertEquals(expected, search(tree, searchWord), searchWord);
+				}
+			}
+		}
+		for (int i = 0; i < 1000; i++) {
+			String searchWord = randomWord(random, 1 + random.nextInt(4));
+			IntSet expected = new IntOpenHashSet();
+			expectedTree.getSearchResults(searchWord, expected::addAll);
+			Assertions.assertEquals(expected, search(tree, searchWord), searchWord);
+		}
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		CompactGeneralizedSuffixTree<Integer> tree = new CompactGeneralizedSuffixTree<>();
+		Random random = new Random(7);
+		List<String> words = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			String word = randomWord(random, 1 + random.nextInt(12));
+			words.add(word);
+			tree.put(word, i);
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			tree.write(output, value -> value);
+		}
+		CompactGeneralizedSuffixTree<Integer> readTree = new CompactGeneralizedSuffixTree<>();
+		readTree.read(ByteBuffer.wrap(bytes.toByteArray()), value -> value);
+
+		for (String word : words) {
+			for (int start = 0; start < word.length(); start++) {
+				String searchWord = word.substring(start);
+				Assertions.assertEquals(search(tree, searchWord), search(readTree, searchWord), searchWord);
+			}
+		}
+
+		// the read tree can still be added to
+		tree.put("dcbadcba", 1000);
+		readTree.put("dcbadcba", 1000);
+		Assertions.assertEquals(search(tree, "cbad"), search(readTree, "cbad"));
+	}
+
+	private static String randomWord(Random random, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append((char) ('a' + random.nextInt(4)));
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,92 @@
+package mezz.jei.test.util;
+
+import mezz.jei.core.util.CacheFileUtil;
+import mezz.jei.core.util.SerializationUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class CacheFileUtilTest {
+	private static final int MAGIC = 0x54455354; // "TEST"
+	private static final int VERSION = 1;
+
+	@TempDir
+	Path tempDir;
+
+	private static void writeContent(Path path, String key, int value) throws IOException {
+		CacheFileUtil.write(path, MAGIC, VERSION, key, output -> {
+			output.writeInt(value);
+			SerializationUtil.writeString(output, "content");
+		});
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		Path path = tempDir.resolve("cache.bin");
+		writeContent(path, "key", 42);
+
+		ByteBuffer input = CacheFileUtil.read(path, MAGIC, VERSION, "key");
+		Assertions.assertNotNull(input);
+		Assertions.assertEquals(42, input.getInt());
+		Assertions.assertEquals("content", SerializationUtil.readString(input));
+		// the checksum is not part of the content
+		Assertions.assertFalse(input.hasRemaining());
+	}
+
+	@Test
+	public void testMissingFile() throws IOException {
+		Path path = tempDir.resolve("missing.bin");
+		Assertions.assertNull(CacheFileUtil.read(path, MAGIC, VERSION, "key"));
+	}
+
+	@Test
+	public void testKeyChanged() throws IOException {
+		Path path = tempDir.resolve("cache.bin");
+		writeContent(path, "mods:{jei=1.0}", 42);
+		Assertions.assertNull(CacheFileUtil.read(path, MAGIC, VERSION, "mods:{jei=1.1}"));
+	}
+
+	@Test
+	public void testVersionOrMagicChanged() throws IOException {
+		Path path = tempDir.resolve("cache.bin");
+		writeContent(path, "key", 42);
+		Assertions.assertNull(CacheFileUtil.read(path, MAGIC, VERSION + 1, "key"));
+		Assertions.assertNull(CacheFileUtil.read(path, MAGIC + 1, VERSION, "key"));
+	}
+
+	@Test
+	public void testCorruptFile() throws IOException {
+		Path path = tempDir.resolve("cache.bin");
+		writeContent(path, "key", 42);
+		byte[] bytes = Files.readAllBytes(path);
+		bytes[bytes.length / 2] ^= 1;
+		Files.write(path, bytes);
+		Assertions.assertNull(CacheFileUtil.read(path, MAGIC, VERSION, "key"));
+
+		Files.write(path, new byte[3]);
+		Assertions.assertNull(CacheFileUtil.read(path, MAGIC, VERSION, "key"));
+	}
+
+	@Test
+	public void testReplaceAfterRead() throws IOException {
+		Path path = tempDir.resolve("cache.bin");
+		writeContent(path, "old", 1);
+		Assertions.assertNotNull(CacheFileUtil.read(path, MAGIC, VERSION, "old"));
+
+		// a file that was read can be replaced right away
+		writeContent(path, "new", 2);
+		Assertions.assertNull(CacheFileUtil.read(path, MAGIC, VERSION, "old"));
+		ByteBuffer input = CacheFileUtil.read(path, MAGIC, VERSION, "new");
+		Assertions.assertNotNull(input);
+		Assertions.assertEquals(2, input.getInt());
+
+		try (var files = Files.list(tempDir)) {
+			Assertions.assertEquals(1, files.count(), "temp files should be cleaned up");
+		}
+	}
+}
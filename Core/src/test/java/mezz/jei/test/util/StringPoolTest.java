@@ -0,0 +1,34 @@
+package mezz.jei.test.util;
+
+import mezz.jei.core.util.StringPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class StringPoolTest {
+	@Test
+	public void testIntern() {
+		String a = new String(new char[]{'m', 'o', 'd'});
+		String b = new String(new char[]{'m', 'o', 'd'});
+		Assertions.assertNotSame(a, b);
+
+		String internedA = StringPool.intern(a);
+		String internedB = StringPool.intern(b);
+		Assertions.assertEquals(a, internedA);
+		Assertions.assertSame(internedA, internedB);
+	}
+
+	@Test
+	public void testInternList() {
+		String a = new String(new char[]{'i', 'd'});
+		String b = new String(new char[]{'i', 'd'});
+
+		List<String> listA = StringPool.internList(List.of(a, "name"));
+		List<String> listB = StringPool.internList(List.of(b, "name"));
+		Assertions.assertEquals(List.of("id", "name"), listA);
+		Assertions.assertSame(listA, listB);
+		Assertions.assertSame(StringPool.intern(a), listB.getFirst());
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> listA.add("other"));
+	}
+}
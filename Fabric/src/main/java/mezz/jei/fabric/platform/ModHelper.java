@@ -25,6 +25,16 @@ public class ModHelper implements IPlatformModHelper {
 			.orElseGet(() -> StringUtils.capitalize(modId));
 	}
 
+	@Override
+	public Map<String, String> getModVersions() {
+		Map<String, String> modVersions = new HashMap<>();
+		for (ModContainer modContainer : FabricLoader.getInstance().getAllMods()) {
+			ModMetadata metadata = modContainer.getMetadata();
+			modVersions.put(metadata.getId(), metadata.getVersion().getFriendlyString());
+		}
+		return modVersions;
+	}
+
 	@Override
 	public boolean isInDev() {
 		FabricLoader loader = FabricLoader.getInstance();
@@ -26,6 +26,15 @@ public class ModHelper implements IPlatformModHelper {
 			.orElseGet(() -> StringUtils.capitalize(modId));
 	}
 
+	@Override
+	public Map<String, String> getModVersions() {
+		Map<String, String> modVersions = new HashMap<>();
+		for (IModInfo modInfo : ModList.get().getMods()) {
+			modVersions.put(modInfo.getModId(), modInfo.getVersion().toString());
+		}
+		return modVersions;
+	}
+
 	@Override
 	public boolean isInDev() {
 		return !FMLLoader.isProduction();
@@ -1,28 +1,41 @@
 package mezz.jei.gui.bookmarks;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import mezz.jei.api.helpers.ICodecHelper;
 import mezz.jei.api.helpers.IGuiHelper;
 import mezz.jei.api.ingredients.ITypedIngredient;
 import mezz.jei.api.recipe.IFocusFactory;
 import mezz.jei.api.recipe.IRecipeManager;
 import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.common.config.IClientConfig;
 import mezz.jei.gui.config.IBookmarkConfig;
 import mezz.jei.gui.overlay.IIngredientGridSource;
 import mezz.jei.gui.overlay.elements.IElement;
 import net.minecraft.core.RegistryAccess;
+import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class BookmarkList implements IIngredientGridSource {
-	private final List<IBookmark> bookmarksList = new LinkedList<>();
+	private final List<IBookmark> bookmarksList = new ArrayList<>();
 	private final Set<IBookmark> bookmarksSet = new HashSet<>();
+	/**
+	 * Recipe bookmarks by recipe type and recipe uid, so recipes can be matched to their bookmarks without a scan.
+	 */
+	private final Map<RecipeBookmarkKey, RecipeBookmark<?, ?>> recipeBookmarks = new HashMap<>();
+	/**
+	 * The number of recipe bookmarks for each recipe type, so recipes of other types can skip looking up their uid.
+	 */
+	private final Object2IntMap<RecipeType<?>> recipeBookmarkCounts = new Object2IntOpenHashMap<>();
 
 	private final IRecipeManager recipeManager;
 	private final IFocusFactory focusFactory;
@@ -79,7 +92,7 @@ public class BookmarkList implements IIngredientGridSource {
 		}
 		newIndex %= bookmarksList.size();
 
-		bookmarksList.remove(newBookmark);
+		bookmarksList.remove(j);
 		bookmarksList.add(newIndex, newBookmark);
 
 		notifyListenersOfChange();
@@ -112,6 +125,7 @@ public class BookmarkList implements IIngredientGridSource {
 			return false;
 		}
 		bookmarksList.remove(ingredient);
+		removeFromRecipeIndex(ingredient);
 
 		notifyListenersOfChange();
 		bookmarkConfig.saveBookmarks(recipeManager, focusFactory, guiHelper, ingredientManager, registryAccess, codecHelper, bookmarksList);
@@ -121,10 +135,13 @@ public class BookmarkList implements IIngredientGridSource {
 	public void setFromConfigFile(List<IBookmark> bookmarks) {
 		bookmarksList.clear();
 		bookmarksSet.clear();
+		recipeBookmarks.clear();
+		recipeBookmarkCounts.clear();
 
 		for (IBookmark bookmark : bookmarks) {
 			if (bookmarksSet.add(bookmark)) {
 				bookmarksList.add(bookmark);
+				addToRecipeIndex(bookmark);
 			}
 		}
 
@@ -142,9 +159,35 @@ public class BookmarkList implements IIngredientGridSource {
 			bookmarksList.add(value);
 			bookmarksSet.add(value);
 		}
+		addToRecipeIndex(value);
 		return true;
 	}
 
+	private void addToRecipeIndex(IBookmark bookmark) {
+		if (bookmark instanceof RecipeBookmark<?, ?> recipeBookmark) {
+			RecipeType<?> recipeType = recipeBookmark.getRecipeCategory().getRecipeType();
+			RecipeBookmarkKey key = new RecipeBookmarkKey(recipeType, recipeBookmark.getRecipeUid());
+			if (recipeBookmarks.putIfAbsent(key, recipeBookmark) == null) {
+				recipeBookmarkCounts.mergeInt(recipeType, 1, Integer::sum);
+			}
+		}
+	}
+
+	private void removeFromRecipeIndex(IBookmark bookmark) {
+		if (bookmark instanceof RecipeBookmark<?, ?> recipeBookmark) {
+			RecipeType<?> recipeType = recipeBookmark.getRecipeCategory().getRecipeType();
+			RecipeBookmarkKey key = new RecipeBookmarkKey(recipeType, recipeBookmark.getRecipeUid());
+			if (recipeBookmarks.remove(key) != null) {
+				int count = recipeBookmarkCounts.getInt(recipeType) - 1;
+				if (count > 0) {
+					recipeBookmarkCounts.put(recipeType, count);
+				} else {
+					recipeBookmarkCounts.removeInt(recipeType);
+				}
+			}
+		}
+	}
+
 	@Override
 	public List<IElement<?>> getElements() {
 		return bookmarksList.stream()
@@ -152,18 +195,30 @@ public class BookmarkList implements IIngredientGridSource {
 			.toList();
 	}
 
+	/**
+	 * Returns true if any recipe of the given type is bookmarked.
+	 */
+	public boolean hasRecipeBookmarks(RecipeType<?> recipeType) {
+		return recipeBookmarkCounts.containsKey(recipeType);
+	}
+
 	@Nullable
 	public <R> RecipeBookmark<R,?> getMatchingBookmark(RecipeType<R> recipeType, R recipe) {
-		for (IBookmark bookmark : bookmarksList) {
-			if (bookmark instanceof RecipeBookmark<?,?> recipeBookmark) {
-				if (recipeBookmark.isRecipe(recipeType, recipe)) {
-					@SuppressWarnings("unchecked")
-					RecipeBookmark<R, ?> castBookmark = (RecipeBookmark<R, ?>) recipeBookmark;
-					return castBookmark;
-				}
-			}
+		if (!hasRecipeBookmarks(recipeType)) {
+			return null;
+		}
+		IRecipeCategory<R> recipeCategory = recipeManager.getRecipeCategory(recipeType);
+		ResourceLocation recipeUid = recipeCategory.getRegistryName(recipe);
+		if (recipeUid == null) {
+			return null;
 		}
-		return null;
+		RecipeBookmark<?, ?> recipeBookmark = recipeBookmarks.get(new RecipeBookmarkKey(recipeType, recipeUid));
+		if (recipeBookmark == null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		RecipeBookmark<R, ?> castBookmark = (RecipeBookmark<R, ?>) recipeBookmark;
+		return castBookmark;
 	}
 
 	public boolean isEmpty() {
@@ -175,6 +230,8 @@ public class BookmarkList implements IIngredientGridSource {
 		listeners.add(listener);
 	}
 
+	private record RecipeBookmarkKey(RecipeType<?> recipeType, ResourceLocation recipeUid) {}
+
 	private void notifyListenersOfChange() {
 		for (SourceListChangedListener listener : listeners) {
 			listener.onSourceListChanged();
@@ -5,7 +5,6 @@ import mezz.jei.api.gui.ingredient.IRecipeSlotView;
 import mezz.jei.api.gui.ingredient.IRecipeSlotsView;
 import mezz.jei.api.ingredients.ITypedIngredient;
 import mezz.jei.api.recipe.RecipeIngredientRole;
-import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.gui.overlay.elements.IElement;
@@ -99,6 +98,10 @@ public class RecipeBookmark<R, I> implements IBookmark {
 		return recipe;
 	}
 
+	public ResourceLocation getRecipeUid() {
+		return recipeUid;
+	}
+
 	public ITypedIngredient<I> getDisplayIngredient() {
 		return displayIngredient;
 	}
@@ -146,17 +149,4 @@ public class RecipeBookmark<R, I> implements IBookmark {
 			", visible=" + visible +
 			'}';
 	}
-
-	public <T> boolean isRecipe(RecipeType<T> otherType, T otherRecipe) {
-		RecipeType<R> recipeType = recipeCategory.getRecipeType();
-		if (recipeType.equals(otherType)) {
-			Class<? extends R> recipeClass = recipeType.getRecipeClass();
-			if (recipeClass.isInstance(otherRecipe)) {
-				R castRecipe = recipeClass.cast(otherRecipe);
-				ResourceLocation otherUid = recipeCategory.getRegistryName(castRecipe);
-				return recipeUid.equals(otherUid);
-			}
-		}
-		return false;
-	}
 }
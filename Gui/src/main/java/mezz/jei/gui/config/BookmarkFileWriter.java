@@ -0,0 +1,107 @@
+package mezz.jei.gui.config;
+
+import com.google.gson.JsonElement;
+import mezz.jei.common.config.file.JsonArrayFileHelper;
+import mezz.jei.core.util.PathUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes bookmark files on a background thread.
+ *
+ * Writes are delayed a little so that a burst of bookmark changes only writes the file once,
+ * with the latest bookmarks.
+ * Files are written to a temporary file first and then moved into place,
+ * so a crash while writing never leaves a half-written bookmarks file.
+ *
+ * Each writer has its own thread and shutdown hook, so only one should be created for the whole game.
+ */
+public class BookmarkFileWriter {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final long WRITE_DELAY_MILLIS = 500;
+
+	private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "JEI Bookmark Writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	/**
+	 * The latest contents waiting to be written for each file.
+	 */
+	private final Map<Path, PendingWrite> pendingWrites = new LinkedHashMap<>();
+	/**
+	 * Held while taking and writing pending contents, so an older write can never finish after a newer one.
+	 */
+	private final Object writeLock = new Object();
+
+	public BookmarkFileWriter() {
+		Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "JEI Bookmark Writer Shutdown"));
+	}
+
+	/**
+	 * Replaces any contents waiting to be written to the path, and schedules a write if one is not already scheduled.
+	 */
+	public void write(Path path, int version, List<JsonElement> elements) {
+		boolean scheduled;
+		synchronized (pendingWrites) {
+			scheduled = !pendingWrites.isEmpty();
+			pendingWrites.put(path, new PendingWrite(version, elements));
+		}
+		if (!scheduled) {
+			executor.schedule(this::flush, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Writes everything that is waiting to be written, on the calling thread.
+	 *
+	 * @return true if everything was written successfully
+	 */
+	public boolean flush() {
+		synchronized (writeLock) {
+			Map<Path, PendingWrite> writes;
+			synchronized (pendingWrites) {
+				writes = Map.copyOf(pendingWrites);
+				pendingWrites.clear();
+			}
+
+			boolean success = true;
+			for (Map.Entry<Path, PendingWrite> entry : writes.entrySet()) {
+				success &= entry.getValue().writeTo(entry.getKey());
+			}
+			return success;
+		}
+	}
+
+	private record PendingWrite(int version, List<JsonElement> elements) {
+		public boolean writeTo(Path path) {
+			try {
+				Path tempFile = Files.createTempFile(path.getParent(), null, null);
+				try {
+					try (BufferedWriter out = Files.newBufferedWriter(tempFile)) {
+						JsonArrayFileHelper.writeElements(out, version, elements);
+					}
+					PathUtil.moveAtomicReplace(tempFile, path);
+				} finally {
+					Files.deleteIfExists(tempFile);
+				}
+				LOGGER.debug("Saved bookmarks config to file: {}", path);
+				return true;
+			} catch (IOException | RuntimeException e) {
+				LOGGER.error("Failed to save bookmarks config to file {}", path, e);
+				return false;
+			}
+		}
+	}
+}
@@ -1,7 +1,10 @@
 package mezz.jei.gui.config;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.JsonElement;
 import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
 import com.mojang.serialization.JsonOps;
 import com.mojang.serialization.MapCodec;
 import mezz.jei.api.helpers.ICodecHelper;
@@ -24,7 +27,6 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -38,10 +40,23 @@ public class BookmarkJsonConfig implements IBookmarkConfig {
 
 	private static final Codec<BookmarkType> TYPE_CODEC = EnumCodec.create(BookmarkType.class);
 	private static @Nullable MapCodec<IBookmark> BOOKMARK_CODEC;
+	/**
+	 * Shared by every runtime, so there is only one writer thread and shutdown hook for the whole game,
+	 * and a write that is still waiting from the last runtime is flushed before the next one loads the file.
+	 */
+	private static final BookmarkFileWriter FILE_WRITER = new BookmarkFileWriter();
 
 	@SuppressWarnings("deprecation")
 	private final LegacyBookmarkConfig legacyBookmarkConfig;
 	private final Path jeiConfigurationDir;
+	/**
+	 * Bookmarks never change once they are created, so each one only needs to be encoded once.
+	 * Weak keys are compared by identity, and are dropped once a bookmark is removed and forgotten.
+	 */
+	private final Cache<IBookmark, JsonElement> encodedBookmarks = CacheBuilder.newBuilder()
+		.weakKeys()
+		.build();
+	private @Nullable RegistryAccess encodedRegistryAccess;
 
 	private static MapCodec<IBookmark> getBookmarkCodec(ICodecHelper codecHelper, IIngredientManager ingredientManager, IRecipeManager recipeManager) {
 		if (BOOKMARK_CODEC == null) {
@@ -78,6 +93,9 @@ public class BookmarkJsonConfig implements IBookmarkConfig {
 		return registryAccess.createSerializationContext(JsonOps.INSTANCE);
 	}
 
+	/**
+	 * Bookmarks are only encoded once, the file is written in the background by {@link #FILE_WRITER}.
+	 */
 	@Override
 	public boolean saveBookmarks(
 		IRecipeManager recipeManager,
@@ -91,32 +109,49 @@ public class BookmarkJsonConfig implements IBookmarkConfig {
 		return getPath(jeiConfigurationDir)
 			.map(path -> {
 				Codec<IBookmark> bookmarkCodec = getBookmarkCodec(codecHelper, ingredientManager, recipeManager).codec();
-				RegistryOps<JsonElement> registryOps = getRegistryOps(registryAccess);
-
-				try (BufferedWriter out = Files.newBufferedWriter(path)) {
-					JsonArrayFileHelper.write(
-						out,
-						VERSION,
-						bookmarks,
-						bookmarkCodec,
-						registryOps,
-						error -> {
-							LOGGER.error("Encountered an error when saving the bookmarks config to file {}\n{}", path, error);
-						},
-						(element, exception) -> {
-							LOGGER.error("Encountered an exception when saving the bookmarks config to file {}\n{}", path, element, exception);
-						}
-					);
-					LOGGER.debug("Saved bookmarks config to file: {}", path);
-					return true;
-				} catch (IOException e) {
-					LOGGER.error("Failed to save bookmarks config to file {}", path, e);
-					return false;
-				}
+				List<JsonElement> elements = encodeBookmarks(path, bookmarks, bookmarkCodec, registryAccess);
+				FILE_WRITER.write(path, VERSION, elements);
+				return true;
 			})
 			.orElse(false);
 	}
 
+	private List<JsonElement> encodeBookmarks(Path path, List<IBookmark> bookmarks, Codec<IBookmark> bookmarkCodec, RegistryAccess registryAccess) {
+		if (encodedRegistryAccess != registryAccess) {
+			encodedBookmarks.invalidateAll();
+			encodedRegistryAccess = registryAccess;
+		}
+
+		RegistryOps<JsonElement> registryOps = getRegistryOps(registryAccess);
+		List<JsonElement> elements = new ArrayList<>(bookmarks.size());
+		for (IBookmark bookmark : bookmarks) {
+			JsonElement element = encodedBookmarks.getIfPresent(bookmark);
+			if (element == null) {
+				element = encodeBookmark(path, bookmark, bookmarkCodec, registryOps);
+				if (element == null) {
+					continue;
+				}
+				encodedBookmarks.put(bookmark, element);
+			}
+			elements.add(element);
+		}
+		return elements;
+	}
+
+	@Nullable
+	private static JsonElement encodeBookmark(Path path, IBookmark bookmark, Codec<IBookmark> bookmarkCodec, RegistryOps<JsonElement> registryOps) {
+		try {
+			DataResult<JsonElement> dataResult = bookmarkCodec.encodeStart(registryOps, bookmark);
+			dataResult.ifError(error -> {
+				LOGGER.error("Encountered an error when saving the bookmarks config to file {}\n{}", path, error);
+			});
+			return dataResult.result().orElse(null);
+		} catch (RuntimeException e) {
+			LOGGER.error("Encountered an exception when saving the bookmarks config to file {}\n{}", path, bookmark, e);
+			return null;
+		}
+	}
+
 	@Override
 	public void loadBookmarks(
 		IRecipeManager recipeManager,
@@ -127,6 +162,9 @@ public class BookmarkJsonConfig implements IBookmarkConfig {
 		BookmarkList bookmarkList,
 		ICodecHelper codecHelper
 	) {
+		// make sure the file on disk has the latest bookmarks before reading it
+		FILE_WRITER.flush();
+
 		RegistryOps<JsonElement> registryOps = getRegistryOps(registryAccess);
 		List<IBookmark> bookmarks = loadJsonBookmarks(ingredientManager, recipeManager, registryOps, codecHelper);
 
@@ -154,7 +192,8 @@ public class BookmarkJsonConfig implements IBookmarkConfig {
 					}
 				});
 
-			if (saveBookmarks(recipeManager, focusFactory, guiHelper, ingredientManager, registryAccess, codecHelper, bookmarks)) {
+			// only back up the legacy file once the bookmarks are safely written to the new one
+			if (saveBookmarks(recipeManager, focusFactory, guiHelper, ingredientManager, registryAccess, codecHelper, bookmarks) && FILE_WRITER.flush()) {
 				//noinspection deprecation
 				LegacyBookmarkConfig.getPath(jeiConfigurationDir)
 					.ifPresent(legacyPath -> {
@@ -0,0 +1,46 @@
+package mezz.jei.gui.ingredients;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.IIngredientType;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.runtime.IIngredientManager;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds ingredient list elements by their ingredient type and uid, without going through the search index.
+ * When several elements have the same uid, the first one that was added is found.
+ */
+public class ElementUidIndex {
+	private final IIngredientManager ingredientManager;
+	private final Map<IIngredientType<?>, Map<Object, IListElement<?>>> elementsByType = new Reference2ObjectOpenHashMap<>();
+
+	public ElementUidIndex(IIngredientManager ingredientManager) {
+		this.ingredientManager = ingredientManager;
+	}
+
+	public <V> void add(IListElement<V> element) {
+		ITypedIngredient<V> typedIngredient = element.getTypedIngredient();
+		IIngredientType<V> type = typedIngredient.getType();
+		IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(type);
+		Object uid = ingredientHelper.getUid(typedIngredient, UidContext.Ingredient);
+		elementsByType.computeIfAbsent(type, k -> new Object2ObjectOpenHashMap<>())
+			.putIfAbsent(uid, element);
+	}
+
+	public <V> Optional<IListElement<V>> get(IIngredientHelper<V> ingredientHelper, ITypedIngredient<V> typedIngredient) {
+		IIngredientType<V> type = typedIngredient.getType();
+		Map<Object, IListElement<?>> elements = elementsByType.get(type);
+		if (elements == null) {
+			return Optional.empty();
+		}
+		Object uid = ingredientHelper.getUid(typedIngredient, UidContext.Ingredient);
+		@SuppressWarnings("unchecked")
+		IListElement<V> element = (IListElement<V>) elements.get(uid);
+		return Optional.ofNullable(element);
+	}
+}
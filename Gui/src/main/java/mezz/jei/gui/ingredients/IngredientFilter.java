@@ -1,11 +1,11 @@
 package mezz.jei.gui.ingredients;
 
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import mezz.jei.api.helpers.IColorHelper;
 import mezz.jei.api.helpers.IModIdHelper;
 import mezz.jei.api.ingredients.IIngredientHelper;
 import mezz.jei.api.ingredients.IIngredientType;
 import mezz.jei.api.ingredients.ITypedIngredient;
-import mezz.jei.api.ingredients.subtypes.UidContext;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.api.runtime.IIngredientVisibility;
 import mezz.jei.common.config.DebugConfig;
@@ -20,23 +20,30 @@ import mezz.jei.gui.search.ElementPrefixParser;
 import mezz.jei.gui.search.ElementSearch;
 import mezz.jei.gui.search.ElementSearchLowMem;
 import mezz.jei.gui.search.IElementSearch;
+import mezz.jei.gui.search.SearchIndexCache;
+import net.minecraft.client.Minecraft;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.stream.Collectors;
 
 public class IngredientFilter implements
 	IIngredientGridSource,
@@ -47,8 +54,15 @@ public class IngredientFilter implements
 	private static final Logger LOGGER = LogManager.getLogger();
 	private static final Pattern QUOTE_PATTERN = Pattern.compile("\"");
 	private static final Pattern FILTER_SPLIT_PATTERN = Pattern.compile("(-?\".*?(?:\"|$)|\\S+)");
+	private static final int RECENT_RESULTS_SIZE = 16;
+	private static final Executor FILTER_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "JEI Ingredient Filter");
+		thread.setDaemon(true);
+		return thread;
+	});
 
 	private final IClientConfig clientConfig;
+	private final IIngredientFilterConfig config;
 	private final IFilterTextSource filterTextSource;
 	private final IIngredientManager ingredientManager;
 	private final Comparator<IListElement<?>> ingredientComparator;
@@ -56,10 +70,47 @@ public class IngredientFilter implements
 	private final IIngredientVisibility ingredientVisibility;
 
 	private final ElementPrefixParser elementPrefixParser;
-	private IElementSearch elementSearch;
+	private volatile IElementSearch elementSearch;
+	/**
+	 * True when the element indexes of the search are already in {@link #ingredientComparator} order,
+	 * so results can be emitted in index order without sorting them.
+	 */
+	private volatile boolean presorted;
+	/**
+	 * Finds the element for an ingredient when its visibility changes or it is added or removed at runtime.
+	 * Built the first time it is needed, so it costs nothing at startup.
+	 */
+	@Nullable
+	private ElementUidIndex elementUidIndex;
 
 	@Nullable
 	private List<IElement<?>> ingredientListCached;
+	/**
+	 * The result for the last filter text, used to refine the results when more text is typed.
+	 */
+	@Nullable
+	private FilterResult lastResult;
+	/**
+	 * Recent results keyed by lowercase filter text, so deleting text or switching back to a search is instant.
+	 */
+	private final Map<String, FilterResult> recentResults = new LinkedHashMap<>(RECENT_RESULTS_SIZE, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, FilterResult> eldest) {
+			return size() > RECENT_RESULTS_SIZE;
+		}
+	};
+	/**
+	 * The last complete list, shown while a background filter is running.
+	 */
+	@Nullable
+	private List<IElement<?>> displayedList;
+	@Nullable
+	private PendingFilter pendingFilter;
+	/**
+	 * Held by the filter thread while it reads the search and the visibility of its elements,
+	 * and by the client thread while it changes them, so they are never read while they are being changed.
+	 */
+	private final Lock searchLock = new ReentrantLock();
 	private final List<SourceListChangedListener> listeners = new ArrayList<>();
 
 	public IngredientFilter(
@@ -76,18 +127,21 @@ public class IngredientFilter implements
 	) {
 		this.filterTextSource = filterTextSource;
 		this.clientConfig = clientConfig;
+		this.config = config;
 		this.ingredientManager = ingredientManager;
 		this.ingredientComparator = ingredientComparator;
 		this.modIdHelper = modIdHelper;
 		this.ingredientVisibility = ingredientVisibility;
-		this.elementPrefixParser = new ElementPrefixParser(ingredientManager, config, colorHelper, modIdHelper);
-
-		this.elementSearch = createElementSearch(clientConfig, elementPrefixParser);
+		this.elementPrefixParser = new ElementPrefixParser(ingredientManager, config, clientConfig, colorHelper, modIdHelper);
 
 		LOGGER.info("Adding {} ingredients", ingredients.size());
 		for (IListElementInfo<?> ingredient : ingredients) {
-			addIngredient(ingredient);
+			updateHiddenState(ingredient.getElement());
 		}
+		IElementSearch elementSearch = createElementSearch();
+		elementSearch.addAll(ingredients);
+		this.elementSearch = elementSearch;
+		this.presorted = isPresorted(elementSearch);
 		LOGGER.info("Added {} ingredients", ingredients.size());
 		if (DebugConfig.isLogSuffixTreeStatsEnabled()) {
 			this.elementSearch.logStatistics();
@@ -101,9 +155,12 @@ public class IngredientFilter implements
 		clientToggleState.addEditModeToggleListener(this);
 	}
 
-	private static IElementSearch createElementSearch(IClientConfig clientConfig, ElementPrefixParser elementPrefixParser) {
+	private IElementSearch createElementSearch() {
 		if (clientConfig.isLowMemorySlowSearchEnabled()) {
 			return new ElementSearchLowMem();
+		} else if (clientConfig.isSearchIndexCacheEnabled()) {
+			SearchIndexCache searchIndexCache = SearchIndexCache.create(clientConfig, config);
+			return new ElementSearch(elementPrefixParser, searchIndexCache);
 		} else {
 			return new ElementSearch(elementPrefixParser);
 		}
@@ -111,41 +168,79 @@ public class IngredientFilter implements
 
 	public <V> void addIngredient(IListElementInfo<V> info) {
 		IListElement<V> element = info.getElement();
-		updateHiddenState(element);
+		lockSearch();
+		try {
+			updateHiddenState(element);
 
-		this.elementSearch.add(info);
+			this.elementSearch.add(info);
+			if (this.elementUidIndex != null) {
+				this.elementUidIndex.add(element);
+			}
+			int count = this.elementSearch.getElementCount();
+			if (presorted && count > 1 && ingredientComparator.compare(this.elementSearch.getElement(count - 2), this.elementSearch.getElement(count - 1)) > 0) {
+				presorted = false;
+			}
+		} finally {
+			searchLock.unlock();
+		}
 
 		invalidateCache();
 	}
 
+	/**
+	 * Cancels a background filter that has not started yet and waits for a running one to finish,
+	 * so the search and the visibility of its elements can be changed until the lock is released.
+	 */
+	private void lockSearch() {
+		cancelPendingFilter();
+		searchLock.lock();
+	}
+
 	public void invalidateCache() {
 		ingredientListCached = null;
+		lastResult = null;
+		recentResults.clear();
+		cancelPendingFilter();
 	}
 
 	public void rebuildItemFilter() {
-		this.invalidateCache();
 		Collection<IListElement<?>> ingredients = this.elementSearch.getAllIngredients();
-		this.elementSearch = createElementSearch(this.clientConfig, this.elementPrefixParser);
 		List<IListElementInfo<?>> elementInfos = IngredientListElementFactory.rebuildList(ingredientManager, ingredients, modIdHelper);
-		this.elementSearch.addAll(elementInfos);
+		// build the new search completely before publishing it
+		IElementSearch elementSearch = createElementSearch();
+		elementSearch.addAll(elementInfos);
+		boolean presorted = isPresorted(elementSearch);
+		lockSearch();
+		try {
+			this.elementSearch = elementSearch;
+			this.presorted = presorted;
+		} finally {
+			searchLock.unlock();
+		}
+		this.elementUidIndex = null;
+		// cached results hold element indexes from the old search
+		this.invalidateCache();
 	}
 
 	public <V> Optional<IListElement<V>> searchForMatchingElement(
 		IIngredientHelper<V> ingredientHelper,
 		ITypedIngredient<V> typedIngredient
 	) {
-		V ingredient = typedIngredient.getIngredient();
-		IIngredientType<V> type = typedIngredient.getType();
-		Function<ITypedIngredient<V>, Object> uidFunction = (i) -> ingredientHelper.getUid(i, UidContext.Ingredient);
-		Object ingredientUid = uidFunction.apply(typedIngredient);
-		String lowercaseDisplayName = DisplayNameUtil.getLowercaseDisplayNameForSearch(ingredient, ingredientHelper);
-
-		ElementPrefixParser.TokenInfo tokenInfo = new ElementPrefixParser.TokenInfo(lowercaseDisplayName, ElementPrefixParser.NO_PREFIX);
-		return this.elementSearch.getSearchResults(tokenInfo)
-			.stream()
-			.map(elementInfo -> checkForMatch(elementInfo, type, ingredientUid, uidFunction))
-			.flatMap(Optional::stream)
-			.findFirst();
+		return getElementUidIndex().get(ingredientHelper, typedIngredient);
+	}
+
+	private ElementUidIndex getElementUidIndex() {
+		ElementUidIndex elementUidIndex = this.elementUidIndex;
+		if (elementUidIndex == null) {
+			elementUidIndex = new ElementUidIndex(ingredientManager);
+			IElementSearch elementSearch = this.elementSearch;
+			int count = elementSearch.getElementCount();
+			for (int i = 0; i < count; i++) {
+				elementUidIndex.add(elementSearch.getElement(i));
+			}
+			this.elementUidIndex = elementUidIndex;
+		}
+		return elementUidIndex;
 	}
 
 	@Override
@@ -155,15 +250,23 @@ public class IngredientFilter implements
 
 	public void updateHidden() {
 		boolean changed = false;
-		for (IListElement<?> element : this.elementSearch.getAllIngredients()) {
-			changed |= updateHiddenState(element);
+		lockSearch();
+		try {
+			for (IListElement<?> element : this.elementSearch.getAllIngredients()) {
+				changed |= updateHiddenState(element);
+			}
+		} finally {
+			searchLock.unlock();
 		}
 		if (changed) {
-			ingredientListCached = null;
+			invalidateCache();
 			notifyListenersOfChange();
 		}
 	}
 
+	/**
+	 * The caller must hold the search lock once a background filter can be running.
+	 */
 	public <V> boolean updateHiddenState(IListElement<V> element) {
 		ITypedIngredient<V> typedIngredient = element.getTypedIngredient();
 		boolean visible = this.ingredientVisibility.isIngredientVisible(typedIngredient);
@@ -181,26 +284,104 @@ public class IngredientFilter implements
 		searchForMatchingElement(ingredientHelper, ingredient)
 			.ifPresent(element -> {
 				if (element.isVisible() != visible) {
-					element.setVisible(visible);
+					lockSearch();
+					try {
+						element.setVisible(visible);
+					} finally {
+						searchLock.unlock();
+					}
+					invalidateCache();
 					notifyListenersOfChange();
 				}
 			});
 	}
 
+	/**
+	 * When background searching is enabled, this can return the previous results while the new ones are found.
+	 * Listeners are notified on the client thread once they are ready.
+	 */
 	@Override
 	public List<IElement<?>> getElements() {
+		return getElements(clientConfig.isAsyncSearchEnabled());
+	}
+
+	private List<IElement<?>> getElements(boolean allowAsync) {
 		String filterText = this.filterTextSource.getFilterText();
 		filterText = filterText.toLowerCase();
 		if (ingredientListCached == null) {
-			ingredientListCached = getIngredientListUncached(filterText)
-				.<IElement<?>>map(IngredientElement::new)
-				.toList();
+			FilterResult result = recentResults.get(filterText);
+			if (result == null) {
+				if (allowAsync && displayedList != null) {
+					startPendingFilter(filterText);
+					return displayedList;
+				}
+				result = getFilterResult(lastResult, filterText);
+				recentResults.put(filterText, result);
+			}
+			setFilterResult(result);
 		}
 		return ingredientListCached;
 	}
 
+	private void setFilterResult(FilterResult result) {
+		cancelPendingFilter();
+		lastResult = result;
+		ingredientListCached = result.ingredientElements();
+		displayedList = ingredientListCached;
+	}
+
+	private void startPendingFilter(String filterText) {
+		if (pendingFilter != null) {
+			if (pendingFilter.filterText().equals(filterText)) {
+				return;
+			}
+			cancelPendingFilter();
+		}
+
+		FilterResult previousResult = lastResult;
+		CompletableFuture<FilterResult> future = CompletableFuture.supplyAsync(() -> {
+			searchLock.lock();
+			try {
+				return getFilterResult(previousResult, filterText);
+			} finally {
+				searchLock.unlock();
+			}
+		}, FILTER_EXECUTOR);
+		PendingFilter pending = new PendingFilter(filterText, future);
+		this.pendingFilter = pending;
+		future.whenCompleteAsync((result, throwable) -> onPendingFilterComplete(pending, result, throwable), Minecraft.getInstance());
+	}
+
+	private void onPendingFilterComplete(PendingFilter pending, @Nullable FilterResult result, @Nullable Throwable throwable) {
+		if (this.pendingFilter != pending) {
+			// a newer filter or an ingredient change replaced this one
+			return;
+		}
+		this.pendingFilter = null;
+		if (result == null) {
+			LOGGER.error("Failed to filter ingredients for \"{}\"", pending.filterText(), throwable);
+			return;
+		}
+		recentResults.put(result.filterText(), result);
+		if (ingredientListCached == null && result.filterText().equals(this.filterTextSource.getFilterText().toLowerCase())) {
+			setFilterResult(result);
+			notifyListenersOfChange();
+		}
+	}
+
+	/**
+	 * A filter that has not started yet is skipped entirely, a running one finishes and its result is ignored.
+	 * Use {@link #lockSearch()} to also wait for a running one before changing the search.
+	 */
+	private void cancelPendingFilter() {
+		if (pendingFilter != null) {
+			pendingFilter.future().cancel(false);
+			pendingFilter = null;
+		}
+	}
+
 	public <T> List<T> getFilteredIngredients(IIngredientType<T> ingredientType) {
-		return getElements()
+		return getElements(false)
 			.stream()
 			.map(IElement::getTypedIngredient)
 			.map(i -> i.getIngredient(ingredientType))
@@ -208,47 +389,108 @@ public class IngredientFilter implements
 			.toList();
 	}
 
-	private Stream<ITypedIngredient<?>> getIngredientListUncached(String filterText) {
+	/**
+	 * Finds the results for the filter text without touching any cache state, so it can run on the filter thread.
+	 */
+	private FilterResult getFilterResult(@Nullable FilterResult previousResult, String filterText) {
+		if (previousResult != null && canRefine(previousResult, filterText)) {
+			return refineFilterResult(previousResult, filterText);
+		}
+		return createFilterResult(filterText);
+	}
+
+	/**
+	 * Typing more text can only narrow the results, as long as the text has no "|" (which adds results)
+	 * and no "-" (which removes fewer results as the excluded token gets longer).
+	 * Typo tolerant search allows more typos in longer words, so it can find new results as text is typed.
+	 */
+	private boolean canRefine(FilterResult previousResult, String filterText) {
+		return !config.getSearchTypoTolerant() &&
+			filterText.startsWith(previousResult.filterText()) &&
+			filterText.indexOf('|') < 0 &&
+			filterText.indexOf('-') < 0 &&
+			previousResult.searchTokens().size() <= 1;
+	}
+
+	/**
+	 * Filters the previous results, which are already visible and sorted,
+	 * by only the tokens that changed since the previous filter text.
+	 */
+	private FilterResult refineFilterResult(FilterResult previousResult, String filterText) {
+		SearchTokens searchTokens = parseSearchTokens(filterText);
+		Set<ElementPrefixParser.TokenInfo> previousTokens = previousResult.searchTokens().stream()
+			.flatMap(s -> s.toSearch().stream())
+			.collect(Collectors.toSet());
+
+		List<ElementPrefixParser.TokenInfo> changedTokens = searchTokens.toSearch().stream()
+			.filter(tokenInfo -> !previousTokens.contains(tokenInfo))
+			.toList();
+
+		int[] sortedIndexes = previousResult.sortedIndexes();
+		if (!changedTokens.isEmpty()) {
+			BitSet results = intersection(changedTokens);
+			sortedIndexes = Arrays.stream(sortedIndexes)
+				.filter(results::get)
+				.toArray();
+		}
+		List<SearchTokens> searchTokensList = searchTokens.isEmpty() ? List.of() : List.of(searchTokens);
+		return createFilterResult(filterText, searchTokensList, sortedIndexes);
+	}
+
+	private FilterResult createFilterResult(String filterText) {
 		String[] filters = filterText.split("\\|");
 		List<SearchTokens> searchTokens = Arrays.stream(filters)
 			.map(this::parseSearchTokens)
 			.filter(s -> !s.isEmpty())
 			.toList();
 
-		Stream<IListElement<?>> elementStream;
+		BitSet results;
 		if (searchTokens.isEmpty()) {
-			elementStream = this.elementSearch.getAllIngredients()
-				.parallelStream();
+			results = getAllResults();
 		} else {
-			elementStream = searchTokens.stream()
-				.map(this::getSearchResults)
-				.flatMap(Set::stream)
-				.distinct();
+			results = new BitSet(this.elementSearch.getElementCount());
+			for (SearchTokens tokens : searchTokens) {
+				results.or(getSearchResults(tokens));
+			}
 		}
 
-		return elementStream
-			.filter(IListElement::isVisible)
-			.sorted(ingredientComparator)
-			.map(IListElement::getTypedIngredient);
+		IElementSearch elementSearch = this.elementSearch;
+		int[] sortedIndexes = results.stream()
+			.filter(index -> elementSearch.getElement(index).isVisible())
+			.toArray();
+		if (!presorted) {
+			IntArrays.parallelQuickSort(sortedIndexes, (a, b) -> ingredientComparator.compare(elementSearch.getElement(a), elementSearch.getElement(b)));
+		}
+		return createFilterResult(filterText, searchTokens, sortedIndexes);
 	}
 
-	private static <T> Optional<IListElement<T>> checkForMatch(IListElement<?> element, IIngredientType<T> ingredientType, Object uid, Function<ITypedIngredient<T>, Object> uidFunction) {
-		return optionalCast(element, ingredientType)
-			.filter(cast -> {
-				ITypedIngredient<T> typedIngredient = cast.getTypedIngredient();
-				Object elementUid = uidFunction.apply(typedIngredient);
-				return uid.equals(elementUid);
-			});
+	private FilterResult createFilterResult(String filterText, List<SearchTokens> searchTokens, int[] sortedIndexes) {
+		List<IElement<?>> ingredientElements = Arrays.stream(sortedIndexes)
+			.mapToObj(this.elementSearch::getElement)
+			.<IElement<?>>map(element -> new IngredientElement<>(element.getTypedIngredient()))
+			.toList();
+		return new FilterResult(filterText, searchTokens, sortedIndexes, ingredientElements);
 	}
 
-	private static <T> Optional<IListElement<T>> optionalCast(IListElement<?> element, IIngredientType<T> ingredientType) {
-		ITypedIngredient<?> typedIngredient = element.getTypedIngredient();
-		if (typedIngredient.getType() == ingredientType) {
-			@SuppressWarnings("unchecked")
-			IListElement<T> cast = (IListElement<T>) element;
-			return Optional.of(cast);
+	/**
+	 * Ingredients are sorted before they are added to the filter, so the search usually indexes them in sorted order.
+	 * Checking that once here lets every query skip its sort.
+	 */
+	private boolean isPresorted(IElementSearch elementSearch) {
+		int count = elementSearch.getElementCount();
+		for (int i = 1; i < count; i++) {
+			if (ingredientComparator.compare(elementSearch.getElement(i - 1), elementSearch.getElement(i)) > 0) {
+				LOGGER.debug("Ingredients are not in sorted order, search results will be sorted for each query.");
+				return false;
+			}
 		}
-		return Optional.empty();
+		return true;
+	}
+
+	private BitSet getAllResults() {
+		BitSet results = new BitSet(this.elementSearch.getElementCount());
+		results.set(0, this.elementSearch.getElementCount());
+		return results;
 	}
 
 	@Override
@@ -257,7 +499,12 @@ public class IngredientFilter implements
 			Optional<IListElement<V>> matchingElementOptional = searchForMatchingElement(ingredientHelper, value);
 			if (matchingElementOptional.isPresent()) {
 				IListElement<V> matchingElement = matchingElementOptional.get();
-				updateHiddenState(matchingElement);
+				lockSearch();
+				try {
+					updateHiddenState(matchingElement);
+				} finally {
+					searchLock.unlock();
+				}
 				if (DebugConfig.isDebugModeEnabled()) {
 					LOGGER.debug("Updated ingredient: {}", ingredientHelper.getErrorInfo(value.getIngredient()));
 				}
@@ -286,13 +533,30 @@ public class IngredientFilter implements
 					LOGGER.debug("Removed ingredient: {}", ingredientHelper.getErrorInfo(typedIngredient.getIngredient()));
 				}
 				IListElement<V> matchingElement = matchingElementOptional.get();
-				matchingElement.setVisible(false);
+				lockSearch();
+				try {
+					matchingElement.setVisible(false);
+				} finally {
+					searchLock.unlock();
+				}
 			}
 		}
 
 		invalidateCache();
 	}
 
+	private record PendingFilter(String filterText, CompletableFuture<FilterResult> future) {}
+
+	/**
+	 * @param sortedIndexes the element indexes of the visible results, in sorted order
+	 */
+	private record FilterResult(
+		String filterText,
+		List<SearchTokens> searchTokens,
+		int[] sortedIndexes,
+		List<IElement<?>> ingredientElements
+	) {}
+
 	private record SearchTokens(List<ElementPrefixParser.TokenInfo> toSearch, List<ElementPrefixParser.TokenInfo> toRemove) {
 		public boolean isEmpty() {
 			return toSearch.isEmpty() && toRemove.isEmpty();
@@ -328,48 +592,47 @@ public class IngredientFilter implements
 		return searchTokens;
 	}
 
-	private Set<IListElement<?>> getSearchResults(SearchTokens searchTokens) {
-		List<Set<IListElement<?>>> resultsPerToken = searchTokens.toSearch.stream()
-			.map(this.elementSearch::getSearchResults)
-			.toList();
-		Set<IListElement<?>> results = intersection(resultsPerToken);
+	/**
+	 * Get the indexes of the elements matching every token to search, without the ones matching a token to remove.
+	 */
+	private BitSet getSearchResults(SearchTokens searchTokens) {
+		BitSet results = intersection(searchTokens.toSearch);
 
 		if (results.isEmpty() && !searchTokens.toRemove.isEmpty()) {
-			results.addAll(this.elementSearch.getAllIngredients());
+			results = getAllResults();
 		}
 
 		if (!results.isEmpty() && !searchTokens.toRemove.isEmpty()) {
 			for (ElementPrefixParser.TokenInfo tokenInfo : searchTokens.toRemove) {
-				Set<IListElement<?>> resultsToRemove = this.elementSearch.getSearchResults(tokenInfo);
-				results.removeAll(resultsToRemove);
+				BitSet resultsToRemove = this.elementSearch.getSearchResults(tokenInfo);
+				results.andNot(resultsToRemove);
 				if (results.isEmpty()) {
 					break;
 				}
 			}
 		}
 		return results;
-
 	}
 
 	/**
-	 * Get the elements that are contained in every set.
+	 * Get the indexes of the elements that match every token.
 	 */
-	private static <T> Set<T> intersection(List<Set<T>> sets) {
-		Set<T> smallestSet = sets.stream()
-			.min(Comparator.comparing(Set::size))
-			.orElseGet(Set::of);
-
-		Set<T> results = Collections.newSetFromMap(new IdentityHashMap<>());
-		results.addAll(smallestSet);
-
-		for (Set<T> set : sets) {
-			if (set == smallestSet) {
-				continue;
+	private BitSet intersection(List<ElementPrefixParser.TokenInfo> tokenInfos) {
+		BitSet results = null;
+		for (ElementPrefixParser.TokenInfo tokenInfo : tokenInfos) {
+			BitSet tokenResults = this.elementSearch.getSearchResults(tokenInfo);
+			if (results == null) {
+				results = tokenResults;
+			} else {
+				results.and(tokenResults);
 			}
-			if (results.retainAll(set) && results.isEmpty()) {
+			if (results.isEmpty()) {
 				break;
 			}
 		}
+		if (results == null) {
+			return new BitSet();
+		}
 		return results;
 	}
 
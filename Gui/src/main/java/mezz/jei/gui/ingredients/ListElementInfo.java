@@ -9,6 +9,7 @@ import mezz.jei.common.config.IIngredientFilterConfig;
 import mezz.jei.common.util.SafeIngredientUtil;
 import mezz.jei.common.util.StringUtil;
 import mezz.jei.common.util.Translator;
+import mezz.jei.core.util.StringPool;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.CreativeModeTabs;
@@ -21,7 +22,6 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -70,28 +70,30 @@ public class ListElementInfo<V> implements IListElementInfo<V> {
 		this.resourceLocation = ingredientHelper.getResourceLocation(ingredient);
 		String displayModId = ingredientHelper.getDisplayModId(ingredient);
 		String modId = this.resourceLocation.getNamespace();
+		// mod ids, mod names and many display names repeat across ingredients, so share one copy of each
 		if (modId.equals(displayModId)) {
-			this.modIds = List.of(modId);
-			this.modNames = List.of(modIdHelper.getModNameForModId(modId));
+			this.modIds = StringPool.internList(List.of(modId));
+			this.modNames = StringPool.internList(List.of(modIdHelper.getModNameForModId(modId)));
 		} else {
-			this.modIds = List.of(modId, displayModId);
-			this.modNames = List.of(
+			this.modIds = StringPool.internList(List.of(modId, displayModId));
+			this.modNames = StringPool.internList(List.of(
 				modIdHelper.getModNameForModId(modId),
 				modIdHelper.getModNameForModId(displayModId)
-			);
+			));
 		}
 
 		String displayNameLowercase = DisplayNameUtil.getLowercaseDisplayNameForSearch(ingredient, ingredientHelper);
 		Collection<String> aliases = ingredientManager.getIngredientAliases(value);
 		if (aliases.isEmpty()) {
-			this.names = List.of(displayNameLowercase);
+			this.names = List.of(StringPool.intern(displayNameLowercase));
 		} else {
-			this.names = new ArrayList<>(1 + aliases.size());
-			this.names.add(displayNameLowercase);
+			List<String> names = new ArrayList<>(1 + aliases.size());
+			names.add(displayNameLowercase);
 			for (String alias : aliases) {
 				String lowercaseAlias = Translator.toLowercaseWithLocale(alias);
-				this.names.add(lowercaseAlias);
+				names.add(lowercaseAlias);
 			}
+			this.names = StringPool.internList(names);
 		}
 	}
 
@@ -132,7 +134,12 @@ public class ListElementInfo<V> implements IListElementInfo<V> {
 		strings.remove(this.modIds.getFirst());
 		strings.remove(resourceLocation.getPath());
 
-		return strings;
+		// tooltip lines are kept by the search index and are often the same for many ingredients
+		Set<String> internedStrings = new HashSet<>(strings.size());
+		for (String string : strings) {
+			internedStrings.add(StringPool.intern(string));
+		}
+		return internedStrings;
 	}
 
 	@Override
@@ -174,7 +181,9 @@ public class ListElementInfo<V> implements IListElementInfo<V> {
 				String name = itemGroup.getDisplayName().getString();
 				name = StringUtil.removeChatFormatting(name);
 				name = Translator.toLowercaseWithLocale(name);
-				Collections.addAll(creativeTabStrings, name.split(" "));
+				for (String word : name.split(" ")) {
+					creativeTabStrings.add(StringPool.intern(word));
+				}
 			}
 		}
 		return creativeTabStrings;
@@ -0,0 +1,286 @@
+package mezz.jei.gui.recipes;
+
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import mezz.jei.api.constants.VanillaTypes;
+import mezz.jei.api.helpers.IStackHelper;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.recipe.IRecipeManager;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.category.IRecipeCategory;
+import mezz.jei.api.recipe.transfer.IRecipeTransferHandler;
+import mezz.jei.api.recipe.transfer.IRecipeTransferInfo;
+import mezz.jei.common.transfer.IBasicRecipeTransferHandler;
+import mezz.jei.common.transfer.InventorySnapshot;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.ItemStack;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks recipes by how much of each one can be crafted with the items that an {@link IBasicRecipeTransferHandler} would use,
+ * straight from the ingredients of the recipe's input slots, without creating recipe layouts or simulating transfers.
+ * <p>
+ * Only the recipe slots and inventory slots from the handler's {@link IRecipeTransferInfo} are counted,
+ * and items are taken for each input slot the same way the transfer picks them.
+ * Like the transfer, input slots without any items (like fluid slots) are counted as missing.
+ * <p>
+ * Reading a recipe's slots calls its category's setRecipe, which is only safe on the client thread,
+ * so the recipes are ranked a few at a time with {@link #rankRecipes(int)}.
+ */
+public class RecipeCraftabilityEvaluator<C extends AbstractContainerMenu, T> {
+	private static final Logger LOGGER = LogManager.getLogger();
+
+	private final IRecipeManager recipeManager;
+	private final IStackHelper stackHelper;
+	private final IRecipeCategory<T> recipeCategory;
+	private final IRecipeTransferInfo<C, T> transferInfo;
+	private final C container;
+	private final Player player;
+	private final Iterator<T> recipeIterator;
+	private final List<RankedRecipe<T>> rankedRecipes = new ArrayList<>();
+
+	private List<Slot> lastRecipeSlots = List.of();
+	private List<Slot> lastInventorySlots = List.of();
+	private @Nullable SlotInventory lastSlotInventory;
+
+	/**
+	 * Returns an evaluator for the recipes if the container's transfer handler is an {@link IBasicRecipeTransferHandler},
+	 * or null if the recipes can only be ranked by simulating their transfers.
+	 */
+	@Nullable
+	public static <C extends AbstractContainerMenu, T> RecipeCraftabilityEvaluator<C, T> create(
+		IRecipeManager recipeManager,
+		IStackHelper stackHelper,
+		IRecipeCategory<T> recipeCategory,
+		IRecipeTransferHandler<C, T> recipeTransferHandler,
+		C container,
+		Player player,
+		List<T> recipes
+	) {
+		if (recipeTransferHandler instanceof IBasicRecipeTransferHandler<C, T> basicRecipeTransferHandler) {
+			IRecipeTransferInfo<C, T> transferInfo = basicRecipeTransferHandler.getTransferInfo();
+			return new RecipeCraftabilityEvaluator<>(recipeManager, stackHelper, recipeCategory, transferInfo, container, player, recipes);
+		}
+		return null;
+	}
+
+	private RecipeCraftabilityEvaluator(
+		IRecipeManager recipeManager,
+		IStackHelper stackHelper,
+		IRecipeCategory<T> recipeCategory,
+		IRecipeTransferInfo<C, T> transferInfo,
+		C container,
+		Player player,
+		List<T> recipes
+	) {
+		this.recipeManager = recipeManager;
+		this.stackHelper = stackHelper;
+		this.recipeCategory = recipeCategory;
+		this.transferInfo = transferInfo;
+		this.container = container;
+		this.player = player;
+		this.recipeIterator = recipes.iterator();
+	}
+
+	/**
+	 * Ranks up to the given number of recipes.
+	 * Returns true when every recipe has been ranked.
+	 */
+	public boolean rankRecipes(int count) {
+		// the inventory may have changed since the last tick
+		lastSlotInventory = null;
+		for (int i = 0; i < count && recipeIterator.hasNext(); i++) {
+			T recipe = recipeIterator.next();
+			int rank;
+			try {
+				rank = getCraftabilityRank(recipe);
+			} catch (RuntimeException | LinkageError e) {
+				LOGGER.error("Failed to check if recipe can be crafted: {}", recipe, e);
+				rank = 0;
+			}
+			rankedRecipes.add(new RankedRecipe<>(recipe, rank));
+		}
+		return !recipeIterator.hasNext();
+	}
+
+	/**
+	 * Returns the ranked recipes with the completely craftable ones first, in their original order,
+	 * followed by the rest ordered by the percentage of their inputs that are available.
+	 */
+	public List<T> getSortedRecipes() {
+		List<RankedRecipe<T>> sortedRankedRecipes = new ArrayList<>(rankedRecipes);
+		// stable sort, so recipes with the same rank keep their order
+		sortedRankedRecipes.sort(Comparator.comparingInt(RankedRecipe::rank));
+
+		List<T> sortedRecipes = new ArrayList<>(sortedRankedRecipes.size());
+		for (RankedRecipe<T> rankedRecipe : sortedRankedRecipes) {
+			sortedRecipes.add(rankedRecipe.recipe());
+		}
+		return sortedRecipes;
+	}
+
+	/**
+	 * Lower ranks are more craftable.
+	 * Completely craftable recipes come first, then the rest by the percentage of their input slots that can be filled.
+	 * Recipes that the transfer would refuse for another reason get the same rank as recipes with nothing available.
+	 */
+	private int getCraftabilityRank(T recipe) {
+		if (!transferInfo.canHandle(container, recipe)) {
+			return 0;
+		}
+		List<Slot> recipeSlots = transferInfo.getRecipeSlots(container, recipe);
+		List<Slot> inventorySlots = transferInfo.getInventorySlots(container, recipe);
+		SlotInventory slotInventory = getSlotInventory(recipeSlots, inventorySlots);
+		if (slotInventory == null) {
+			return 0;
+		}
+
+		List<List<ITypedIngredient<?>>> inputSlots = recipeManager.getRecipeSlotIngredients(recipeCategory, recipe, RecipeIngredientRole.INPUT);
+		if (inputSlots.size() > recipeSlots.size() || !slotInventory.hasRoom(inputSlots.size())) {
+			return 0;
+		}
+
+		InventorySnapshot inventorySnapshot = slotInventory.snapshot();
+		int ingredientCount = 0;
+		int missingCount = 0;
+		Object2IntMap<Object> usedCounts = new Object2IntOpenHashMap<>();
+		for (List<ITypedIngredient<?>> inputSlot : inputSlots) {
+			if (inputSlot.isEmpty()) {
+				continue;
+			}
+			ingredientCount++;
+			List<Object> uids = getItemUids(inputSlot);
+			Object uid = takeItem(inventorySnapshot, uids, usedCounts);
+			if (uid == null) {
+				missingCount++;
+			} else {
+				usedCounts.mergeInt(uid, 1, Integer::sum);
+			}
+		}
+
+		if (missingCount == 0) {
+			return Integer.MIN_VALUE;
+		}
+		int matchCount = ingredientCount - missingCount;
+		int matchPercent = 100 * matchCount / ingredientCount;
+		return -matchPercent;
+	}
+
+	/**
+	 * Transfer infos almost always return the same slots for every recipe,
+	 * so during one tick the inventory is only read again when the slots change.
+	 */
+	@Nullable
+	private SlotInventory getSlotInventory(List<Slot> recipeSlots, List<Slot> inventorySlots) {
+		SlotInventory slotInventory = lastSlotInventory;
+		if (slotInventory == null || !recipeSlots.equals(lastRecipeSlots) || !inventorySlots.equals(lastInventorySlots)) {
+			slotInventory = SlotInventory.create(recipeSlots, inventorySlots, player, stackHelper);
+			lastRecipeSlots = List.copyOf(recipeSlots);
+			lastInventorySlots = List.copyOf(inventorySlots);
+			lastSlotInventory = slotInventory;
+		}
+		if (!slotInventory.valid()) {
+			return null;
+		}
+		return slotInventory;
+	}
+
+	private List<Object> getItemUids(List<ITypedIngredient<?>> inputSlot) {
+		List<Object> uids = new ArrayList<>(inputSlot.size());
+		for (ITypedIngredient<?> typedIngredient : inputSlot) {
+			ITypedIngredient<ItemStack> typedItemStack = typedIngredient.cast(VanillaTypes.ITEM_STACK);
+			if (typedItemStack != null) {
+				uids.add(stackHelper.getUidForStack(typedItemStack, UidContext.Ingredient));
+			}
+		}
+		return uids;
+	}
+
+	/**
+	 * Like a recipe transfer, this prefers the item that the inventory has the most of
+	 * (or the one in the lowest slot when the counts are equal), and moves on if it has all been used.
+	 * Returns the uid of the item that was taken, or null if none are left.
+	 */
+	@Nullable
+	private static Object takeItem(InventorySnapshot inventorySnapshot, List<Object> uids, Object2IntMap<Object> usedCounts) {
+		Object bestUid = null;
+		int bestCount = 0;
+		int bestSlotIndex = Integer.MAX_VALUE;
+		for (Object uid : uids) {
+			int count = inventorySnapshot.getCount(uid);
+			if (count <= usedCounts.getInt(uid)) {
+				continue;
+			}
+			int slotIndex = getLowestSlotIndex(inventorySnapshot.getSlotIndexes(uid));
+			if (count > bestCount || (count == bestCount && slotIndex < bestSlotIndex)) {
+				bestUid = uid;
+				bestCount = count;
+				bestSlotIndex = slotIndex;
+			}
+		}
+		return bestUid;
+	}
+
+	private static int getLowestSlotIndex(IntSet slotIndexes) {
+		int lowest = Integer.MAX_VALUE;
+		for (int slotIndex : slotIndexes) {
+			lowest = Math.min(lowest, slotIndex);
+		}
+		return lowest;
+	}
+
+	/**
+	 * The items that a transfer could use, from the recipe slots and inventory slots of the transfer info.
+	 *
+	 * @param valid false if the player can not move items out of one of the slots, so the transfer would fail
+	 */
+	private record SlotInventory(InventorySnapshot snapshot, int filledRecipeSlotCount, int emptySlotCount, boolean valid) {
+		public static SlotInventory create(List<Slot> recipeSlots, List<Slot> inventorySlots, Player player, IStackHelper stackHelper) {
+			Map<Slot, ItemStack> availableItemStacks = new HashMap<>();
+			int filledRecipeSlotCount = 0;
+			int emptySlotCount = 0;
+			boolean valid = true;
+			for (Slot slot : recipeSlots) {
+				ItemStack stack = slot.getItem();
+				if (!stack.isEmpty()) {
+					valid &= slot.allowModification(player);
+					filledRecipeSlotCount++;
+					availableItemStacks.put(slot, stack);
+				}
+			}
+			for (Slot slot : inventorySlots) {
+				ItemStack stack = slot.getItem();
+				if (!stack.isEmpty()) {
+					valid &= slot.allowModification(player);
+					availableItemStacks.put(slot, stack);
+				} else {
+					emptySlotCount++;
+				}
+			}
+			InventorySnapshot snapshot = InventorySnapshot.of(availableItemStacks, stackHelper);
+			return new SlotInventory(snapshot, filledRecipeSlotCount, emptySlotCount, valid);
+		}
+
+		/**
+		 * Matches the transfer's check that there is enough inventory space to shuffle items around.
+		 */
+		public boolean hasRoom(int inputCount) {
+			return filledRecipeSlotCount - inputCount <= emptySlotCount;
+		}
+	}
+
+	private record RankedRecipe<T>(T recipe, int rank) {}
+}
@@ -5,6 +5,8 @@ import com.mojang.blaze3d.systems.RenderSystem;
 import mezz.jei.api.gui.IRecipeLayoutDrawable;
 import mezz.jei.api.gui.inputs.IJeiInputHandler;
 import mezz.jei.api.gui.inputs.RecipeSlotUnderMouse;
+import mezz.jei.common.gui.IBatchedRecipeLayoutDrawable;
+import mezz.jei.common.gui.IngredientBatch;
 import mezz.jei.common.util.ImmutableRect2i;
 import mezz.jei.gui.input.ClickableIngredientInternal;
 import mezz.jei.gui.input.IClickableIngredientInternal;
@@ -29,6 +31,7 @@ import java.util.stream.Stream;
 
 public class RecipeGuiLayouts {
 	private final List<RecipeLayoutWithButtons<?>> recipeLayoutsWithButtons = new ArrayList<>();
+	private final IngredientBatch ingredientBatch = new IngredientBatch();
 	@Nullable
 	private IUserInputHandler cachedInputHandler;
 
@@ -183,12 +186,26 @@ public class RecipeGuiLayouts {
 		DeltaTracker deltaTracker = minecraft.getTimer();
 		float partialTicks = deltaTracker.getGameTimeDeltaPartialTick(false);
 
+		// draw the ingredients of every recipe on the page together, in between the parts of the recipes below and above them
 		for (RecipeLayoutWithButtons<?> recipeLayoutWithButtons : recipeLayoutsWithButtons) {
 			IRecipeLayoutDrawable<?> recipeLayout = recipeLayoutWithButtons.recipeLayout();
 			if (recipeLayout.isMouseOver(mouseX, mouseY)) {
 				hoveredLayout = recipeLayout;
 			}
-			recipeLayout.drawRecipe(guiGraphics, mouseX, mouseY);
+			if (recipeLayout instanceof IBatchedRecipeLayoutDrawable batchedRecipeLayout) {
+				batchedRecipeLayout.drawRecipeBelowIngredients(guiGraphics, mouseX, mouseY, ingredientBatch);
+			} else {
+				recipeLayout.drawRecipe(guiGraphics, mouseX, mouseY);
+			}
+		}
+
+		ingredientBatch.render(guiGraphics);
+
+		for (RecipeLayoutWithButtons<?> recipeLayoutWithButtons : recipeLayoutsWithButtons) {
+			IRecipeLayoutDrawable<?> recipeLayout = recipeLayoutWithButtons.recipeLayout();
+			if (recipeLayout instanceof IBatchedRecipeLayoutDrawable batchedRecipeLayout) {
+				batchedRecipeLayout.drawRecipeAboveIngredients(guiGraphics, mouseX, mouseY);
+			}
 
 			RecipeTransferButton transferButton = recipeLayoutWithButtons.transferButton();
 			transferButton.draw(guiGraphics, mouseX, mouseY, partialTicks);
@@ -261,8 +261,8 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 
 	@Override
 	public boolean hasMultiplePages() {
-		List<?> recipes = state.getFocusedRecipes().getRecipes();
-		return recipes.size() > state.getRecipesPerPage();
+		IFocusedRecipes<?> focusedRecipes = state.getFocusedRecipes();
+		return focusedRecipes.hasMoreRecipesThan(state.getRecipesPerPage());
 	}
 
 	@Override
@@ -291,8 +291,15 @@ public class RecipeGuiLogic implements IRecipeGuiLogic {
 
 	@Override
 	public String getPageString() {
-		int pageIndex = MathUtil.divideCeil(state.getRecipeIndex() + 1, state.getRecipesPerPage());
-		return pageIndex + "/" + state.pageCount();
+		int recipesPerPage = state.getRecipesPerPage();
+		int pageIndex = MathUtil.divideCeil(state.getRecipeIndex() + 1, recipesPerPage);
+		IFocusedRecipes<?> focusedRecipes = state.getFocusedRecipes();
+		if (focusedRecipes.hasFoundAllRecipes()) {
+			return pageIndex + "/" + state.pageCount();
+		}
+		// counting the pages would find every recipe, so only show the pages found so far
+		int foundPageCount = MathUtil.divideCeil(focusedRecipes.getFoundRecipeCount(), recipesPerPage);
+		return pageIndex + "/" + Math.max(pageIndex, foundPageCount) + "+";
 	}
 
 	@Override
@@ -37,6 +37,9 @@ public interface IRecipeLayoutList {
 
 	int size();
 
+	/**
+	 * Returns the results in the given range, or fewer if the list ends before {@code to}.
+	 */
 	List<RecipeLayoutWithButtons<?>> subList(int from, int to);
 
 	Optional<RecipeLayoutWithButtons<?>> findFirst();
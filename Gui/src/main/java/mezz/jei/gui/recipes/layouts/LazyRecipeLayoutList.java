@@ -1,10 +1,12 @@
 package mezz.jei.gui.recipes.layouts;
 
 import mezz.jei.api.gui.IRecipeLayoutDrawable;
+import mezz.jei.api.helpers.IStackHelper;
 import mezz.jei.api.recipe.IFocusGroup;
 import mezz.jei.api.recipe.IRecipeManager;
 import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.recipe.category.IRecipeCategory;
+import mezz.jei.api.recipe.transfer.IRecipeTransferHandler;
 import mezz.jei.api.recipe.transfer.IRecipeTransferManager;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.api.runtime.IJeiRuntime;
@@ -13,6 +15,7 @@ import mezz.jei.common.config.RecipeSorterStage;
 import mezz.jei.gui.bookmarks.BookmarkList;
 import mezz.jei.gui.bookmarks.RecipeBookmark;
 import mezz.jei.gui.recipes.RecipeBookmarkButton;
+import mezz.jei.gui.recipes.RecipeCraftabilityEvaluator;
 import mezz.jei.gui.recipes.RecipeLayoutWithButtons;
 import mezz.jei.gui.recipes.RecipeSortUtil;
 import mezz.jei.gui.recipes.RecipeTransferButton;
@@ -24,24 +27,42 @@ import net.minecraft.world.inventory.AbstractContainerMenu;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
 public class LazyRecipeLayoutList<T> implements IRecipeLayoutList {
+	private static final int RECIPES_RANKED_PER_TICK = 100;
+
 	private final IRecipeManager recipeManager;
 	private final IRecipeCategory<T> recipeCategory;
 	private final RecipesGui recipesGui;
 	private final IFocusGroup focusGroup;
 	private final List<RecipeLayoutWithButtons<?>> results;
-	private final List<RecipeLayoutWithButtons<?>> craftMissing;
-	private final Iterator<T> unsortedIterator;
-	private final int size;
-
-	private final boolean matchingCraftable;
+	private final List<RecipeLayoutWithButtons<T>> craftMissing;
+	/**
+	 * The recipes that were added to the results while the ranking was not ready yet.
+	 */
+	private final Set<T> resultsBeforeRanking = Collections.newSetFromMap(new IdentityHashMap<>());
+	/**
+	 * Layouts that were created while the ranking was not ready yet, to reuse once they are reached in the ranked order.
+	 */
+	private final Map<T, RecipeLayoutWithButtons<T>> unusedLayouts = new IdentityHashMap<>();
+	private final List<T> allRecipes;
 	private final BookmarkList bookmarkList;
 
+	private Iterator<T> recipeIterator;
+	private boolean matchingCraftable;
+	/**
+	 * Ranks a page of recipes on each tick, or is null when there is nothing left to rank.
+	 * Until the ranking is ready, results are found by checking each recipe's transfer button as they are needed.
+	 */
+	private @Nullable RecipeCraftabilityEvaluator<?, T> craftabilityEvaluator;
+
 	public LazyRecipeLayoutList(
 		Set<RecipeSorterStage> recipeSorterStages,
 		@Nullable AbstractContainerMenu container,
@@ -61,35 +82,51 @@ public class LazyRecipeLayoutList<T> implements IRecipeLayoutList {
 		this.craftMissing = new ArrayList<>();
 		this.recipeCategory = selectedRecipes.getRecipeCategory();
 
+		// the recipes are found lazily, so only count them when the size is needed
 		List<T> recipes = selectedRecipes.getRecipes();
-		this.size = recipes.size();
+		this.allRecipes = recipes;
 
-		if (matchingCraftable && container != null) {
-			IRecipeTransferManager recipeTransferManager = Internal.getJeiRuntime().getRecipeTransferManager();
-			this.matchingCraftable = recipeTransferManager.getRecipeTransferHandler(container, recipeCategory).isPresent();
-		} else {
-			this.matchingCraftable = false;
-		}
-
-		if (matchingBookmarks) {
+		RecipeType<T> recipeType = recipeCategory.getRecipeType();
+		if (matchingBookmarks && bookmarkList.hasRecipeBookmarks(recipeType)) {
 			// if bookmarks go first, start by grabbing all the bookmarked elements, it's relatively cheap
-			RecipeType<T> recipeType = recipeCategory.getRecipeType();
-
-			recipes = new ArrayList<>(recipes);
-			Iterator<T> iterator = recipes.iterator();
-			while (iterator.hasNext()) {
-				T recipe = iterator.next();
+			List<T> unbookmarkedRecipes = new ArrayList<>();
+			for (T recipe : recipes) {
 				RecipeBookmark<T, ?> recipeBookmark = bookmarkList.getMatchingBookmark(recipeType, recipe);
 				if (recipeBookmark != null) {
 					IRecipeLayoutDrawable<T> recipeLayout = recipeManager.createRecipeLayoutDrawableOrShowError(recipeCategory, recipe, focusGroup);
 					RecipeLayoutWithButtons<T> recipeLayoutWithButtons = createRecipeLayoutWithButtons(recipeLayout, recipeBookmark, bookmarkList, recipesGui, container);
 					results.add(recipeLayoutWithButtons);
-					iterator.remove();
+				} else {
+					unbookmarkedRecipes.add(recipe);
 				}
 			}
+			recipes = unbookmarkedRecipes;
+		}
+
+		if (matchingCraftable && container != null) {
+			IJeiRuntime jeiRuntime = Internal.getJeiRuntime();
+			IRecipeTransferManager recipeTransferManager = jeiRuntime.getRecipeTransferManager();
+			Optional<IRecipeTransferHandler<AbstractContainerMenu, T>> recipeTransferHandler = recipeTransferManager.getRecipeTransferHandler(container, recipeCategory);
+			this.matchingCraftable = recipeTransferHandler.isPresent();
+			Player player = Minecraft.getInstance().player;
+			if (recipeTransferHandler.isPresent() && player != null) {
+				// if craftables go first, rank the recipes from their ingredients on each tick, without creating any layouts
+				IStackHelper stackHelper = jeiRuntime.getJeiHelpers().getStackHelper();
+				this.craftabilityEvaluator = RecipeCraftabilityEvaluator.create(
+					recipeManager,
+					stackHelper,
+					recipeCategory,
+					recipeTransferHandler.get(),
+					container,
+					player,
+					recipes
+				);
+			}
+		} else {
+			this.matchingCraftable = false;
 		}
 
-		this.unsortedIterator = recipes.iterator();
+		this.recipeIterator = recipes.iterator();
 	}
 
 	private static <T> RecipeLayoutWithButtons<T> createRecipeLayoutWithButtons(
@@ -121,12 +158,16 @@ public class LazyRecipeLayoutList<T> implements IRecipeLayoutList {
 
 	@Override
 	public int size() {
-		return size;
+		return allRecipes.size();
 	}
 
 	@Override
 	public List<RecipeLayoutWithButtons<?>> subList(int from, int to) {
 		ensureResults(to - 1);
+		to = Math.min(to, results.size());
+		if (from >= to) {
+			return List.of();
+		}
 		return results.subList(from, to);
 	}
 
@@ -150,23 +191,59 @@ public class LazyRecipeLayoutList<T> implements IRecipeLayoutList {
 
 	@Override
 	public void tick(@Nullable AbstractContainerMenu container) {
-		calculateNextResult(container);
+		RecipeCraftabilityEvaluator<?, T> craftabilityEvaluator = this.craftabilityEvaluator;
+		if (craftabilityEvaluator == null) {
+			calculateNextResult(container);
+		} else if (craftabilityEvaluator.rankRecipes(RECIPES_RANKED_PER_TICK)) {
+			useRankedRecipes(craftabilityEvaluator.getSortedRecipes());
+		}
+	}
+
+	/**
+	 * Continues the results in the ranked order, skipping the recipes that are already in the results.
+	 * Those are the completely craftable recipes that were found before the ranking was ready,
+	 * and they come first in the ranked order too.
+	 */
+	private void useRankedRecipes(List<T> rankedRecipes) {
+		for (RecipeLayoutWithButtons<T> recipeLayoutWithButtons : craftMissing) {
+			T recipe = recipeLayoutWithButtons.recipeLayout().getRecipe();
+			unusedLayouts.put(recipe, recipeLayoutWithButtons);
+		}
+		craftMissing.clear();
+
+		List<T> remainingRecipes = new ArrayList<>(rankedRecipes.size());
+		for (T recipe : rankedRecipes) {
+			if (!resultsBeforeRanking.contains(recipe)) {
+				remainingRecipes.add(recipe);
+			}
+		}
+		resultsBeforeRanking.clear();
+
+		this.recipeIterator = remainingRecipes.iterator();
+		this.matchingCraftable = false;
+		this.craftabilityEvaluator = null;
 	}
 
 	private boolean calculateNextResult(@Nullable AbstractContainerMenu container) {
 		IJeiRuntime jeiRuntime = Internal.getJeiRuntime();
 		IIngredientManager ingredientManager = jeiRuntime.getIngredientManager();
 
-		while (unsortedIterator.hasNext()) {
-			T recipe = unsortedIterator.next();
-			IRecipeLayoutDrawable<T> recipeLayout = createRecipeLayout(recipe);
-			RecipeLayoutWithButtons<T> recipeLayoutWithButtons = createRecipeLayoutWithButtons(recipeLayout, ingredientManager, container);
-			RecipeTransferButton transferButton = recipeLayoutWithButtons.transferButton();
+		while (recipeIterator.hasNext()) {
+			T recipe = recipeIterator.next();
+			RecipeLayoutWithButtons<T> recipeLayoutWithButtons = unusedLayouts.remove(recipe);
+			if (recipeLayoutWithButtons == null) {
+				IRecipeLayoutDrawable<T> recipeLayout = createRecipeLayout(recipe);
+				recipeLayoutWithButtons = createRecipeLayoutWithButtons(recipeLayout, ingredientManager, container);
+			}
 
 			if (matchingCraftable) {
 				// if craftables go first, look for a 100% craftable element
+				RecipeTransferButton transferButton = recipeLayoutWithButtons.transferButton();
 				int missingCountHint = transferButton.getMissingCountHint();
 				if (missingCountHint == 0) {
+					if (craftabilityEvaluator != null) {
+						resultsBeforeRanking.add(recipe);
+					}
 					results.add(recipeLayoutWithButtons);
 					return true;
 				} else {
@@ -180,6 +257,7 @@ public class LazyRecipeLayoutList<T> implements IRecipeLayoutList {
 
 		// from here we're finished with calculating all the transfer handlers,
 		// just sort and add everything left to the results
+		craftabilityEvaluator = null;
 		if (!craftMissing.isEmpty()) {
 			craftMissing.sort(RecipeSortUtil.getCraftableComparator());
 			results.addAll(craftMissing);
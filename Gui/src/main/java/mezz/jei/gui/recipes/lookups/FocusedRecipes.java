@@ -3,11 +3,13 @@ package mezz.jei.gui.recipes.lookups;
 import mezz.jei.api.recipe.IFocusGroup;
 import mezz.jei.api.recipe.IRecipeManager;
 import mezz.jei.api.recipe.category.IRecipeCategory;
+import mezz.jei.core.collect.LazyList;
 
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public class FocusedRecipes<T> implements IFocusedRecipes<T> {
 	private final IRecipeManager recipeManager;
@@ -15,9 +17,10 @@ public class FocusedRecipes<T> implements IFocusedRecipes<T> {
 	private final IFocusGroup focuses;
 
 	/**
-	 * List of recipes for the currently selected recipeClass
+	 * List of recipes for the currently selected recipeClass.
+	 * Recipes are only looked up as they are read from the list.
 	 */
-	private @Nullable List<T> recipes;
+	private @Nullable LazyList<T> recipes;
 
 	public static <T> IFocusedRecipes<T> create(IFocusGroup focuses, IRecipeManager recipeManager, IRecipeCategory<T> recipeCategory) {
 		return new FocusedRecipes<>(focuses, recipeManager, recipeCategory);
@@ -38,11 +41,30 @@ public class FocusedRecipes<T> implements IFocusedRecipes<T> {
 	@Override
 	@Unmodifiable
 	public List<T> getRecipes() {
+		return getLazyRecipes();
+	}
+
+	@Override
+	public boolean hasMoreRecipesThan(int count) {
+		return getLazyRecipes().hasMoreThan(count);
+	}
+
+	@Override
+	public int getFoundRecipeCount() {
+		return getLazyRecipes().getLoadedCount();
+	}
+
+	@Override
+	public boolean hasFoundAllRecipes() {
+		return getLazyRecipes().isComplete();
+	}
+
+	private LazyList<T> getLazyRecipes() {
 		if (recipes == null) {
-			recipes = recipeManager.createRecipeLookup(recipeCategory.getRecipeType())
+			Stream<T> recipeStream = recipeManager.createRecipeLookup(recipeCategory.getRecipeType())
 				.limitFocus(focuses.getAllFocuses())
-				.get()
-				.toList();
+				.get();
+			recipes = LazyList.of(recipeStream);
 		}
 		return recipes;
 	}
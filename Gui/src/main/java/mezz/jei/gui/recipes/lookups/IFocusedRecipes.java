@@ -10,4 +10,25 @@ public interface IFocusedRecipes<T> {
 
 	@Unmodifiable
 	List<T> getRecipes();
+
+	/**
+	 * Returns true if there are more than the given number of recipes, without finding all of them.
+	 */
+	default boolean hasMoreRecipesThan(int count) {
+		return getRecipes().size() > count;
+	}
+
+	/**
+	 * Returns the number of recipes that have been found so far.
+	 */
+	default int getFoundRecipeCount() {
+		return getRecipes().size();
+	}
+
+	/**
+	 * Returns true if every recipe has been found, so {@link #getFoundRecipeCount()} is the total.
+	 */
+	default boolean hasFoundAllRecipes() {
+		return true;
+	}
 }
@@ -37,10 +37,7 @@ public interface ILookupState {
 	default List<RecipeLayoutWithButtons<?>> getVisible(IRecipeLayoutList recipes) {
 		final int recipesPerPage = getRecipesPerPage();
 		final int firstRecipeIndex = getRecipeIndex() - (getRecipeIndex() % recipesPerPage);
-		final int maxIndex = Math.min(recipes.size(), firstRecipeIndex + recipesPerPage);
-		if (firstRecipeIndex >= maxIndex) {
-			return List.of();
-		}
+		final int maxIndex = firstRecipeIndex + recipesPerPage;
 		return recipes.subList(firstRecipeIndex, maxIndex);
 	}
 }
@@ -92,9 +92,9 @@ public class IngredientLookupState implements ILookupState {
 
 	@Override
 	public void nextPage() {
-		int recipeCount = recipeCount();
 		this.recipeIndex = recipeIndex + recipesPerPage;
-		if (recipeIndex >= recipeCount) {
+		// only find recipes up to the next page, instead of counting all of them
+		if (!getFocusedRecipes().hasMoreRecipesThan(recipeIndex)) {
 			this.recipeIndex = 0;
 		}
 	}
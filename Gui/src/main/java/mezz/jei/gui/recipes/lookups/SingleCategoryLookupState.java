@@ -71,9 +71,9 @@ public class SingleCategoryLookupState implements ILookupState {
 
 	@Override
 	public void nextPage() {
-		int recipeCount = recipeCount();
 		this.recipeIndex = recipeIndex + recipesPerPage;
-		if (recipeIndex >= recipeCount) {
+		// only find recipes up to the next page, instead of counting all of them
+		if (!getFocusedRecipes().hasMoreRecipesThan(recipeIndex)) {
 			this.recipeIndex = 0;
 		}
 	}
@@ -5,12 +5,17 @@ import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
 import mezz.jei.api.helpers.IColorHelper;
 import mezz.jei.api.helpers.IModIdHelper;
 import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.config.IClientConfig;
 import mezz.jei.common.config.IIngredientFilterConfig;
 import mezz.jei.common.util.Translator;
+import mezz.jei.core.search.ISearchStorage;
 import mezz.jei.core.search.LimitedStringStorage;
 import mezz.jei.core.search.PrefixInfo;
 import mezz.jei.core.search.SearchMode;
+import mezz.jei.core.search.fuzzy.FuzzySearchStorage;
+import mezz.jei.core.search.suffixtree.CompactGeneralizedSuffixTree;
 import mezz.jei.core.search.suffixtree.GeneralizedSuffixTree;
+import mezz.jei.core.util.StringPool;
 import mezz.jei.gui.ingredients.IListElement;
 import mezz.jei.gui.ingredients.IListElementInfo;
 
@@ -18,57 +23,40 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.StreamSupport;
 
 public class ElementPrefixParser {
-	public static final PrefixInfo<IListElementInfo<?>, IListElement<?>> NO_PREFIX = new PrefixInfo<>(
-			'\0',
-			() -> SearchMode.ENABLED,
-			IListElementInfo::getNames,
-			GeneralizedSuffixTree::new
-	);
 	private static final Pattern SPACE_PATTERN = Pattern.compile("\\s");
 	private static final Pattern MOD_NAME_SEPARATOR_PATTERN = Pattern.compile("(?=[A-Z_-])|\\s+");
 
 	private final Char2ObjectMap<PrefixInfo<IListElementInfo<?>, IListElement<?>>> map = new Char2ObjectOpenHashMap<>();
+	private final PrefixInfo<IListElementInfo<?>, IListElement<?>> noPrefix;
+	private final Map<ModNamesKey, Set<String>> modNameStrings = new ConcurrentHashMap<>();
 
-	public ElementPrefixParser(IIngredientManager ingredientManager, IIngredientFilterConfig config, IColorHelper colorHelper, IModIdHelper modIdHelper) {
+	public ElementPrefixParser(IIngredientManager ingredientManager, IIngredientFilterConfig config, IClientConfig clientConfig, IColorHelper colorHelper, IModIdHelper modIdHelper) {
+		Supplier<ISearchStorage<IListElement<?>>> suffixTreeSupplier = () -> createSuffixTree(clientConfig);
+		this.noPrefix = new PrefixInfo<>(
+			'\0',
+			() -> SearchMode.ENABLED,
+			IListElementInfo::getNames,
+			() -> {
+				ISearchStorage<IListElement<?>> suffixTree = createSuffixTree(clientConfig);
+				if (config.getSearchTypoTolerant()) {
+					return new FuzzySearchStorage<>(suffixTree);
+				}
+				return suffixTree;
+			}
+		);
 		addPrefix(new PrefixInfo<>(
 			'@',
 			config::getModNameSearchMode,
-			info -> {
-				Set<String> modNames = new HashSet<>(info.getModNames());
-
-				if (config.getSearchModIds()) {
-					modNames.addAll(info.getModIds());
-				}
-
-				if (config.getSearchModAliases()) {
-					for (String modId : info.getModIds()) {
-						Set<String> modAliases = modIdHelper.getModAliases(modId);
-						modNames.addAll(modAliases);
-					}
-				}
-
-				if (config.getSearchShortModNames()) {
-					for (String modName : info.getModNames()) {
-						List<String> shortModNames = getShortModNames(modName);
-						modNames.addAll(shortModNames);
-					}
-				}
-
-				Set<String> sanitizedModNames = new HashSet<>();
-				for (String modName : modNames) {
-					modName = modName.toLowerCase();
-					modName = SPACE_PATTERN.matcher(modName).replaceAll("");
-					sanitizedModNames.add(modName);
-				}
-
-				return sanitizedModNames;
-			},
+			info -> getModNameStrings(info, config, modIdHelper),
 			LimitedStringStorage::new
 		));
 		addPrefix(new PrefixInfo<>(
@@ -81,7 +69,7 @@ public class ElementPrefixParser {
 			'$',
 			config::getTooltipSearchMode,
 			e -> e.getTooltipStrings(config, ingredientManager),
-			GeneralizedSuffixTree::new
+			suffixTreeSupplier
 		));
 		addPrefix(new PrefixInfo<>(
 			'%',
@@ -97,6 +85,7 @@ public class ElementPrefixParser {
 				return StreamSupport.stream(colors.spliterator(), false)
 					.map(colorHelper::getClosestColorName)
 					.map(Translator::toLowercaseWithLocale)
+					.map(StringPool::intern)
 					.distinct()
 					.toList();
 			},
@@ -106,20 +95,85 @@ public class ElementPrefixParser {
 			'&',
 			config::getResourceLocationSearchMode,
 			element -> List.of(element.getResourceLocation().toString()),
-			GeneralizedSuffixTree::new
+			suffixTreeSupplier
 		));
 	}
 
+	/**
+	 * Most ingredients share their mod ids with thousands of others,
+	 * so the mod name strings are built once for each combination and shared.
+	 */
+	private Set<String> getModNameStrings(IListElementInfo<?> info, IIngredientFilterConfig config, IModIdHelper modIdHelper) {
+		ModNamesKey key = new ModNamesKey(
+			info.getModIds(),
+			info.getModNames(),
+			config.getSearchModIds(),
+			config.getSearchModAliases(),
+			config.getSearchShortModNames()
+		);
+		return modNameStrings.computeIfAbsent(key, k -> createModNameStrings(k, modIdHelper));
+	}
+
+	private static Set<String> createModNameStrings(ModNamesKey key, IModIdHelper modIdHelper) {
+		Set<String> modNames = new HashSet<>(key.modNames());
+
+		if (key.searchModIds()) {
+			modNames.addAll(key.modIds());
+		}
+
+		if (key.searchModAliases()) {
+			for (String modId : key.modIds()) {
+				Set<String> modAliases = modIdHelper.getModAliases(modId);
+				modNames.addAll(modAliases);
+			}
+		}
+
+		if (key.searchShortModNames()) {
+			for (String modName : key.modNames()) {
+				List<String> shortModNames = getShortModNames(modName);
+				modNames.addAll(shortModNames);
+			}
+		}
+
+		Set<String> sanitizedModNames = new HashSet<>();
+		for (String modName : modNames) {
+			modName = modName.toLowerCase();
+			modName = SPACE_PATTERN.matcher(modName).replaceAll("");
+			sanitizedModNames.add(StringPool.intern(modName));
+		}
+
+		return Set.copyOf(sanitizedModNames);
+	}
+
+	private record ModNamesKey(
+		List<String> modIds,
+		List<String> modNames,
+		boolean searchModIds,
+		boolean searchModAliases,
+		boolean searchShortModNames
+	) {}
+
+	private static ISearchStorage<IListElement<?>> createSuffixTree(IClientConfig clientConfig) {
+		if (clientConfig.isCompactSearchIndexEnabled()) {
+			return new CompactGeneralizedSuffixTree<>();
+		}
+		return new GeneralizedSuffixTree<>();
+	}
+
 	private void addPrefix(PrefixInfo<IListElementInfo<?>, IListElement<?>> info) {
 		this.map.put(info.getPrefix(), info);
 	}
 
 	public Collection<PrefixInfo<IListElementInfo<?>, IListElement<?>>> allPrefixInfos() {
 		Collection<PrefixInfo<IListElementInfo<?>, IListElement<?>>> values = new ArrayList<>(map.values());
-		values.add(NO_PREFIX);
+		values.add(noPrefix);
 		return values;
 	}
 
+	public PrefixInfo<IListElementInfo<?>, IListElement<?>> getNoPrefix() {
+		return noPrefix;
+	}
+
 	public record TokenInfo(String token, PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo) {}
 
 	public Optional<TokenInfo> parseToken(String token) {
@@ -129,7 +183,7 @@ public class ElementPrefixParser {
 		char firstChar = token.charAt(0);
 		PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo = map.get(firstChar);
 		if (prefixInfo == null || prefixInfo.getMode() == SearchMode.DISABLED) {
-			return Optional.of(new TokenInfo(token, NO_PREFIX));
+			return Optional.of(new TokenInfo(token, noPrefix));
 		}
 		if (token.length() == 1) {
 			return Optional.empty();
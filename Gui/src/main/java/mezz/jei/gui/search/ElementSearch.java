@@ -1,8 +1,13 @@
 package mezz.jei.gui.search;
 
+import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
+import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.chars.CharSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import mezz.jei.core.search.CombinedSearchables;
 import mezz.jei.core.search.ISearchStorage;
 import mezz.jei.core.search.ISearchable;
+import mezz.jei.core.search.ISerializableSearchStorage;
 import mezz.jei.core.search.PrefixInfo;
 import mezz.jei.core.search.PrefixedSearchable;
 import mezz.jei.core.search.SearchMode;
@@ -10,21 +15,38 @@ import mezz.jei.gui.ingredients.IListElement;
 import mezz.jei.gui.ingredients.IListElementInfo;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 public class ElementSearch implements IElementSearch {
 	private static final Logger LOGGER = LogManager.getLogger();
 
 	private final Map<PrefixInfo<IListElementInfo<?>, IListElement<?>>, PrefixedSearchable<IListElementInfo<?>, IListElement<?>>> prefixedSearchables = new IdentityHashMap<>();
 	private final CombinedSearchables<IListElement<?>> combinedSearchables = new CombinedSearchables<>();
-	private final Set<IListElement<?>> allElements = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final PrefixInfo<IListElementInfo<?>, IListElement<?>> noPrefix;
+	private final List<IListElement<?>> allElements = new ArrayList<>();
+	private final Reference2IntOpenHashMap<IListElement<?>> elementIndexes = new Reference2IntOpenHashMap<>();
+	@Nullable
+	private final SearchIndexCache searchIndexCache;
 
 	public ElementSearch(ElementPrefixParser elementPrefixParser) {
+		this(elementPrefixParser, null);
+	}
+
+	public ElementSearch(ElementPrefixParser elementPrefixParser, @Nullable SearchIndexCache searchIndexCache) {
+		this.noPrefix = elementPrefixParser.getNoPrefix();
+		this.searchIndexCache = searchIndexCache;
+		this.elementIndexes.defaultReturnValue(-1);
 		for (PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo : elementPrefixParser.allPrefixInfos()) {
 			ISearchStorage<IListElement<?>> storage = prefixInfo.createStorage();
 			var prefixedSearchable = new PrefixedSearchable<>(storage, prefixInfo);
@@ -34,31 +56,43 @@ public class ElementSearch implements IElementSearch {
 	}
 
 	@Override
-	public Set<IListElement<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo) {
+	public BitSet getSearchResults(ElementPrefixParser.TokenInfo tokenInfo) {
+		BitSet results = new BitSet(this.allElements.size());
 		String token = tokenInfo.token();
 		if (token.isEmpty()) {
-			return Set.of();
+			return results;
 		}
 
-		Set<IListElement<?>> results = Collections.newSetFromMap(new IdentityHashMap<>());
+		Consumer<Collection<IListElement<?>>> resultsConsumer = elements -> {
+			for (IListElement<?> element : elements) {
+				results.set(this.elementIndexes.getInt(element));
+			}
+		};
 
 		PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo = tokenInfo.prefixInfo();
-		if (prefixInfo == ElementPrefixParser.NO_PREFIX) {
-			combinedSearchables.getSearchResults(token, results::addAll);
+		if (prefixInfo == noPrefix) {
+			combinedSearchables.getSearchResults(token, resultsConsumer);
 			return results;
 		}
 		final ISearchable<IListElement<?>> searchable = this.prefixedSearchables.get(prefixInfo);
 		if (searchable == null || searchable.getMode() == SearchMode.DISABLED) {
-			combinedSearchables.getSearchResults(token, results::addAll);
+			combinedSearchables.getSearchResults(token, resultsConsumer);
 			return results;
 		}
-		searchable.getSearchResults(token, results::addAll);
+		searchable.getSearchResults(token, resultsConsumer);
 		return results;
 	}
 
+	private void addElement(IListElement<?> element) {
+		if (!this.elementIndexes.containsKey(element)) {
+			this.elementIndexes.put(element, this.allElements.size());
+			this.allElements.add(element);
+		}
+	}
+
 	@Override
 	public void add(IListElementInfo<?> info) {
-		this.allElements.add(info.getElement());
+		addElement(info.getElement());
 		for (PrefixedSearchable<IListElementInfo<?>, IListElement<?>> prefixedSearchable : this.prefixedSearchables.values()) {
 			SearchMode searchMode = prefixedSearchable.getMode();
 			if (searchMode != SearchMode.DISABLED) {
@@ -71,28 +105,108 @@ public class ElementSearch implements IElementSearch {
 		}
 	}
 
+	/**
+	 * Each prefix has its own storage, so every storage is built as a separate shard on the fork-join pool.
+	 * The strings for every shard are gathered on the calling thread first,
+	 * because they come from ingredient tooltips, sprites and creative tabs that are only safe to read from the client thread.
+	 * This returns once all the shards are finished.
+	 * <p>
+	 * When this search is empty and has a {@link SearchIndexCache}, the cacheable shards are read from the cache
+	 * if it matches, or written to it after they are built.
+	 */
 	@Override
 	public void addAll(Collection<IListElementInfo<?>> infos) {
-		for (IListElementInfo<?> info : infos) {
-			this.allElements.add(info.getElement());
+		List<IListElementInfo<?>> infoList = List.copyOf(infos);
+		Char2ObjectMap<ISerializableSearchStorage<IListElement<?>>> cacheableStorages = getCacheableStorages();
+		CharSet cachedPrefixes = CharSet.of();
+		if (searchIndexCache != null && !cacheableStorages.isEmpty()) {
+			cachedPrefixes = searchIndexCache.read(infoList, cacheableStorages);
 		}
-		for (PrefixedSearchable<IListElementInfo<?>, IListElement<?>> prefixedSearchable : this.prefixedSearchables.values()) {
+
+		for (IListElementInfo<?> info : infoList) {
+			addElement(info.getElement());
+		}
+
+		List<ForkJoinTask<?>> shards = new ArrayList<>();
+		for (var entry : this.prefixedSearchables.entrySet()) {
+			PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo = entry.getKey();
+			PrefixedSearchable<IListElementInfo<?>, IListElement<?>> prefixedSearchable = entry.getValue();
 			SearchMode searchMode = prefixedSearchable.getMode();
-			if (searchMode != SearchMode.DISABLED) {
-				ISearchStorage<IListElement<?>> storage = prefixedSearchable.getSearchStorage();
-				for (IListElementInfo<?> info : infos) {
-					Collection<String> strings = prefixedSearchable.getStrings(info);
-					for (String string : strings) {
-						storage.put(string, info.getElement());
-					}
-				}
+			if (searchMode != SearchMode.DISABLED && !cachedPrefixes.contains(prefixInfo.getPrefix())) {
+				List<Collection<String>> stringsPerInfo = getStrings(prefixedSearchable, infoList);
+				ForkJoinTask<?> shard = ForkJoinPool.commonPool().submit(() -> buildShard(prefixedSearchable, infoList, stringsPerInfo));
+				shards.add(shard);
 			}
 		}
+		for (ForkJoinTask<?> shard : shards) {
+			shard.join();
+		}
+
+		if (searchIndexCache != null && !cacheableStorages.isEmpty() && cachedPrefixes.isEmpty()) {
+			searchIndexCache.write(infoList, cacheableStorages);
+		}
+	}
+
+	/**
+	 * Returns the enabled storages that can be cached, keyed by prefix.
+	 * Storages can only be read from the cache while they are empty, so this is empty once elements have been added.
+	 */
+	private Char2ObjectMap<ISerializableSearchStorage<IListElement<?>>> getCacheableStorages() {
+		Char2ObjectMap<ISerializableSearchStorage<IListElement<?>>> storages = new Char2ObjectOpenHashMap<>();
+		if (searchIndexCache == null || !this.allElements.isEmpty()) {
+			return storages;
+		}
+		for (var entry : this.prefixedSearchables.entrySet()) {
+			PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo = entry.getKey();
+			if (prefixInfo.getMode() != SearchMode.DISABLED &&
+				SearchIndexCache.isCacheable(prefixInfo) &&
+				entry.getValue().getSearchStorage() instanceof ISerializableSearchStorage<IListElement<?>> storage
+			) {
+				storages.put(prefixInfo.getPrefix(), storage);
+			}
+		}
+		return storages;
+	}
+
+	private static List<Collection<String>> getStrings(PrefixedSearchable<IListElementInfo<?>, IListElement<?>> prefixedSearchable, List<IListElementInfo<?>> infos) {
+		List<Collection<String>> stringsPerInfo = new ArrayList<>(infos.size());
+		for (IListElementInfo<?> info : infos) {
+			stringsPerInfo.add(prefixedSearchable.getStrings(info));
+		}
+		return stringsPerInfo;
+	}
+
+	/**
+	 * Storages are not thread-safe, so each one is only built from one thread.
+	 * The strings are put in the same order as a sequential build, so the resulting storage is identical.
+	 */
+	private static void buildShard(
+		PrefixedSearchable<IListElementInfo<?>, IListElement<?>> prefixedSearchable,
+		List<IListElementInfo<?>> infos,
+		List<Collection<String>> stringsPerInfo
+	) {
+		ISearchStorage<IListElement<?>> storage = prefixedSearchable.getSearchStorage();
+		for (int i = 0; i < infos.size(); i++) {
+			IListElement<?> element = infos.get(i).getElement();
+			for (String string : stringsPerInfo.get(i)) {
+				storage.put(string, element);
+			}
+		}
+	}
+
+	@Override
+	public List<IListElement<?>> getAllIngredients() {
+		return Collections.unmodifiableList(allElements);
+	}
+
+	@Override
+	public int getElementCount() {
+		return this.allElements.size();
 	}
 
 	@Override
-	public Set<IListElement<?>> getAllIngredients() {
-		return Collections.unmodifiableSet(allElements);
+	public IListElement<?> getElement(int index) {
+		return this.allElements.get(index);
 	}
 
 	@Override
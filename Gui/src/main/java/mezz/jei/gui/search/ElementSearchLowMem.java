@@ -7,10 +7,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 public class ElementSearchLowMem implements IElementSearch {
 	private static final Logger LOGGER = LogManager.getLogger();
@@ -22,17 +21,20 @@ public class ElementSearchLowMem implements IElementSearch {
 	}
 
 	@Override
-	public Set<IListElement<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo) {
+	public BitSet getSearchResults(ElementPrefixParser.TokenInfo tokenInfo) {
+		BitSet results = new BitSet(this.elementInfoList.size());
 		String token = tokenInfo.token();
 		if (token.isEmpty()) {
-			return Set.of();
+			return results;
 		}
 
 		PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo = tokenInfo.prefixInfo();
-		return this.elementInfoList.stream()
-			.filter(elementInfo -> matches(token, prefixInfo, elementInfo))
-			.map(IListElementInfo::getElement)
-			.collect(Collectors.toSet());
+		for (int i = 0; i < this.elementInfoList.size(); i++) {
+			if (matches(token, prefixInfo, this.elementInfoList.get(i))) {
+				results.set(i);
+			}
+		}
+		return results;
 	}
 
 	private static boolean matches(String word, PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo, IListElementInfo<?> elementInfo) {
@@ -65,6 +67,16 @@ public class ElementSearchLowMem implements IElementSearch {
 			.toList();
 	}
 
+	@Override
+	public int getElementCount() {
+		return this.elementInfoList.size();
+	}
+
+	@Override
+	public IListElement<?> getElement(int index) {
+		return this.elementInfoList.get(index).getElement();
+	}
+
 	@Override
 	public void logStatistics() {
 		LOGGER.info("ElementSearchLowMem Element Count: {}", this.elementInfoList.size());
@@ -3,8 +3,8 @@ package mezz.jei.gui.search;
 import mezz.jei.gui.ingredients.IListElement;
 import mezz.jei.gui.ingredients.IListElementInfo;
 
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Set;
 
 public interface IElementSearch {
 	void add(IListElementInfo<?> info);
@@ -13,7 +13,17 @@ public interface IElementSearch {
 
 	Collection<IListElement<?>> getAllIngredients();
 
-	Set<IListElement<?>> getSearchResults(ElementPrefixParser.TokenInfo tokenInfo);
+	/**
+	 * Elements have dense indexes from 0 until the element count, in the order they were added.
+	 */
+	int getElementCount();
+
+	IListElement<?> getElement(int index);
+
+	/**
+	 * Returns a new bit set with the index of every matching element set.
+	 */
+	BitSet getSearchResults(ElementPrefixParser.TokenInfo tokenInfo);
 
 	void logStatistics();
 }
@@ -0,0 +1,184 @@
+package mezz.jei.gui.search;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.chars.Char2ObjectMap;
+import it.unimi.dsi.fastutil.chars.CharOpenHashSet;
+import it.unimi.dsi.fastutil.chars.CharSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import mezz.jei.common.config.IClientConfig;
+import mezz.jei.common.config.IIngredientFilterConfig;
+import mezz.jei.common.platform.Services;
+import mezz.jei.core.search.ISerializableSearchStorage;
+import mezz.jei.core.search.PrefixInfo;
+import mezz.jei.core.util.CacheFileUtil;
+import mezz.jei.gui.ingredients.IListElement;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import net.minecraft.client.Minecraft;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Saves built search storages to a binary file in the JEI config folder,
+ * so they can be read back on a later start instead of being rebuilt.
+ * <p>
+ * The file is only used when its key matches the current one.
+ * The key covers the loaded mods and their versions, the selected language and resource packs,
+ * the search config, and the exact list of elements that were indexed.
+ * Prefixes whose strings depend on anything else are never cached:
+ * tags, creative tabs and tooltips depend on data sent by the server,
+ * and colors depend on the color names config and the sprites' color palettes.
+ */
+public class SearchIndexCache {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int MAGIC = 0x4A454953; // "JEIS"
+	private static final int VERSION = 2;
+	private static final String FILE_NAME = "search-index-cache.bin";
+	private static final CharSet UNCACHED_PREFIXES = CharSet.of('#', '%', '$', '^');
+
+	private final Path path;
+	private final String key;
+
+	public static SearchIndexCache create(IClientConfig clientConfig, IIngredientFilterConfig filterConfig) {
+		Path configDir = Services.PLATFORM.getConfigHelper().createJeiConfigDir();
+		Path path = configDir.resolve(FILE_NAME);
+		String key = createKey(clientConfig, filterConfig);
+		return new SearchIndexCache(path, key);
+	}
+
+	private static String createKey(IClientConfig clientConfig, IIngredientFilterConfig filterConfig) {
+		Minecraft minecraft = Minecraft.getInstance();
+		Map<String, String> modVersions = new TreeMap<>(Services.PLATFORM.getModHelper().getModVersions());
+		return "mods:" + modVersions +
+			"\nlanguage:" + minecraft.getLanguageManager().getSelected() +
+			"\nresourcePacks:" + minecraft.getResourcePackRepository().getSelectedIds() +
+			"\ncompactSearchIndex:" + clientConfig.isCompactSearchIndexEnabled() +
+			"\nmodNameSearchMode:" + filterConfig.getModNameSearchMode() +
+			"\ntooltipSearchMode:" + filterConfig.getTooltipSearchMode() +
+			"\ntagSearchMode:" + filterConfig.getTagSearchMode() +
+			"\ncolorSearchMode:" + filterConfig.getColorSearchMode() +
+			"\nresourceLocationSearchMode:" + filterConfig.getResourceLocationSearchMode() +
+			"\ncreativeTabSearchMode:" + filterConfig.getCreativeTabSearchMode() +
+			"\nsearchAdvancedTooltips:" + filterConfig.getSearchAdvancedTooltips() +
+			"\nsearchModIds:" + filterConfig.getSearchModIds() +
+			"\nsearchModAliases:" + filterConfig.getSearchModAliases() +
+			"\nsearchIngredientAliases:" + filterConfig.getSearchIngredientAliases() +
+			"\nsearchShortModNames:" + filterConfig.getSearchShortModNames() +
+			"\nsearchTypoTolerant:" + filterConfig.getSearchTypoTolerant();
+	}
+
+	public SearchIndexCache(Path path, String key) {
+		this.path = path;
+		this.key = key;
+	}
+
+	public static boolean isCacheable(PrefixInfo<IListElementInfo<?>, IListElement<?>> prefixInfo) {
+		return !UNCACHED_PREFIXES.contains(prefixInfo.getPrefix());
+	}
+
+	/**
+	 * Reads the cached storages into the given empty storages, keyed by prefix.
+	 * Returns the prefixes that were read, or an empty set if the cache is missing or does not match.
+	 */
+	public CharSet read(List<IListElementInfo<?>> infos, Char2ObjectMap<ISerializableSearchStorage<IListElement<?>>> storages) {
+		if (!Files.isRegularFile(path)) {
+			return CharSet.of();
+		}
+
+		ByteBuffer input;
+		try {
+			input = CacheFileUtil.read(path, MAGIC, VERSION, key);
+		} catch (IOException e) {
+			LOGGER.error("Failed to read search index cache from file {}", path, e);
+			return CharSet.of();
+		}
+
+		try {
+			if (input == null || !isValid(input, infos, storages)) {
+				LOGGER.info("Search index cache is out of date, it will be rebuilt.");
+				return CharSet.of();
+			}
+		} catch (RuntimeException e) {
+			LOGGER.error("Search index cache is corrupt, it will be rebuilt: {}", path, e);
+			return CharSet.of();
+		}
+
+		CharSet readPrefixes = new CharOpenHashSet();
+		int shardCount = input.getInt();
+		for (int i = 0; i < shardCount; i++) {
+			char prefix = input.getChar();
+			ISerializableSearchStorage<IListElement<?>> storage = storages.get(prefix);
+			storage.read(input, index -> infos.get(index).getElement());
+			readPrefixes.add(prefix);
+		}
+		return readPrefixes;
+	}
+
+	/**
+	 * Checks the element list and prefixes, and leaves the input positioned at the shards.
+	 */
+	private static boolean isValid(ByteBuffer input, List<IListElementInfo<?>> infos, Char2ObjectMap<ISerializableSearchStorage<IListElement<?>>> storages) {
+		if (input.getInt() != infos.size() || input.getLong() != getElementsHash(infos)) {
+			return false;
+		}
+
+		CharSet shardPrefixes = new CharOpenHashSet();
+		int shardPrefixCount = input.getInt();
+		for (int i = 0; i < shardPrefixCount; i++) {
+			shardPrefixes.add(input.getChar());
+		}
+		return shardPrefixes.equals(storages.keySet());
+	}
+
+	public void write(List<IListElementInfo<?>> infos, Char2ObjectMap<ISerializableSearchStorage<IListElement<?>>> storages) {
+		Reference2IntOpenHashMap<IListElement<?>> indexes = new Reference2IntOpenHashMap<>(infos.size());
+		for (int i = 0; i < infos.size(); i++) {
+			indexes.put(infos.get(i).getElement(), i);
+		}
+
+		try {
+			CacheFileUtil.write(path, MAGIC, VERSION, key, output -> {
+				output.writeInt(infos.size());
+				output.writeLong(getElementsHash(infos));
+
+				output.writeInt(storages.size());
+				for (char prefix : storages.keySet()) {
+					output.writeChar(prefix);
+				}
+
+				output.writeInt(storages.size());
+				for (Char2ObjectMap.Entry<ISerializableSearchStorage<IListElement<?>>> entry : storages.char2ObjectEntrySet()) {
+					output.writeChar(entry.getCharKey());
+					entry.getValue().write(output, indexes::getInt);
+				}
+			});
+			LOGGER.debug("Saved search index cache to file: {}", path);
+		} catch (IOException e) {
+			LOGGER.error("Failed to save search index cache to file {}", path, e);
+		}
+	}
+
+	/**
+	 * Hashes the identity of every element in order, so that cached value indexes map to the same elements.
+	 */
+	private static long getElementsHash(List<IListElementInfo<?>> infos) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (IListElementInfo<?> info : infos) {
+			hasher.putString(info.getTypedIngredient().getType().getUid(), StandardCharsets.UTF_8);
+			hasher.putString(info.getResourceLocation().toString(), StandardCharsets.UTF_8);
+			for (String name : info.getNames()) {
+				hasher.putString(name, StandardCharsets.UTF_8);
+			}
+		}
+		return hasher.hash().asLong();
+	}
+}
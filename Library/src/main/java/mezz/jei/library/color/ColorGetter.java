@@ -33,8 +33,10 @@ import java.util.Optional;
 public final class ColorGetter {
 	private static final Logger LOGGER = LogManager.getLogger();
 
-	public ColorGetter() {
+	private final ColorPaletteCache colorPaletteCache;
 
+	public ColorGetter(ColorPaletteCache colorPaletteCache) {
+		this.colorPaletteCache = colorPaletteCache;
 	}
 
 	public List<Integer> getColors(ItemStack itemStack, int colorCount) {
@@ -89,6 +91,10 @@ public final class ColorGetter {
 		if (colorCount <= 0) {
 			return Collections.emptyList();
 		}
+		return colorPaletteCache.getColors(textureAtlasSprite, renderColor, colorCount, () -> readColors(textureAtlasSprite, renderColor, colorCount));
+	}
+
+	private static List<Integer> readColors(TextureAtlasSprite textureAtlasSprite, int renderColor, int colorCount) {
 		return getNativeImage(textureAtlasSprite)
 			.map(bufferedImage -> {
 				final List<Integer> colors = new ArrayList<>(colorCount);
@@ -0,0 +1,135 @@
+package mezz.jei.library.color;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the closest named color for a color, with the same answers as checking every named color with
+ * {@link ColorUtil#slowPerceptualColorDistanceSquared} and taking the first one with the smallest distance.
+ * <p>
+ * The named colors are kept in a k-d tree split on their red, green and blue channels,
+ * and each branch knows the range of each channel of its colors.
+ * The perceptual distance is never less than {@code 2 r² + 4 g² + 2 b²} for the channel differences r, g and b,
+ * so a branch can be skipped when its range is already too far away to beat the closest color found so far.
+ * <p>
+ * The tree never changes after it is built, so it is safe to use from multiple threads.
+ */
+public class ColorNameIndex {
+	private static final int[] CHANNEL_SHIFTS = {16, 8, 0};
+	/**
+	 * The smallest weight {@link ColorUtil#slowPerceptualColorDistanceSquared} gives the squared difference of each channel.
+	 */
+	private static final int[] CHANNEL_WEIGHTS = {2, 4, 2};
+
+	private final List<ColorName> colorNames;
+	private final int[] colors;
+	private final Node root;
+
+	/**
+	 * @param min the lowest value of each channel in this node's subtree
+	 * @param max the highest value of each channel in this node's subtree
+	 */
+	private record Node(int index, int channel, int[] min, int[] max, @Nullable Node below, @Nullable Node above) {}
+
+	public ColorNameIndex(List<ColorName> colorNames) {
+		if (colorNames.isEmpty()) {
+			throw new IllegalArgumentException("There must be at least one color name.");
+		}
+		this.colorNames = List.copyOf(colorNames);
+		this.colors = new int[colorNames.size()];
+		for (int i = 0; i < colors.length; i++) {
+			colors[i] = this.colorNames.get(i).color();
+		}
+		Integer[] indexes = IntStream.range(0, colors.length)
+			.boxed()
+			.toArray(Integer[]::new);
+		this.root = build(indexes, 0, indexes.length);
+	}
+
+	/**
+	 * Splits on the channel with the widest weighted spread of values.
+	 */
+	private Node build(Integer[] indexes, int from, int to) {
+		int[] min = new int[CHANNEL_SHIFTS.length];
+		int[] max = new int[CHANNEL_SHIFTS.length];
+		Arrays.fill(min, 255);
+		for (int i = from; i < to; i++) {
+			int color = colors[indexes[i]];
+			for (int channel = 0; channel < CHANNEL_SHIFTS.length; channel++) {
+				int value = getChannel(color, channel);
+				min[channel] = Math.min(min[channel], value);
+				max[channel] = Math.max(max[channel], value);
+			}
+		}
+		int splitChannel = 0;
+		for (int channel = 1; channel < CHANNEL_SHIFTS.length; channel++) {
+			if (CHANNEL_WEIGHTS[channel] * (max[channel] - min[channel]) > CHANNEL_WEIGHTS[splitChannel] * (max[splitChannel] - min[splitChannel])) {
+				splitChannel = channel;
+			}
+		}
+		int channel = splitChannel;
+		Arrays.sort(indexes, from, to, Comparator.comparingInt(index -> getChannel(colors[index], channel)));
+		int middle = (from + to) >>> 1;
+		Node below = from < middle ? build(indexes, from, middle) : null;
+		Node above = middle + 1 < to ? build(indexes, middle + 1, to) : null;
+		return new Node(indexes[middle], channel, min, max, below, above);
+	}
+
+	private static int getChannel(int color, int channel) {
+		return (color >> CHANNEL_SHIFTS[channel]) & 255;
+	}
+
+	public String getClosestColorName(int color) {
+		Search search = new Search(color);
+		search.visit(root);
+		return colorNames.get(search.closestIndex).name();
+	}
+
+	private class Search {
+		private final int color;
+		private int closestIndex = Integer.MAX_VALUE;
+		private double closestDistance = Double.MAX_VALUE;
+
+		public Search(int color) {
+			this.color = color;
+		}
+
+		public void visit(@Nullable Node node) {
+			// colors in the subtree can only tie if they are exactly this far away, so only skip them when they are farther
+			if (node == null || getLowestDistance(node) > closestDistance) {
+				return;
+			}
+			int nodeColor = colors[node.index()];
+			double distance = Math.abs(ColorUtil.slowPerceptualColorDistanceSquared(nodeColor, color));
+			// ties go to the first named color, like a stream min
+			if (distance < closestDistance || (distance == closestDistance && node.index() < closestIndex)) {
+				closestDistance = distance;
+				closestIndex = node.index();
+			}
+
+			int channel = node.channel();
+			int difference = getChannel(color, channel) - getChannel(nodeColor, channel);
+			Node near = difference < 0 ? node.below() : node.above();
+			Node far = difference < 0 ? node.above() : node.below();
+			visit(near);
+			visit(far);
+		}
+
+		/**
+		 * Returns a distance that no color in the node's subtree can be closer than.
+		 */
+		private int getLowestDistance(Node node) {
+			int lowestDistance = 0;
+			for (int channel = 0; channel < CHANNEL_SHIFTS.length; channel++) {
+				int value = getChannel(color, channel);
+				int difference = Math.max(0, Math.max(node.min()[channel] - value, value - node.max()[channel]));
+				lowestDistance += CHANNEL_WEIGHTS[channel] * difference * difference;
+			}
+			return lowestDistance;
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package mezz.jei.library.color;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.mojang.blaze3d.platform.NativeImage;
+import mezz.jei.common.platform.Services;
+import mezz.jei.core.util.CacheFileUtil;
+import mezz.jei.core.util.SerializationUtil;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.texture.SpriteContents;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.resources.ResourceLocation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the colors read from sprites, so that sprites shared by many ingredients are only quantized once.
+ * <p>
+ * Palettes are keyed by sprite, a hash of the sprite's pixels, render color and color count.
+ * The pixel hash makes sure that a resource pack that was edited in place or reloaded never gets an old palette.
+ * It is worked out once for each loaded sprite, since a resource reload creates new sprite contents.
+ * Palettes are kept in memory for as long as the mods and resource packs stay the same,
+ * and can be saved to a binary file in the JEI config folder to be read back on a later start.
+ * <p>
+ * Palettes are kept in a concurrent map because mods can ask the color helper for colors from any thread.
+ * Sprites are quantized on the thread that asks for their colors.
+ * The search index asks from the client thread, because finding an ingredient's sprite reads its model.
+ */
+public class ColorPaletteCache {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final int MAGIC = 0x4A454943; // "JEIC"
+	private static final int VERSION = 2;
+	private static final String FILE_NAME = "color-palette-cache.bin";
+
+	private final Map<PaletteKey, List<Integer>> palettes = new ConcurrentHashMap<>();
+	/**
+	 * Keyed by the identity of each sprite's contents.
+	 */
+	private final Cache<SpriteContents, Long> pixelHashes = CacheBuilder.newBuilder()
+		.weakKeys()
+		.build();
+	private String key = "";
+	private @Nullable Path path;
+	private volatile boolean changed;
+
+	/**
+	 * Prepares the cache for a new start.
+	 * Palettes are cleared if the mods or resource packs have changed since they were read,
+	 * and are read from the file if it is enabled and matches.
+	 */
+	public void load(boolean fileEnabled) {
+		String currentKey = createKey();
+		Path currentPath = fileEnabled ? Services.PLATFORM.getConfigHelper().createJeiConfigDir().resolve(FILE_NAME) : null;
+
+		if (!currentKey.equals(key)) {
+			palettes.clear();
+			key = currentKey;
+			changed = false;
+			if (currentPath != null) {
+				read(currentPath);
+			}
+		} else if (currentPath != null && path == null && palettes.isEmpty()) {
+			read(currentPath);
+		}
+		path = currentPath;
+	}
+
+	private static String createKey() {
+		Minecraft minecraft = Minecraft.getInstance();
+		Map<String, String> modVersions = new TreeMap<>(Services.PLATFORM.getModHelper().getModVersions());
+		return "mods:" + modVersions +
+			"\nresourcePacks:" + minecraft.getResourcePackRepository().getSelectedIds();
+	}
+
+	public List<Integer> getColors(TextureAtlasSprite textureAtlasSprite, int renderColor, int colorCount, Supplier<List<Integer>> colorsSupplier) {
+		SpriteContents contents = textureAtlasSprite.contents();
+		long pixelHash = getPixelHash(textureAtlasSprite);
+		PaletteKey paletteKey = new PaletteKey(textureAtlasSprite.atlasLocation(), contents.name(), pixelHash, renderColor, colorCount);
+		return palettes.computeIfAbsent(paletteKey, k -> {
+			changed = true;
+			return List.copyOf(colorsSupplier.get());
+		});
+	}
+
+	private long getPixelHash(TextureAtlasSprite textureAtlasSprite) {
+		SpriteContents contents = textureAtlasSprite.contents();
+		Long pixelHash = pixelHashes.getIfPresent(contents);
+		if (pixelHash == null) {
+			pixelHash = calculatePixelHash(textureAtlasSprite);
+			pixelHashes.put(contents, pixelHash);
+		}
+		return pixelHash;
+	}
+
+	private static long calculatePixelHash(TextureAtlasSprite textureAtlasSprite) {
+		Optional<NativeImage> mainImage = Services.PLATFORM.getRenderHelper().getMainImage(textureAtlasSprite);
+		if (mainImage.isEmpty()) {
+			return 0;
+		}
+		NativeImage image = mainImage.get();
+		int width = image.getWidth();
+		int height = image.getHeight();
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		hasher.putInt(width);
+		hasher.putInt(height);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				hasher.putInt(image.getPixelRGBA(x, y));
+			}
+		}
+		return hasher.hash().asLong();
+	}
+
+	/**
+	 * Saves the palettes to the file if it is enabled and new palettes were added since it was read or saved.
+	 */
+	public void save() {
+		if (path == null || !changed) {
+			return;
+		}
+		changed = false;
+		List<Map.Entry<PaletteKey, List<Integer>>> entries = new ArrayList<>(palettes.entrySet());
+
+		try {
+			CacheFileUtil.write(path, MAGIC, VERSION, key, output -> {
+				output.writeInt(entries.size());
+				for (Map.Entry<PaletteKey, List<Integer>> entry : entries) {
+					PaletteKey paletteKey = entry.getKey();
+					SerializationUtil.writeString(output, paletteKey.atlasLocation().toString());
+					SerializationUtil.writeString(output, paletteKey.spriteName().toString());
+					output.writeLong(paletteKey.pixelHash());
+					output.writeInt(paletteKey.renderColor());
+					output.writeInt(paletteKey.colorCount());
+					List<Integer> colors = entry.getValue();
+					output.writeInt(colors.size());
+					for (int color : colors) {
+						output.writeInt(color);
+					}
+				}
+			});
+			LOGGER.debug("Saved {} color palettes to file: {}", entries.size(), path);
+		} catch (IOException e) {
+			LOGGER.error("Failed to save color palette cache to file {}", path, e);
+		}
+	}
+
+	private void read(Path path) {
+		ByteBuffer input;
+		try {
+			input = CacheFileUtil.read(path, MAGIC, VERSION, key);
+		} catch (IOException e) {
+			LOGGER.error("Failed to read color palette cache from file {}", path, e);
+			return;
+		}
+		if (input == null) {
+			if (Files.isRegularFile(path)) {
+				LOGGER.info("Color palette cache is out of date, it will be rebuilt.");
+			}
+			return;
+		}
+
+		try {
+			int count = input.getInt();
+			for (int i = 0; i < count; i++) {
+				ResourceLocation atlasLocation = ResourceLocation.parse(SerializationUtil.readString(input));
+				ResourceLocation spriteName = ResourceLocation.parse(SerializationUtil.readString(input));
+				long pixelHash = input.getLong();
+				int renderColor = input.getInt();
+				int colorCount = input.getInt();
+				int size = input.getInt();
+				List<Integer> colors = new ArrayList<>(size);
+				for (int j = 0; j < size; j++) {
+					colors.add(input.getInt());
+				}
+				palettes.put(new PaletteKey(atlasLocation, spriteName, pixelHash, renderColor, colorCount), List.copyOf(colors));
+			}
+			LOGGER.debug("Read {} color palettes from file: {}", count, path);
+		} catch (RuntimeException e) {
+			LOGGER.error("Color palette cache is corrupt, it will be rebuilt: {}", path, e);
+			palettes.clear();
+		}
+	}
+
+	private record PaletteKey(ResourceLocation atlasLocation, ResourceLocation spriteName, long pixelHash, int renderColor, int colorCount) {}
+}
@@ -1,13 +1,13 @@
 package mezz.jei.library.config;
 
 import mezz.jei.library.color.ColorName;
-import mezz.jei.library.color.ColorUtil;
+import mezz.jei.library.color.ColorNameIndex;
 import mezz.jei.common.config.file.IConfigCategoryBuilder;
 import mezz.jei.common.config.file.IConfigSchemaBuilder;
 import mezz.jei.library.config.serializers.ColorNameSerializer;
 import mezz.jei.common.config.file.serializers.ListSerializer;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -51,6 +51,7 @@ public final class ColorNameConfig {
 	);
 
 	private final Supplier<List<ColorName>> searchColors;
+	private volatile @Nullable ColorNameIndexEntry colorNameIndex;
 
 	public ColorNameConfig(IConfigSchemaBuilder schema) {
 		IConfigCategoryBuilder colors = schema.addCategory("colors");
@@ -62,18 +63,22 @@ public final class ColorNameConfig {
 	}
 
 	public String getClosestColorName(int color) {
+		return getColorNameIndex().getClosestColorName(color);
+	}
+
+	/**
+	 * The index is rebuilt whenever the config file is reloaded, because that replaces the list of search colors.
+	 */
+	private ColorNameIndex getColorNameIndex() {
 		List<ColorName> colorNames = searchColors.get();
-		if (colorNames.isEmpty()) {
-			colorNames = defaultColors;
+		ColorNameIndexEntry entry = this.colorNameIndex;
+		if (entry == null || entry.colorNames() != colorNames) {
+			List<ColorName> indexedColorNames = colorNames.isEmpty() ? defaultColors : colorNames;
+			entry = new ColorNameIndexEntry(colorNames, new ColorNameIndex(indexedColorNames));
+			this.colorNameIndex = entry;
 		}
-		return colorNames
-			.stream()
-			.min(Comparator.comparing(entry -> {
-				int namedColor = entry.color();
-				double distance = ColorUtil.slowPerceptualColorDistanceSquared(namedColor, color);
-				return Math.abs(distance);
-			}))
-			.map(ColorName::name)
-			.orElseThrow();
+		return entry.index();
 	}
+
+	private record ColorNameIndexEntry(List<ColorName> colorNames, ColorNameIndex index) {}
 }
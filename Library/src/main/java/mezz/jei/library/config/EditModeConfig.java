@@ -16,6 +16,7 @@ import mezz.jei.api.runtime.IEditModeConfig;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.common.codecs.EnumCodec;
 import mezz.jei.common.config.file.JsonArrayFileHelper;
+import mezz.jei.library.ingredients.IngredientUids;
 import mezz.jei.library.ingredients.IngredientVisibility;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.RegistryOps;
@@ -29,7 +30,7 @@ import java.lang.ref.WeakReference;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,11 @@ import java.util.Set;
 public class EditModeConfig implements IEditModeConfig {
 	private static final Logger LOGGER = LogManager.getLogger();
 	private static final int VERSION = 2;
+	private static final int ALL_HIDE_MODE_FLAGS = (1 << HideMode.values().length) - 1;
+	/**
+	 * Every combination of {@link HideMode}s, indexed by hide mode flags, so looking up hide modes does not create a new set.
+	 */
+	private static final Set<HideMode>[] HIDE_MODE_SETS = createHideModeSets();
 
 	private final Map<Object, Pair<HideMode, ITypedIngredient<?>>> blacklist = new LinkedHashMap<>();
 	private final ISerializer serializer;
@@ -51,6 +57,22 @@ public class EditModeConfig implements IEditModeConfig {
 		this.serializer.load(this);
 	}
 
+	private static Set<HideMode>[] createHideModeSets() {
+		HideMode[] hideModes = HideMode.values();
+		@SuppressWarnings("unchecked")
+		Set<HideMode>[] sets = new Set[1 << hideModes.length];
+		for (int flags = 0; flags < sets.length; flags++) {
+			EnumSet<HideMode> set = EnumSet.noneOf(HideMode.class);
+			for (HideMode hideMode : hideModes) {
+				if ((flags & (1 << hideMode.ordinal())) != 0) {
+					set.add(hideMode);
+				}
+			}
+			sets[flags] = Collections.unmodifiableSet(set);
+		}
+		return sets;
+	}
+
 	public <V> void addIngredientToConfigBlacklist(ITypedIngredient<V> typedIngredient, HideMode blacklistType, IIngredientHelper<V> ingredientHelper) {
 		if (addIngredientToConfigBlacklistInternal(typedIngredient, blacklistType, ingredientHelper)) {
 			serializer.save(this);
@@ -100,33 +122,38 @@ public class EditModeConfig implements IEditModeConfig {
 	}
 
 	public <V> boolean isIngredientOnConfigBlacklist(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
-		for (HideMode hideMode : HideMode.values()) {
-			if (isIngredientOnConfigBlacklist(typedIngredient, hideMode, ingredientHelper)) {
-				return true;
-			}
-		}
-		return false;
+		return getHideModeFlags(typedIngredient, ingredientHelper) != 0;
 	}
 
 	private <V> Set<HideMode> getIngredientOnConfigBlacklist(ITypedIngredient<V> ingredient, IIngredientHelper<V> ingredientHelper) {
+		return HIDE_MODE_SETS[getHideModeFlags(ingredient, ingredientHelper)];
+	}
+
+	/**
+	 * Returns the {@link HideMode}s the ingredient is hidden with, as bits indexed by {@link HideMode#ordinal()}.
+	 */
+	private <V> int getHideModeFlags(ITypedIngredient<V> ingredient, IIngredientHelper<V> ingredientHelper) {
+		if (blacklist.isEmpty()) {
+			return 0;
+		}
 		final Object singleUid = getIngredientUid(ingredient, HideMode.SINGLE, ingredientHelper);
 		final Object wildcardUid = getIngredientUid(ingredient, HideMode.WILDCARD, ingredientHelper);
 		if (singleUid.equals(wildcardUid)) {
 			if (blacklist.containsKey(singleUid)) {
 				// there's only one type of this ingredient, adding it as SINGLE is the same as adding it as WILDCARD.
-				return Set.of(HideMode.SINGLE, HideMode.WILDCARD);
+				return ALL_HIDE_MODE_FLAGS;
 			}
-			return Set.of();
+			return 0;
 		}
 
-		Set<HideMode> set = new HashSet<>();
+		int flags = 0;
 		if (blacklist.containsKey(singleUid)) {
-			set.add(HideMode.SINGLE);
+			flags |= 1 << HideMode.SINGLE.ordinal();
 		}
 		if (blacklist.containsKey(wildcardUid)) {
-			set.add(HideMode.WILDCARD);
+			flags |= 1 << HideMode.WILDCARD.ordinal();
 		}
-		return Collections.unmodifiableSet(set);
+		return flags;
 	}
 
 	public <V> boolean isIngredientOnConfigBlacklist(ITypedIngredient<V> typedIngredient, HideMode blacklistType, IIngredientHelper<V> ingredientHelper) {
@@ -136,8 +163,8 @@ public class EditModeConfig implements IEditModeConfig {
 
 	private static <V> Object getIngredientUid(ITypedIngredient<V> typedIngredient, HideMode blacklistType, IIngredientHelper<V> ingredientHelper) {
 		return switch (blacklistType) {
-			case SINGLE -> ingredientHelper.getUid(typedIngredient, UidContext.Ingredient);
-			case WILDCARD -> ingredientHelper.getGroupingUid(typedIngredient);
+			case SINGLE -> IngredientUids.getUid(typedIngredient, UidContext.Ingredient, ingredientHelper);
+			case WILDCARD -> IngredientUids.getGroupingUid(typedIngredient, ingredientHelper);
 		};
 	}
 
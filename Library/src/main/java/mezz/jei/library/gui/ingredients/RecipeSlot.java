@@ -17,6 +17,7 @@ import mezz.jei.api.runtime.IIngredientVisibility;
 import mezz.jei.api.runtime.IJeiRuntime;
 import mezz.jei.common.Internal;
 import mezz.jei.common.config.IClientConfig;
+import mezz.jei.common.gui.IngredientBatch;
 import mezz.jei.common.gui.JeiTooltip;
 import mezz.jei.common.gui.elements.OffsetDrawable;
 import mezz.jei.common.platform.IPlatformRenderHelper;
@@ -286,18 +287,40 @@ public class RecipeSlot implements IRecipeSlotView, IRecipeSlotDrawable {
 
 	@Override
 	public void draw(GuiGraphics guiGraphics) {
-		final int x = this.rect.getX();
-		final int y = this.rect.getY();
+		drawBackground(guiGraphics);
 
+		RenderSystem.enableBlend();
+
+		getDisplayedIngredient()
+			.ifPresent(ingredient -> drawIngredient(guiGraphics, ingredient, rect.getX(), rect.getY()));
+
+		drawOverlay(guiGraphics);
+
+		RenderSystem.disableBlend();
+	}
+
+	public void drawBackground(GuiGraphics guiGraphics) {
 		if (background != null) {
-			background.draw(guiGraphics, x, y);
+			background.draw(guiGraphics, rect.getX(), rect.getY());
 		}
+	}
 
-		RenderSystem.enableBlend();
-
+	/**
+	 * Adds the displayed ingredient to the batch instead of drawing it.
+	 * The offset is added to the slot's position, to move it to the coordinates the batch is drawn in.
+	 */
+	public void addIngredientToBatch(IngredientBatch ingredientBatch, int offsetX, int offsetY) {
 		getDisplayedIngredient()
-			.ifPresent(ingredient -> drawIngredient(guiGraphics, ingredient, x, y));
+			.ifPresent(ingredient -> addIngredientToBatch(ingredientBatch, ingredient, rect.getX() + offsetX, rect.getY() + offsetY));
+	}
+
+	private <T> void addIngredientToBatch(IngredientBatch ingredientBatch, ITypedIngredient<T> typedIngredient, int xPos, int yPos) {
+		IIngredientType<T> ingredientType = typedIngredient.getType();
+		IIngredientRenderer<T> ingredientRenderer = getIngredientRenderer(ingredientType);
+		ingredientBatch.add(ingredientType, ingredientRenderer, typedIngredient.getIngredient(), xPos, yPos);
+	}
 
+	public void drawOverlay(GuiGraphics guiGraphics) {
 		if (overlay != null) {
 			RenderSystem.enableBlend();
 
@@ -305,12 +328,10 @@ public class RecipeSlot implements IRecipeSlotView, IRecipeSlotDrawable {
 			poseStack.pushPose();
 			{
 				poseStack.translate(0, 0, 200);
-				overlay.draw(guiGraphics, x, y);
+				overlay.draw(guiGraphics, rect.getX(), rect.getY());
 			}
 			poseStack.popPose();
 		}
-
-		RenderSystem.disableBlend();
 	}
 
 	private <T> void drawIngredient(GuiGraphics guiGraphics, ITypedIngredient<T> typedIngredient, int xPos, int yPos) {
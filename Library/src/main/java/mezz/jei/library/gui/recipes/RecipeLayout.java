@@ -26,6 +26,8 @@ import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.api.recipe.category.extensions.IRecipeCategoryDecorator;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.common.Internal;
+import mezz.jei.common.gui.IBatchedRecipeLayoutDrawable;
+import mezz.jei.common.gui.IngredientBatch;
 import mezz.jei.common.gui.JeiTooltip;
 import mezz.jei.common.gui.elements.DrawableAnimated;
 import mezz.jei.common.gui.elements.DrawableCombined;
@@ -36,6 +38,7 @@ import mezz.jei.common.util.ImmutablePoint2i;
 import mezz.jei.common.util.ImmutableRect2i;
 import mezz.jei.common.util.MathUtil;
 import mezz.jei.library.gui.ingredients.CycleTicker;
+import mezz.jei.library.gui.ingredients.RecipeSlot;
 import mezz.jei.library.gui.recipes.layout.builder.RecipeLayoutBuilder;
 import mezz.jei.library.gui.widgets.ScrollBoxRecipeWidget;
 import mezz.jei.library.gui.widgets.ScrollGridRecipeWidget;
@@ -54,7 +57,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
-public class RecipeLayout<R> implements IRecipeLayoutDrawable<R>, IRecipeExtrasBuilder {
+public class RecipeLayout<R> implements IRecipeLayoutDrawable<R>, IBatchedRecipeLayoutDrawable, IRecipeExtrasBuilder {
 	private static final Logger LOGGER = LogManager.getLogger();
 	public static final int RECIPE_BUTTON_SIZE = 13;
 	public static final int RECIPE_BUTTON_SPACING = 2;
@@ -169,6 +172,24 @@ public class RecipeLayout<R> implements IRecipeLayoutDrawable<R>, IRecipeExtrasB
 
 	@Override
 	public void drawRecipe(GuiGraphics guiGraphics, int mouseX, int mouseY) {
+		drawBelowIngredients(guiGraphics, mouseX, mouseY, null);
+		drawAboveIngredients(guiGraphics, mouseX, mouseY, false);
+	}
+
+	@Override
+	public void drawRecipeBelowIngredients(GuiGraphics guiGraphics, int mouseX, int mouseY, IngredientBatch ingredientBatch) {
+		drawBelowIngredients(guiGraphics, mouseX, mouseY, ingredientBatch);
+	}
+
+	@Override
+	public void drawRecipeAboveIngredients(GuiGraphics guiGraphics, int mouseX, int mouseY) {
+		drawAboveIngredients(guiGraphics, mouseX, mouseY, true);
+	}
+
+	/**
+	 * @param ingredientBatch if this is null, slots are drawn completely, including their ingredients and overlays.
+	 */
+	private void drawBelowIngredients(GuiGraphics guiGraphics, int mouseX, int mouseY, @Nullable IngredientBatch ingredientBatch) {
 		ensureRecipeExtrasAreCreated();
 		@SuppressWarnings("removal")
 		IDrawable background = recipeCategory.getBackground();
@@ -194,7 +215,46 @@ public class RecipeLayout<R> implements IRecipeLayoutDrawable<R>, IRecipeExtrasB
 			{
 				recipeCategory.draw(recipe, recipeCategorySlotsView, guiGraphics, recipeMouseX, recipeMouseY);
 				for (IRecipeSlotDrawable slot : recipeCategorySlots) {
-					slot.draw(guiGraphics);
+					if (ingredientBatch != null && slot instanceof RecipeSlot recipeSlot) {
+						recipeSlot.drawBackground(guiGraphics);
+						recipeSlot.addIngredientToBatch(ingredientBatch, area.getX(), area.getY());
+					} else {
+						slot.draw(guiGraphics);
+					}
+				}
+
+				// drawExtras and drawInfo often render text which messes with the color, this clears it
+				RenderSystem.setShaderColor(1, 1, 1, 1);
+			}
+			poseStack.popPose();
+		}
+		poseStack.popPose();
+	}
+
+	/**
+	 * @param batched true if the slots' ingredients were added to a batch, so their overlays still need to be drawn.
+	 */
+	private void drawAboveIngredients(GuiGraphics guiGraphics, int mouseX, int mouseY, boolean batched) {
+		final double recipeMouseX = mouseX - area.getX();
+		final double recipeMouseY = mouseY - area.getY();
+
+		IRecipeSlotsView recipeCategorySlotsView = () -> Collections.unmodifiableList(recipeCategorySlots);
+
+		var poseStack = guiGraphics.pose();
+		poseStack.pushPose();
+		{
+			poseStack.translate(area.getX(), area.getY(), 0);
+
+			// defensive push/pop to protect against widgets changing the last pose
+			poseStack.pushPose();
+			{
+				if (batched) {
+					for (IRecipeSlotDrawable slot : recipeCategorySlots) {
+						if (slot instanceof RecipeSlot recipeSlot) {
+							recipeSlot.drawOverlay(guiGraphics);
+						}
+					}
+					RenderSystem.disableBlend();
 				}
 				for (IRecipeWidget widget : allWidgets) {
 					ScreenPosition position = widget.getPosition();
@@ -0,0 +1,85 @@
+package mezz.jei.library.gui.recipes.supplier.builder;
+
+import mezz.jei.api.gui.builder.IIngredientAcceptor;
+import mezz.jei.api.gui.builder.IRecipeLayoutBuilder;
+import mezz.jei.api.gui.builder.IRecipeSlotBuilder;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.runtime.IIngredientManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal version of {@link IRecipeLayoutBuilder} that can only return the ingredients of each slot,
+ * but doesn't bother building real slots or anything else for drawing on screen.
+ *
+ * Unlike {@link IngredientSupplierBuilder}, the ingredients of each slot are kept separate.
+ */
+public class IngredientSlotsBuilder implements IRecipeLayoutBuilder {
+	private final IIngredientManager ingredientManager;
+	private final Map<RecipeIngredientRole, List<IngredientSlotBuilder>> ingredientSlotBuilders;
+
+	public IngredientSlotsBuilder(IIngredientManager ingredientManager) {
+		this.ingredientManager = ingredientManager;
+		this.ingredientSlotBuilders = new EnumMap<>(RecipeIngredientRole.class);
+	}
+
+	@Override
+	public IRecipeSlotBuilder addSlot(RecipeIngredientRole role, int x, int y) {
+		return addSlot(role);
+	}
+
+	@Override
+	public IRecipeSlotBuilder addSlot(RecipeIngredientRole role) {
+		IngredientSlotBuilder slot = new IngredientSlotBuilder(ingredientManager);
+		ingredientSlotBuilders.computeIfAbsent(role, r -> new ArrayList<>()).add(slot);
+		return slot;
+	}
+
+	@SuppressWarnings("removal")
+	@Override
+	public IRecipeSlotBuilder addSlotToWidget(RecipeIngredientRole role, mezz.jei.api.gui.widgets.ISlottedWidgetFactory<?> widgetFactory) {
+		return addSlot(role);
+	}
+
+	@Override
+	public IIngredientAcceptor<?> addInvisibleIngredients(RecipeIngredientRole role) {
+		// like the real layout builder, invisible ingredients never become a slot
+		return new IngredientSlotBuilder(ingredientManager);
+	}
+
+	@Override
+	public void moveRecipeTransferButton(int posX, int posY) {
+
+	}
+
+	@Override
+	public void setShapeless() {
+
+	}
+
+	@Override
+	public void setShapeless(int posX, int posY) {
+
+	}
+
+	@Override
+	public void createFocusLink(IIngredientAcceptor<?>... slots) {
+
+	}
+
+	public List<List<ITypedIngredient<?>>> getSlotIngredients(RecipeIngredientRole role) {
+		List<IngredientSlotBuilder> slots = ingredientSlotBuilders.get(role);
+		if (slots == null) {
+			return List.of();
+		}
+		List<List<ITypedIngredient<?>>> slotIngredients = new ArrayList<>(slots.size());
+		for (IngredientSlotBuilder slot : slots) {
+			slotIngredients.add(slot.getAllIngredients());
+		}
+		return slotIngredients;
+	}
+}
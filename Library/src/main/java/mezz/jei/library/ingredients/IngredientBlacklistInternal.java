@@ -15,22 +15,22 @@ public class IngredientBlacklistInternal implements IIngredientManager.IIngredie
 	private WeakReference<IngredientVisibility> ingredientVisibilityRef = new WeakReference<>(null);
 
 	public <V> void addIngredientToBlacklist(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
-		Object uid = ingredientHelper.getUid(typedIngredient, UidContext.Ingredient);
+		Object uid = IngredientUids.getUid(typedIngredient, UidContext.Ingredient, ingredientHelper);
 		if (uidBlacklist.add(uid)) {
 			notifyListenersOfVisibilityChange(typedIngredient, false);
 		}
 	}
 
 	public <V> void removeIngredientFromBlacklist(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
-		Object uid = ingredientHelper.getUid(typedIngredient, UidContext.Ingredient);
+		Object uid = IngredientUids.getUid(typedIngredient, UidContext.Ingredient, ingredientHelper);
 		if (uidBlacklist.remove(uid)) {
 			notifyListenersOfVisibilityChange(typedIngredient, true);
 		}
 	}
 
 	public <V> boolean isIngredientBlacklistedByApi(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
-		Object uid = ingredientHelper.getUid(typedIngredient, UidContext.Ingredient);
-		Object uidWild = ingredientHelper.getGroupingUid(typedIngredient);
+		Object uid = IngredientUids.getUid(typedIngredient, UidContext.Ingredient, ingredientHelper);
+		Object uidWild = IngredientUids.getGroupingUid(typedIngredient, ingredientHelper);
 
 		if (uid.equals(uidWild)) {
 			return uidBlacklist.contains(uid);
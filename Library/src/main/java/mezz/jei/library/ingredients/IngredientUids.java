@@ -0,0 +1,66 @@
+package mezz.jei.library.ingredients;
+
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The uids of one typed ingredient, computed the first time they are needed.
+ *
+ * Uids for ingredients with subtypes are expensive to create,
+ * and the same ingredients are checked over and over for visibility, edit mode, and recipe lookups.
+ * JEI's own typed ingredients keep one of these, see {@link #getUid} and {@link #getGroupingUid}.
+ *
+ * Computing a uid twice from two threads is harmless, both results are equal.
+ */
+public final class IngredientUids {
+	@Nullable
+	private Object ingredientUid;
+	@Nullable
+	private Object recipeUid;
+	@Nullable
+	private Object groupingUid;
+
+	public interface IHolder {
+		IngredientUids getIngredientUids();
+	}
+
+	public static <V> Object getUid(ITypedIngredient<V> typedIngredient, UidContext context, IIngredientHelper<V> ingredientHelper) {
+		if (typedIngredient instanceof IHolder holder) {
+			IngredientUids uids = holder.getIngredientUids();
+			return switch (context) {
+				case Ingredient -> {
+					Object uid = uids.ingredientUid;
+					if (uid == null) {
+						uid = ingredientHelper.getUid(typedIngredient, context);
+						uids.ingredientUid = uid;
+					}
+					yield uid;
+				}
+				case Recipe -> {
+					Object uid = uids.recipeUid;
+					if (uid == null) {
+						uid = ingredientHelper.getUid(typedIngredient, context);
+						uids.recipeUid = uid;
+					}
+					yield uid;
+				}
+			};
+		}
+		return ingredientHelper.getUid(typedIngredient, context);
+	}
+
+	public static <V> Object getGroupingUid(ITypedIngredient<V> typedIngredient, IIngredientHelper<V> ingredientHelper) {
+		if (typedIngredient instanceof IHolder holder) {
+			IngredientUids uids = holder.getIngredientUids();
+			Object uid = uids.groupingUid;
+			if (uid == null) {
+				uid = ingredientHelper.getGroupingUid(typedIngredient);
+				uids.groupingUid = uid;
+			}
+			return uid;
+		}
+		return ingredientHelper.getGroupingUid(typedIngredient);
+	}
+}
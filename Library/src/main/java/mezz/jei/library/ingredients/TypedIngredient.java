@@ -16,7 +16,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
-public final class TypedIngredient<T> implements ITypedIngredient<T> {
+public final class TypedIngredient<T> implements ITypedIngredient<T>, IngredientUids.IHolder {
 	private static <T> void checkParameters(IIngredientType<T> ingredientType, T ingredient) {
 		Preconditions.checkNotNull(ingredientType, "ingredientType");
 		Preconditions.checkNotNull(ingredient, "ingredient");
@@ -168,6 +168,8 @@ public final class TypedIngredient<T> implements ITypedIngredient<T> {
 
 	private final IIngredientType<T> ingredientType;
 	private final T ingredient;
+	@Nullable
+	private IngredientUids ingredientUids;
 
 	private TypedIngredient(IIngredientType<T> ingredientType, T ingredient) {
 		checkParameters(ingredientType, ingredient);
@@ -185,6 +187,16 @@ public final class TypedIngredient<T> implements ITypedIngredient<T> {
 		return this.ingredientType;
 	}
 
+	@Override
+	public IngredientUids getIngredientUids() {
+		IngredientUids ingredientUids = this.ingredientUids;
+		if (ingredientUids == null) {
+			ingredientUids = new IngredientUids();
+			this.ingredientUids = ingredientUids;
+		}
+		return ingredientUids;
+	}
+
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(this)
@@ -7,13 +7,15 @@ import mezz.jei.api.constants.VanillaTypes;
 import mezz.jei.api.ingredients.IIngredientType;
 import mezz.jei.api.ingredients.IIngredientTypeWithSubtypes;
 import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.library.ingredients.IngredientUids;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
 import java.util.Optional;
 
-public abstract class TypedItemStack implements ITypedIngredient<ItemStack> {
+public abstract class TypedItemStack implements ITypedIngredient<ItemStack>, IngredientUids.IHolder {
 	private static final LoadingCache<TypedItemStack, ItemStack> CACHE = CacheBuilder.newBuilder()
 		.expireAfterAccess(Duration.ofSeconds(1))
 		.concurrencyLevel(1)
@@ -24,6 +26,9 @@ public abstract class TypedItemStack implements ITypedIngredient<ItemStack> {
 			}
 		});
 
+	@Nullable
+	private IngredientUids ingredientUids;
+
 	public static ITypedIngredient<ItemStack> create(ItemStack ingredient) {
 		if (ingredient.getCount() == 1) {
 			return NormalizedTypedItemStack.create(
@@ -68,6 +73,16 @@ public abstract class TypedItemStack implements ITypedIngredient<ItemStack> {
 		return VanillaTypes.ITEM_STACK;
 	}
 
+	@Override
+	public IngredientUids getIngredientUids() {
+		IngredientUids ingredientUids = this.ingredientUids;
+		if (ingredientUids == null) {
+			ingredientUids = new IngredientUids();
+			this.ingredientUids = ingredientUids;
+		}
+		return ingredientUids;
+	}
+
 	protected abstract Item getItem();
 
 	protected abstract TypedItemStack getNormalized();
@@ -6,9 +6,19 @@ import mezz.jei.library.plugins.vanilla.VanillaPlugin;
 import net.minecraft.resources.ResourceLocation;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class PluginCaller {
 	private static final Logger LOGGER = LogManager.getLogger();
@@ -19,22 +29,113 @@ public class PluginCaller {
 
 		try (PluginCallerTimer timer = new PluginCallerTimer()) {
 			for (IModPlugin plugin : plugins) {
-				try {
-					ResourceLocation pluginUid = plugin.getPluginUid();
-					timer.begin(title, pluginUid);
-					func.accept(plugin);
-					timer.end();
-				} catch (RuntimeException | LinkageError e) {
-					if (plugin instanceof VanillaPlugin) {
-						// Later plugins are going to crash if basic things added by the Vanilla Plugin are missing.
-						// Better to just crash immediately, so that it doesn't hide the real problem in the logs.
-						throw e;
-					}
-					LOGGER.error("Caught an error from mod plugin: {} {}", plugin.getClass(), plugin.getPluginUid(), e);
+				callOnPlugin(title, plugin, func, timer);
+			}
+		}
+
+		LOGGER.info("{} took {}", title, stopwatch);
+	}
+
+	/**
+	 * Calls the thread-safe plugins on a thread pool, and the rest one at a time on the calling thread.
+	 *
+	 * Each thread-safe plugin is given its own buffer to register into.
+	 * The buffers are replayed on the calling thread in plugin order, in between the other plugins,
+	 * so the result is the same as calling every plugin one at a time.
+	 * If a plugin throws an error, whatever it registered before the error is still replayed.
+	 * The {@link VanillaPlugin} is always called on the calling thread.
+	 */
+	public static <B> void callOnPluginsConcurrently(
+		String title,
+		List<IModPlugin> plugins,
+		Predicate<IModPlugin> isThreadSafe,
+		Supplier<B> bufferFactory,
+		BiConsumer<IModPlugin, B> bufferedFunc,
+		Consumer<B> replayFunc,
+		Consumer<IModPlugin> func
+	) {
+		LOGGER.info("{}...", title);
+		Stopwatch stopwatch = Stopwatch.createStarted();
+
+		ExecutorService executor = createExecutor(title);
+		try (PluginCallerTimer timer = new PluginCallerTimer()) {
+			Map<IModPlugin, CompletableFuture<BufferedCall<B>>> bufferedCalls = new IdentityHashMap<>();
+			for (IModPlugin plugin : plugins) {
+				if (!(plugin instanceof VanillaPlugin) && isThreadSafe(plugin, isThreadSafe)) {
+					CompletableFuture<BufferedCall<B>> future = CompletableFuture.supplyAsync(() -> callOnPluginBuffered(title, plugin, bufferFactory, bufferedFunc), executor);
+					bufferedCalls.put(plugin, future);
+				}
+			}
+			if (!bufferedCalls.isEmpty()) {
+				LOGGER.info("{}: calling {} thread-safe plugins concurrently", title, bufferedCalls.size());
+			}
+
+			for (IModPlugin plugin : plugins) {
+				CompletableFuture<BufferedCall<B>> future = bufferedCalls.get(plugin);
+				if (future == null) {
+					callOnPlugin(title, plugin, func, timer);
+					continue;
+				}
+				BufferedCall<B> bufferedCall = future.join();
+				// like a plugin called on this thread, everything registered before an error is kept
+				callOnPlugin(title, plugin, p -> replayFunc.accept(bufferedCall.buffer()), timer);
+				if (bufferedCall.error() != null) {
+					LOGGER.error("Caught an error from mod plugin: {} {}", plugin.getClass(), plugin.getPluginUid(), bufferedCall.error());
 				}
 			}
+		} finally {
+			executor.shutdown();
 		}
 
 		LOGGER.info("{} took {}", title, stopwatch);
 	}
+
+	private static void callOnPlugin(String title, IModPlugin plugin, Consumer<IModPlugin> func, PluginCallerTimer timer) {
+		try {
+			ResourceLocation pluginUid = plugin.getPluginUid();
+			timer.begin(title, pluginUid);
+			func.accept(plugin);
+			timer.end();
+		} catch (RuntimeException | LinkageError e) {
+			if (plugin instanceof VanillaPlugin) {
+				// Later plugins are going to crash if basic things added by the Vanilla Plugin are missing.
+				// Better to just crash immediately, so that it doesn't hide the real problem in the logs.
+				throw e;
+			}
+			LOGGER.error("Caught an error from mod plugin: {} {}", plugin.getClass(), plugin.getPluginUid(), e);
+		}
+	}
+
+	private static <B> BufferedCall<B> callOnPluginBuffered(String title, IModPlugin plugin, Supplier<B> bufferFactory, BiConsumer<IModPlugin, B> bufferedFunc) {
+		B buffer = bufferFactory.get();
+		try {
+			PluginCallerTimerRunnable timer = new PluginCallerTimerRunnable(title, plugin.getPluginUid());
+			bufferedFunc.accept(plugin, buffer);
+			timer.stop();
+			return new BufferedCall<>(buffer, null);
+		} catch (RuntimeException | LinkageError e) {
+			return new BufferedCall<>(buffer, e);
+		}
+	}
+
+	private static boolean isThreadSafe(IModPlugin plugin, Predicate<IModPlugin> isThreadSafe) {
+		try {
+			return isThreadSafe.test(plugin);
+		} catch (RuntimeException | LinkageError e) {
+			LOGGER.error("Caught an error from mod plugin: {} {}", plugin.getClass(), plugin.getPluginUid(), e);
+			return false;
+		}
+	}
+
+	private static ExecutorService createExecutor(String title) {
+		AtomicInteger threadCount = new AtomicInteger();
+		int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+		return Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "JEI " + title + " " + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	private record BufferedCall<B>(B buffer, @Nullable Throwable error) {}
 }
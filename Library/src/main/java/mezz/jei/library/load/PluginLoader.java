@@ -38,6 +38,7 @@ import mezz.jei.library.ingredients.IngredientVisibility;
 import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
 import mezz.jei.library.ingredients.subtypes.SubtypeManager;
 import mezz.jei.library.load.registration.AdvancedRegistration;
+import mezz.jei.library.load.registration.BufferedRecipeRegistration;
 import mezz.jei.library.load.registration.GuiHandlerRegistration;
 import mezz.jei.library.load.registration.IngredientManagerBuilder;
 import mezz.jei.library.load.registration.ModInfoRegistration;
@@ -169,7 +170,9 @@ public final class PluginLoader {
 		VanillaPlugin vanillaPlugin,
 		RecipeCategorySortingConfig recipeCategorySortingConfig,
 		JeiHelpers jeiHelpers,
-		IIngredientManager ingredientManager
+		IIngredientManager ingredientManager,
+		boolean parallelRecipeRegistration,
+		boolean parallelPluginRegistration
 	) {
 		List<IRecipeCategory<?>> recipeCategories = createRecipeCategories(plugins, vanillaPlugin, jeiHelpers);
 
@@ -184,7 +187,8 @@ public final class PluginLoader {
 			recipeCatalysts,
 			ingredientManager,
 			recipeCategorySortingConfig,
-			jeiHelpers.getIngredientVisibility()
+			jeiHelpers.getIngredientVisibility(),
+			parallelRecipeRegistration
 		);
 		timer.stop();
 
@@ -199,7 +203,19 @@ public final class PluginLoader {
 		recipeManagerInternal.addDecorators(recipeCategoryDecorators);
 
 		RecipeRegistration recipeRegistration = new RecipeRegistration(jeiHelpers, ingredientManager, recipeManagerInternal);
-		PluginCaller.callOnPlugins("Registering recipes", plugins, p -> p.registerRecipes(recipeRegistration));
+		if (parallelPluginRegistration) {
+			PluginCaller.callOnPluginsConcurrently(
+				"Registering recipes",
+				plugins,
+				IModPlugin::isRecipeRegistrationThreadSafe,
+				() -> new BufferedRecipeRegistration(recipeRegistration),
+				IModPlugin::registerRecipes,
+				BufferedRecipeRegistration::replay,
+				p -> p.registerRecipes(recipeRegistration)
+			);
+		} else {
+			PluginCaller.callOnPlugins("Registering recipes", plugins, p -> p.registerRecipes(recipeRegistration));
+		}
 
 		recipeManagerInternal.compact();
 
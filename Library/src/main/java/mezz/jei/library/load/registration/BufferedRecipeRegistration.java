@@ -0,0 +1,84 @@
+package mezz.jei.library.load.registration;
+
+import mezz.jei.api.constants.RecipeTypes;
+import mezz.jei.api.helpers.IJeiHelpers;
+import mezz.jei.api.ingredients.IIngredientType;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.recipe.vanilla.IJeiIngredientInfoRecipe;
+import mezz.jei.api.recipe.vanilla.IVanillaRecipeFactory;
+import mezz.jei.api.registration.IRecipeRegistration;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.common.util.ErrorUtil;
+import net.minecraft.network.chat.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the recipes registered by one plugin on a background thread,
+ * so they can be added to the real {@link RecipeRegistration} later, in plugin order.
+ *
+ * Only the calls that add recipes are recorded, everything else reads from the real registration.
+ */
+public class BufferedRecipeRegistration implements IRecipeRegistration {
+	private final IRecipeRegistration registration;
+	private final List<BufferedRecipes<?>> bufferedRecipes = new ArrayList<>();
+
+	public BufferedRecipeRegistration(IRecipeRegistration registration) {
+		this.registration = registration;
+	}
+
+	@Override
+	public IJeiHelpers getJeiHelpers() {
+		return registration.getJeiHelpers();
+	}
+
+	@Override
+	public IIngredientManager getIngredientManager() {
+		return registration.getIngredientManager();
+	}
+
+	@Override
+	public IVanillaRecipeFactory getVanillaRecipeFactory() {
+		return registration.getVanillaRecipeFactory();
+	}
+
+	@Override
+	public <T> void addRecipes(RecipeType<T> recipeType, List<T> recipes) {
+		ErrorUtil.checkNotNull(recipeType, "recipeType");
+		ErrorUtil.checkNotNull(recipes, "recipes");
+		// copy the list in case the plugin reuses it
+		bufferedRecipes.add(new BufferedRecipes<>(recipeType, new ArrayList<>(recipes)));
+	}
+
+	@Override
+	public <T> void addIngredientInfo(T ingredient, IIngredientType<T> ingredientType, Component... descriptionComponents) {
+		ErrorUtil.checkNotNull(ingredient, "ingredient");
+		ErrorUtil.checkNotNull(ingredientType, "ingredientType");
+		ErrorUtil.checkNotEmpty(descriptionComponents, "descriptionComponents");
+
+		addIngredientInfo(List.of(ingredient), ingredientType, descriptionComponents);
+	}
+
+	@Override
+	public <T> void addIngredientInfo(List<T> ingredients, IIngredientType<T> ingredientType, Component... descriptionComponents) {
+		IJeiIngredientInfoRecipe recipe = RecipeRegistration.createIngredientInfoRecipe(getIngredientManager(), ingredients, ingredientType, descriptionComponents);
+		addRecipes(RecipeTypes.INFORMATION, List.of(recipe));
+	}
+
+	/**
+	 * Adds the recorded recipes to the real registration, in the order they were registered.
+	 */
+	public void replay() {
+		for (BufferedRecipes<?> recipes : bufferedRecipes) {
+			recipes.addTo(registration);
+		}
+		bufferedRecipes.clear();
+	}
+
+	private record BufferedRecipes<T>(RecipeType<T> recipeType, List<T> recipes) {
+		public void addTo(IRecipeRegistration registration) {
+			registration.addRecipes(recipeType, recipes);
+		}
+	}
+}
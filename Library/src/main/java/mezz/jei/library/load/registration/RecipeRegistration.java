@@ -63,11 +63,20 @@ public class RecipeRegistration implements IRecipeRegistration {
 
 	@Override
 	public <T> void addIngredientInfo(List<T> ingredients, IIngredientType<T> ingredientType, Component... descriptionComponents) {
+		IJeiIngredientInfoRecipe recipe = createIngredientInfoRecipe(ingredientManager, ingredients, ingredientType, descriptionComponents);
+		addRecipes(RecipeTypes.INFORMATION, List.of(recipe));
+	}
+
+	static <T> IJeiIngredientInfoRecipe createIngredientInfoRecipe(
+		IIngredientManager ingredientManager,
+		List<T> ingredients,
+		IIngredientType<T> ingredientType,
+		Component... descriptionComponents
+	) {
 		ErrorUtil.checkNotEmpty(ingredients, "ingredients");
 		ErrorUtil.checkNotNull(ingredientType, "ingredientType");
 		ErrorUtil.checkNotEmpty(descriptionComponents, "descriptionComponents");
 
-		IJeiIngredientInfoRecipe recipe = IngredientInfoRecipe.create(ingredientManager, ingredients, ingredientType, descriptionComponents);
-		addRecipes(RecipeTypes.INFORMATION, List.of(recipe));
+		return IngredientInfoRecipe.create(ingredientManager, ingredients, ingredientType, descriptionComponents);
 	}
 }
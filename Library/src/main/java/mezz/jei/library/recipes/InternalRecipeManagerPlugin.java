@@ -59,6 +59,23 @@ public class InternalRecipeManagerPlugin implements IRecipeManagerPlugin {
 		return recipes;
 	}
 
+	@Override
+	public <T, V> Stream<T> getRecipeStream(IRecipeCategory<T> recipeCategory, IFocus<V> focus) {
+		focus = Focus.checkOne(focus, ingredientManager);
+		ITypedIngredient<V> ingredient = focus.getTypedValue();
+		RecipeIngredientRole role = focus.getRole();
+
+		RecipeMap recipeMap = this.recipeMaps.get(role);
+		RecipeType<T> recipeType = recipeCategory.getRecipeType();
+		List<T> recipes = recipeMap.getRecipes(recipeType, ingredient);
+		if (recipeMap.isCatalystForRecipeCategory(recipeType, ingredient)) {
+			List<T> recipesForCategory = getRecipes(recipeCategory);
+			return Stream.concat(recipes.stream(), recipesForCategory.stream())
+				.distinct();
+		}
+		return recipes.stream();
+	}
+
 	@Override
 	public <T> List<T> getRecipes(IRecipeCategory<T> recipeCategory) {
 		RecipeType<T> recipeType = recipeCategory.getRecipeType();
@@ -9,38 +9,48 @@ import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.library.recipes.collect.RecipeTypeData;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class PluginManager {
 	private static final Logger LOGGER = LogManager.getLogger();
 
+	private final IRecipeManagerPlugin internalRecipeManagerPlugin;
+	private final RecipeLookupCache lookupCache;
 	private List<IRecipeManagerPlugin> plugins = new ArrayList<>();
 
-	public PluginManager(IRecipeManagerPlugin internalRecipeManagerPlugin) {
+	public PluginManager(IRecipeManagerPlugin internalRecipeManagerPlugin, RecipeLookupCache lookupCache) {
+		this.internalRecipeManagerPlugin = internalRecipeManagerPlugin;
+		this.lookupCache = lookupCache;
 		this.plugins.add(internalRecipeManagerPlugin);
 	}
 
-	public <T> Stream<T> getRecipes(RecipeTypeData<T> recipeTypeData, IFocusGroup focusGroup, boolean includeHidden) {
+	/**
+	 * Recipes are read from the plugins one at a time, as they are read from the returned stream.
+	 *
+	 * @param useCache whether the internal plugin's results for each focus should be looked up in and added to the {@link RecipeLookupCache}.
+	 *                 One-off lookups that go through many recipe types should not use it, so they don't push out the results that are used again.
+	 */
+	public <T> Stream<T> getRecipes(RecipeTypeData<T> recipeTypeData, IFocusGroup focusGroup, boolean includeHidden, boolean useCache) {
 		IRecipeCategory<T> recipeCategory = recipeTypeData.getRecipeCategory();
-
-		Stream<T> recipes = this.plugins.stream()
-			.flatMap(p -> getPluginRecipeStream(p, recipeCategory, focusGroup))
-			.distinct();
-
-		if (!includeHidden) {
-			Set<T> hiddenRecipes = recipeTypeData.getHiddenRecipes();
-			Predicate<T> notHidden = ((Predicate<T>) hiddenRecipes::contains).negate();
-
-			recipes = recipes.filter(notHidden);
-		}
-		return recipes;
+		Set<T> hiddenRecipes = includeHidden ? Collections.emptySet() : recipeTypeData.getHiddenRecipes();
+		Iterator<T> recipes = new PluginRecipeIterator<>(recipeCategory, focusGroup.getAllFocuses(), hiddenRecipes, useCache);
+		Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(recipes, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false);
 	}
 
 	public Stream<RecipeType<?>> getRecipeTypes(IFocusGroup focusGroup) {
@@ -55,16 +65,17 @@ public class PluginManager {
 			.flatMap(focus -> getRecipeTypes(plugin, focus));
 	}
 
-	private <T> Stream<T> getPluginRecipeStream(IRecipeManagerPlugin plugin, IRecipeCategory<T> recipeCategory, IFocusGroup focuses) {
-		if (!focuses.isEmpty()) {
-			List<IFocus<?>> allFocuses = focuses.getAllFocuses();
-			return allFocuses.stream()
-				.flatMap(focus -> getRecipes(plugin, recipeCategory, focus));
-		}
-		return getRecipes(plugin, recipeCategory);
-	}
-
 	private Stream<RecipeType<?>> getRecipeTypes(IRecipeManagerPlugin plugin, IFocus<?> focus) {
+		if (plugin == internalRecipeManagerPlugin) {
+			List<RecipeType<?>> recipeTypes = lookupCache.getRecipeTypes(focus, () ->
+				safeCallPlugin(
+					plugin,
+					() -> plugin.getRecipeTypes(focus),
+					List.of()
+				)
+			);
+			return recipeTypes.stream();
+		}
 		return safeCallPlugin(
 			plugin,
 			() -> plugin.getRecipeTypes(focus).stream(),
@@ -75,7 +86,7 @@ public class PluginManager {
 	private <T> Stream<T> getRecipes(IRecipeManagerPlugin plugin, IRecipeCategory<T> recipeCategory) {
 		return safeCallPlugin(
 			plugin,
-			() -> plugin.getRecipes(recipeCategory).stream(),
+			() -> plugin.getRecipeStream(recipeCategory),
 			Stream.of()
 		);
 	}
@@ -83,11 +94,29 @@ public class PluginManager {
 	private <T> Stream<T> getRecipes(IRecipeManagerPlugin plugin, IRecipeCategory<T> recipeCategory, IFocus<?> focus) {
 		return safeCallPlugin(
 			plugin,
-			() -> plugin.getRecipes(recipeCategory, focus).stream(),
+			() -> plugin.getRecipeStream(recipeCategory, focus),
 			Stream.of()
 		);
 	}
 
+	private <T> Stream<T> getRecipes(IRecipeManagerPlugin plugin, IRecipeCategory<T> recipeCategory, IFocus<?> focus, boolean useCache) {
+		if (useCache && plugin == internalRecipeManagerPlugin) {
+			return getCachedRecipes(plugin, recipeCategory, focus);
+		}
+		return getRecipes(plugin, recipeCategory, focus);
+	}
+
+	private <T> Stream<T> getCachedRecipes(IRecipeManagerPlugin plugin, IRecipeCategory<T> recipeCategory, IFocus<?> focus) {
+		List<T> recipes = lookupCache.getRecipes(recipeCategory.getRecipeType(), focus, () ->
+			safeCallPlugin(
+				plugin,
+				() -> plugin.getRecipes(recipeCategory, focus),
+				List.of()
+			)
+		);
+		return recipes.stream();
+	}
+
 	private <T> T safeCallPlugin(IRecipeManagerPlugin plugin, Supplier<T> supplier, T defaultValue) {
 		Stopwatch stopWatch = Stopwatch.createStarted();
 		try {
@@ -98,15 +127,121 @@ public class PluginManager {
 			}
 			return result;
 		} catch (RuntimeException | LinkageError e) {
-			LOGGER.error("Recipe registry plugin crashed, it is being disabled: {}", plugin.getClass(), e);
-			// make a copy, in order to avoid modifying the current stream
-			this.plugins = new ArrayList<>(this.plugins);
-			this.plugins.remove(plugin);
+			disablePlugin(plugin, e);
 			return defaultValue;
 		}
 	}
 
+	private void disablePlugin(IRecipeManagerPlugin plugin, Throwable e) {
+		LOGGER.error("Recipe registry plugin crashed, it is being disabled: {}", plugin.getClass(), e);
+		// make a copy, in order to avoid modifying the current stream
+		this.plugins = new ArrayList<>(this.plugins);
+		this.plugins.remove(plugin);
+	}
+
 	public void addAll(List<IRecipeManagerPlugin> plugins) {
 		this.plugins.addAll(plugins);
 	}
+
+	/**
+	 * Goes through the recipes of each plugin for each focus in turn, only as far as they are read,
+	 * skipping recipes that are hidden or were already returned.
+	 *
+	 * Only starting each plugin's lookup goes through {@link #safeCallPlugin}, which also warns about slow plugins.
+	 * A plugin that crashes while its recipes are being read is disabled and skipped,
+	 * the same as one that crashes when the lookup starts.
+	 */
+	private class PluginRecipeIterator<T> implements Iterator<T> {
+		private final IRecipeCategory<T> recipeCategory;
+		private final List<IFocus<?>> focuses;
+		private final Set<T> hiddenRecipes;
+		private final boolean useCache;
+		private final Iterator<IRecipeManagerPlugin> pluginIterator;
+		private final Set<T> returnedRecipes = new HashSet<>();
+
+		private @Nullable IRecipeManagerPlugin plugin;
+		private Iterator<IFocus<?>> focusIterator = Collections.emptyIterator();
+		private Iterator<T> recipeIterator = Collections.emptyIterator();
+		private @Nullable T next;
+
+		public PluginRecipeIterator(IRecipeCategory<T> recipeCategory, List<IFocus<?>> focuses, Set<T> hiddenRecipes, boolean useCache) {
+			this.recipeCategory = recipeCategory;
+			this.focuses = focuses;
+			this.hiddenRecipes = hiddenRecipes;
+			this.useCache = useCache;
+			this.pluginIterator = List.copyOf(plugins).iterator();
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null) {
+				if (!readRecipe() && !nextRecipeIterator()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			T recipe = Objects.requireNonNull(next);
+			next = null;
+			return recipe;
+		}
+
+		/**
+		 * Reads one recipe from the current plugin and focus.
+		 * Returns false if there are no more, or if the plugin crashed.
+		 */
+		private boolean readRecipe() {
+			IRecipeManagerPlugin plugin = this.plugin;
+			if (plugin == null) {
+				return false;
+			}
+			try {
+				if (!recipeIterator.hasNext()) {
+					return false;
+				}
+				T recipe = recipeIterator.next();
+				if (!hiddenRecipes.contains(recipe) && returnedRecipes.add(recipe)) {
+					next = recipe;
+				}
+				return true;
+			} catch (RuntimeException | LinkageError e) {
+				disablePlugin(plugin, e);
+				return false;
+			}
+		}
+
+		/**
+		 * Moves on to the recipes for the next focus, or the next plugin.
+		 * Returns false if there are none left.
+		 */
+		private boolean nextRecipeIterator() {
+			while (true) {
+				IRecipeManagerPlugin plugin = this.plugin;
+				// plugins that crashed have been removed, skip the rest of their focuses
+				if (plugin != null && focusIterator.hasNext() && plugins.contains(plugin)) {
+					IFocus<?> focus = focusIterator.next();
+					recipeIterator = getRecipes(plugin, recipeCategory, focus, useCache).iterator();
+					return true;
+				}
+				if (!pluginIterator.hasNext()) {
+					this.plugin = null;
+					return false;
+				}
+				plugin = pluginIterator.next();
+				this.plugin = plugin;
+				if (focuses.isEmpty()) {
+					focusIterator = Collections.emptyIterator();
+					recipeIterator = getRecipes(plugin, recipeCategory).iterator();
+					return true;
+				}
+				focusIterator = focuses.iterator();
+			}
+		}
+	}
 }
@@ -0,0 +1,70 @@
+package mezz.jei.library.recipes;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.runtime.IIngredientVisibility;
+import mezz.jei.common.config.IClientToggleState;
+import mezz.jei.library.recipes.collect.RecipeTypeData;
+
+import java.util.List;
+
+/**
+ * Keeps track of how many of each recipe category's catalysts are visible,
+ * so checking if a category's catalysts have all been hidden does not need to check every catalyst every time.
+ *
+ * Counts are forgotten whenever ingredient visibility or edit mode changes,
+ * and each category is counted again the next time it is needed.
+ */
+public class RecipeCatalystVisibility implements IIngredientVisibility.IListener, IClientToggleState.IEditModeListener {
+	private static final int UNKNOWN = -1;
+
+	private final IIngredientVisibility ingredientVisibility;
+	private final Reference2IntOpenHashMap<RecipeType<?>> visibleCatalystCounts = new Reference2IntOpenHashMap<>();
+
+	public RecipeCatalystVisibility(IIngredientVisibility ingredientVisibility) {
+		this.ingredientVisibility = ingredientVisibility;
+		this.visibleCatalystCounts.defaultReturnValue(UNKNOWN);
+	}
+
+	/**
+	 * Returns true if the category has catalysts, but they have all been hidden.
+	 */
+	public synchronized boolean areAllCatalystsHidden(RecipeTypeData<?> recipeTypeData) {
+		List<ITypedIngredient<?>> catalysts = recipeTypeData.getRecipeCategoryCatalysts();
+		if (catalysts.isEmpty()) {
+			return false;
+		}
+		RecipeType<?> recipeType = recipeTypeData.getRecipeCategory().getRecipeType();
+		int visibleCount = visibleCatalystCounts.getInt(recipeType);
+		if (visibleCount == UNKNOWN) {
+			visibleCount = countVisible(catalysts);
+			visibleCatalystCounts.put(recipeType, visibleCount);
+		}
+		return visibleCount == 0;
+	}
+
+	private int countVisible(List<ITypedIngredient<?>> catalysts) {
+		int count = 0;
+		for (ITypedIngredient<?> catalyst : catalysts) {
+			if (ingredientVisibility.isIngredientVisible(catalyst)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	public synchronized void invalidate() {
+		visibleCatalystCounts.clear();
+	}
+
+	@Override
+	public <V> void onIngredientVisibilityChanged(ITypedIngredient<V> ingredient, boolean visible) {
+		invalidate();
+	}
+
+	@Override
+	public void onEditModeChanged() {
+		invalidate();
+	}
+}
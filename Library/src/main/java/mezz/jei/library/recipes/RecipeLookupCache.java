@@ -0,0 +1,101 @@
+package mezz.jei.library.recipes;
+
+import mezz.jei.api.ingredients.IIngredientHelper;
+import mezz.jei.api.ingredients.IIngredientType;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.ingredients.subtypes.UidContext;
+import mezz.jei.api.recipe.IFocus;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.ingredients.IngredientUids;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the results of recent focused lookups from the {@link InternalRecipeManagerPlugin},
+ * so that looking up the same focus again (like hovering back and forth between items and pressing R or U) is fast.
+ *
+ * The internal plugin looks up recipes by the {@link UidContext#Recipe} uid of the focused ingredient,
+ * so its results are the same for every focus with the same role, ingredient type and recipe uid,
+ * and those are used as the key.
+ * Other plugins get the whole ingredient and may return anything for it, so their results are never cached.
+ *
+ * The internal plugin returns hidden recipes too, they are filtered out later,
+ * so everything only has to be cleared when recipes are added.
+ */
+public class RecipeLookupCache {
+	private static final int MAX_SIZE = 64;
+
+	private final IIngredientManager ingredientManager;
+	private final Map<Object, List<?>> results = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, List<?>> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+	private int generation;
+
+	public RecipeLookupCache(IIngredientManager ingredientManager) {
+		this.ingredientManager = ingredientManager;
+	}
+
+	@Unmodifiable
+	public List<RecipeType<?>> getRecipeTypes(IFocus<?> focus, Supplier<List<RecipeType<?>>> supplier) {
+		RecipeTypesKey key = new RecipeTypesKey(createFocusKey(focus));
+		return get(key, supplier);
+	}
+
+	@Unmodifiable
+	public <T> List<T> getRecipes(RecipeType<T> recipeType, IFocus<?> focus, Supplier<List<T>> supplier) {
+		RecipesKey key = new RecipesKey(recipeType, createFocusKey(focus));
+		return get(key, supplier);
+	}
+
+	/**
+	 * The supplier is called without holding the lock, because it may take a while.
+	 * Its result is thrown away if the cache was invalidated in the meantime.
+	 */
+	private <T> List<T> get(Object key, Supplier<List<T>> supplier) {
+		int startGeneration;
+		synchronized (this) {
+			@SuppressWarnings("unchecked")
+			List<T> cached = (List<T>) results.get(key);
+			if (cached != null) {
+				return cached;
+			}
+			startGeneration = generation;
+		}
+
+		List<T> result = List.copyOf(supplier.get());
+		synchronized (this) {
+			if (generation == startGeneration) {
+				results.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	public synchronized void invalidate() {
+		results.clear();
+		generation++;
+	}
+
+	private <V> FocusKey createFocusKey(IFocus<V> focus) {
+		ITypedIngredient<V> typedIngredient = focus.getTypedValue();
+		IIngredientType<V> type = typedIngredient.getType();
+		IIngredientHelper<V> ingredientHelper = ingredientManager.getIngredientHelper(type);
+		Object uid = IngredientUids.getUid(typedIngredient, UidContext.Recipe, ingredientHelper);
+		return new FocusKey(focus.getRole(), type, uid);
+	}
+
+	private record FocusKey(RecipeIngredientRole role, IIngredientType<?> type, Object uid) {}
+
+	private record RecipeTypesKey(FocusKey focus) {}
+
+	private record RecipesKey(RecipeType<?> recipeType, FocusKey focus) {}
+}
@@ -174,6 +174,14 @@ public class RecipeManager implements IRecipeManager {
 		return IngredientSupplierHelper.getIngredientSupplier(recipe, recipeCategory, ingredientManager);
 	}
 
+	@Override
+	public <T> List<List<ITypedIngredient<?>>> getRecipeSlotIngredients(IRecipeCategory<T> recipeCategory, T recipe, RecipeIngredientRole role) {
+		ErrorUtil.checkNotNull(recipeCategory, "recipeCategory");
+		ErrorUtil.checkNotNull(recipe, "recipe");
+		ErrorUtil.checkNotNull(role, "role");
+		return IngredientSupplierHelper.getSlotIngredients(recipe, recipeCategory, role, ingredientManager);
+	}
+
 	@Override
 	public <T> void hideRecipes(RecipeType<T> recipeType, Collection<T> recipes) {
 		ErrorUtil.checkNotNull(recipes, "recipe");
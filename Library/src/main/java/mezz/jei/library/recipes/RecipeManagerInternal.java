@@ -13,6 +13,8 @@ import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.api.recipe.category.extensions.IRecipeCategoryDecorator;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.api.runtime.IIngredientVisibility;
+import mezz.jei.common.Internal;
+import mezz.jei.common.config.IClientToggleState;
 import mezz.jei.common.util.ErrorUtil;
 import mezz.jei.library.config.RecipeCategorySortingConfig;
 import mezz.jei.library.recipes.collect.RecipeMap;
@@ -26,18 +28,23 @@ import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 
 public class RecipeManagerInternal {
 	private static final Logger LOGGER = LogManager.getLogger();
+	/**
+	 * Smaller batches of recipes are registered on the calling thread, where the parallel overhead is not worth it.
+	 */
+	private static final int PARALLEL_REGISTRATION_THRESHOLD = 256;
 
 	@Unmodifiable
 	private final List<IRecipeCategory<?>> recipeCategories;
@@ -48,6 +55,9 @@ public class RecipeManagerInternal {
 	private final PluginManager pluginManager;
 	private final Set<RecipeType<?>> hiddenRecipeTypes = new HashSet<>();
 	private final IIngredientVisibility ingredientVisibility;
+	private final boolean parallelRecipeRegistration;
+	private final RecipeLookupCache lookupCache;
+	private final RecipeCatalystVisibility catalystVisibility;
 	private ImmutableListMultimap<RecipeType<?>, IRecipeCategoryDecorator<?>> recipeCategoryDecorators;
 
 	@Nullable
@@ -59,13 +69,22 @@ public class RecipeManagerInternal {
 		ImmutableListMultimap<RecipeType<?>, ITypedIngredient<?>> recipeCatalysts,
 		IIngredientManager ingredientManager,
 		RecipeCategorySortingConfig recipeCategorySortingConfig,
-		IIngredientVisibility ingredientVisibility
+		IIngredientVisibility ingredientVisibility,
+		boolean parallelRecipeRegistration
 	) {
 		ErrorUtil.checkNotEmpty(recipeCategories, "recipeCategories");
 
 		this.recipeCategoryDecorators = ImmutableListMultimap.of();
 		this.ingredientManager = ingredientManager;
 		this.ingredientVisibility = ingredientVisibility;
+		this.parallelRecipeRegistration = parallelRecipeRegistration;
+
+		IClientToggleState toggleState = Internal.getClientToggleState();
+		this.lookupCache = new RecipeLookupCache(ingredientManager);
+
+		this.catalystVisibility = new RecipeCatalystVisibility(ingredientVisibility);
+		ingredientVisibility.registerListener(catalystVisibility);
+		toggleState.addEditModeToggleListener(catalystVisibility);
 
 		Collection<RecipeType<?>> recipeTypes = recipeCategories.stream()
 			.<RecipeType<?>>map(IRecipeCategory::getRecipeType)
@@ -99,7 +118,7 @@ public class RecipeManagerInternal {
 			recipeTypeDataMap,
 			recipeMaps
 		);
-		this.pluginManager = new PluginManager(internalRecipeManagerPlugin);
+		this.pluginManager = new PluginManager(internalRecipeManagerPlugin, lookupCache);
 	}
 
 	public void addPlugins(List<IRecipeManagerPlugin> plugins) {
@@ -116,49 +135,72 @@ public class RecipeManagerInternal {
 		IRecipeCategory<T> recipeCategory = recipeTypeData.getRecipeCategory();
 		Set<T> hiddenRecipes = recipeTypeData.getHiddenRecipes();
 
-		List<T> addedRecipes = new ArrayList<>(recipes.size());
-		for (T recipe : recipes) {
-			if (addRecipe(recipeCategory, recipe, hiddenRecipes)) {
-				addedRecipes.add(recipe);
-			}
-		}
+		// Getting the ingredients and their uids is the slow part, and it does not modify anything, so it can run in parallel.
+		// The results keep the original recipe order, so adding them to the recipe maps builds exactly the same tables.
+		boolean parallel = parallelRecipeRegistration && recipes.size() >= PARALLEL_REGISTRATION_THRESHOLD;
+		Stream<T> recipeStream = parallel ? recipes.parallelStream() : recipes.stream();
+		List<PreparedRecipe<T>> preparedRecipes = recipeStream
+			.map(recipe -> prepareRecipe(recipeCategory, recipe, hiddenRecipes))
+			.filter(Objects::nonNull)
+			.toList();
 
-		if (!addedRecipes.isEmpty()) {
-			recipeTypeData.addRecipes(addedRecipes);
-			recipeCategoriesVisibleCache = null;
+		if (preparedRecipes.isEmpty()) {
+			return;
 		}
+
+		// each recipe map is only ever modified by one thread
+		Stream<Map.Entry<RecipeIngredientRole, RecipeMap>> recipeMapStream = parallel ? recipeMaps.entrySet().parallelStream() : recipeMaps.entrySet().stream();
+		recipeMapStream.forEach(entry -> {
+			RecipeIngredientRole role = entry.getKey();
+			RecipeMap recipeMap = entry.getValue();
+			for (PreparedRecipe<T> preparedRecipe : preparedRecipes) {
+				Set<Object> ingredientUids = preparedRecipe.ingredientUids().get(role);
+				recipeMap.addRecipe(recipeType, preparedRecipe.recipe(), ingredientUids);
+			}
+		});
+
+		List<T> addedRecipes = preparedRecipes.stream()
+			.map(PreparedRecipe::recipe)
+			.toList();
+		recipeTypeData.addRecipes(addedRecipes);
+		recipeCategoriesVisibleCache = null;
+		lookupCache.invalidate();
 	}
 
-	private <T> boolean addRecipe(IRecipeCategory<T> recipeCategory, T recipe, Set<T> hiddenRecipes) {
-		RecipeType<T> recipeType = recipeCategory.getRecipeType();
+	@Nullable
+	private <T> PreparedRecipe<T> prepareRecipe(IRecipeCategory<T> recipeCategory, T recipe, Set<T> hiddenRecipes) {
 		if (hiddenRecipes.contains(recipe)) {
 			if (LOGGER.isDebugEnabled()) {
 				String recipeInfo = RecipeErrorUtil.getInfoFromRecipe(recipe, recipeCategory, ingredientManager);
 				LOGGER.debug("Recipe not added because it is hidden: {}", recipeInfo);
 			}
-			return false;
+			return null;
 		}
 		if (!recipeCategory.isHandled(recipe)) {
 			if (LOGGER.isDebugEnabled()) {
 				String recipeInfo = RecipeErrorUtil.getInfoFromRecipe(recipe, recipeCategory, ingredientManager);
 				LOGGER.debug("Recipe not added because the recipe category cannot handle it: {}", recipeInfo);
 			}
-			return false;
+			return null;
 		}
 		IIngredientSupplier ingredientSupplier = IngredientSupplierHelper.getIngredientSupplier(recipe, recipeCategory, ingredientManager);
 
 		try {
-			for (RecipeMap recipeMap : recipeMaps.values()) {
-				recipeMap.addRecipe(recipeType, recipe, ingredientSupplier);
+			EnumMap<RecipeIngredientRole, Set<Object>> ingredientUids = new EnumMap<>(RecipeIngredientRole.class);
+			for (Map.Entry<RecipeIngredientRole, RecipeMap> entry : recipeMaps.entrySet()) {
+				RecipeMap recipeMap = entry.getValue();
+				ingredientUids.put(entry.getKey(), recipeMap.getIngredientUids(ingredientSupplier));
 			}
-			return true;
+			return new PreparedRecipe<>(recipe, ingredientUids);
 		} catch (RuntimeException | LinkageError e) {
 			String recipeInfo = RecipeErrorUtil.getInfoFromRecipe(recipe, recipeCategory, ingredientManager);
 			LOGGER.error("Found a broken recipe, failed to addRecipe: {}\n", recipeInfo, e);
-			return false;
+			return null;
 		}
 	}
 
+	private record PreparedRecipe<T>(T recipe, EnumMap<RecipeIngredientRole, Set<Object>> ingredientUids) {}
+
 	public boolean isCategoryHidden(IRecipeCategory<?> recipeCategory, IFocusGroup focuses) {
 		// hide the category if it has been explicitly hidden
 		RecipeType<?> recipeType = recipeCategory.getRecipeType();
@@ -167,14 +209,19 @@ public class RecipeManagerInternal {
 		}
 
 		// hide the category if it has catalysts, but they have all been hidden
-		if (getRecipeCatalystStream(recipeType, true).findAny().isPresent() &&
-			getRecipeCatalystStream(recipeType, false).findAny().isEmpty())
-		{
+		RecipeTypeData<?> recipeTypeData = recipeTypeDataMap.get(recipeType);
+		if (catalystVisibility.areAllCatalystsHidden(recipeTypeData)) {
 			return true;
 		}
 
-		// hide the category if it has no recipes, or if the recipes have all been hidden
-		Stream<?> visibleRecipes = getRecipesStream(recipeType, focuses, false);
+		// without a focus, any registered recipe that is not hidden will be shown
+		if (focuses.isEmpty() && recipeTypeData.getVisibleRecipeCount() > 0) {
+			return false;
+		}
+
+		// hide the category if it has no recipes, or if the recipes have all been hidden.
+		// this is checked for every category at once, so it skips the lookup cache to avoid pushing everything else out of it.
+		Stream<?> visibleRecipes = this.pluginManager.getRecipes(recipeTypeData, focuses, false, false);
 		return visibleRecipes.findAny().isEmpty();
 	}
 
@@ -236,7 +283,7 @@ public class RecipeManagerInternal {
 
 	public <T> Stream<T> getRecipesStream(RecipeType<T> recipeType, IFocusGroup focuses, boolean includeHidden) {
 		RecipeTypeData<T> recipeTypeData = this.recipeTypeDataMap.get(recipeType);
-		return this.pluginManager.getRecipes(recipeTypeData, focuses, includeHidden);
+		return this.pluginManager.getRecipes(recipeTypeData, focuses, includeHidden, true);
 	}
 
 	public <T> Stream<ITypedIngredient<?>> getRecipeCatalystStream(RecipeType<T> recipeType, boolean includeHidden) {
@@ -251,15 +298,13 @@ public class RecipeManagerInternal {
 
 	public <T> void hideRecipes(RecipeType<T> recipeType, Collection<T> recipes) {
 		RecipeTypeData<T> recipeTypeData = recipeTypeDataMap.get(recipeType);
-		Set<T> hiddenRecipes = recipeTypeData.getHiddenRecipes();
-		hiddenRecipes.addAll(recipes);
+		recipeTypeData.hideRecipes(recipes);
 		recipeCategoriesVisibleCache = null;
 	}
 
 	public <T> void unhideRecipes(RecipeType<T> recipeType, Collection<T> recipes) {
 		RecipeTypeData<T> recipeTypeData = recipeTypeDataMap.get(recipeType);
-		Set<T> hiddenRecipes = recipeTypeData.getHiddenRecipes();
-		hiddenRecipes.removeAll(recipes);
+		recipeTypeData.unhideRecipes(recipes);
 		recipeCategoriesVisibleCache = null;
 	}
 
@@ -290,7 +335,7 @@ public class RecipeManagerInternal {
 	}
 
 	public void compact() {
-		recipeMaps.values().forEach(RecipeMap::compact);
+		recipeMaps.values().forEach(RecipeMap::freeze);
 	}
 
 	public boolean isRecipeCatalyst(RecipeType<?> recipeType, IFocus<?> focus) {
@@ -0,0 +1,41 @@
+package mezz.jei.library.recipes.collect;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable view of the elements a list has right now, for lists that are only ever appended to.
+ *
+ * Elements that are already in the list never change, so this keeps working when more recipes are added later,
+ * unlike an iterator or a {@link List#subList} of the list itself, which throw a {@link java.util.ConcurrentModificationException}.
+ * Recipe lookups are read lazily, so they may still be reading one of these when recipes are added at runtime.
+ */
+final class AppendOnlyListSnapshot<T> extends AbstractList<T> implements RandomAccess {
+	private final List<T> list;
+	private final int size;
+
+	public static <T> List<T> of(List<T> list) {
+		if (list.isEmpty()) {
+			return List.of();
+		}
+		return new AppendOnlyListSnapshot<>(list, list.size());
+	}
+
+	private AppendOnlyListSnapshot(List<T> list, int size) {
+		this.list = list;
+		this.size = size;
+	}
+
+	@Override
+	public T get(int index) {
+		Objects.checkIndex(index, size);
+		return list.get(index);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+}
@@ -0,0 +1,79 @@
+package mezz.jei.library.recipes.collect;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable version of {@link IngredientToRecipesMap}.
+ *
+ * The recipes for every ingredient uid are stored one after another in a single flat array,
+ * with the start of each ingredient's recipes kept in an offset table (compressed sparse rows).
+ * Ingredient uids are looked up by their {@link IngredientUidIds} id, which are kept sorted for binary search.
+ */
+public class FrozenIngredientToRecipesMap<R> {
+	private final int[] uidIds;
+	private final int[] offsets;
+	private final List<R> recipes;
+
+	public static <R> FrozenIngredientToRecipesMap<R> create(Map<Object, ? extends List<R>> uidToRecipes, IngredientUidIds ingredientUidIds) {
+		int size = uidToRecipes.size();
+		int[] uidIds = new int[size];
+		int[] recipeCounts = new int[size];
+		Object[] recipeLists = new Object[size];
+		int totalRecipes = 0;
+		int i = 0;
+		for (Map.Entry<Object, ? extends List<R>> entry : uidToRecipes.entrySet()) {
+			List<R> recipes = entry.getValue();
+			uidIds[i] = ingredientUidIds.getOrCreate(entry.getKey());
+			recipeCounts[i] = recipes.size();
+			recipeLists[i] = recipes;
+			totalRecipes += recipes.size();
+			i++;
+		}
+
+		int[] order = new int[size];
+		Arrays.setAll(order, index -> index);
+		IntArrays.quickSort(order, (a, b) -> Integer.compare(uidIds[a], uidIds[b]));
+
+		int[] sortedUidIds = new int[size];
+		int[] offsets = new int[size + 1];
+		Object[] recipes = new Object[totalRecipes];
+		int offset = 0;
+		for (int sorted = 0; sorted < size; sorted++) {
+			int index = order[sorted];
+			sortedUidIds[sorted] = uidIds[index];
+			offsets[sorted] = offset;
+			@SuppressWarnings("unchecked")
+			List<R> recipeList = (List<R>) recipeLists[index];
+			for (R recipe : recipeList) {
+				recipes[offset++] = recipe;
+			}
+		}
+		offsets[size] = offset;
+
+		@SuppressWarnings("unchecked")
+		List<R> recipesList = (List<R>) Arrays.asList(recipes);
+		return new FrozenIngredientToRecipesMap<>(sortedUidIds, offsets, recipesList);
+	}
+
+	private FrozenIngredientToRecipesMap(int[] uidIds, int[] offsets, List<R> recipes) {
+		this.uidIds = uidIds;
+		this.offsets = offsets;
+		this.recipes = recipes;
+	}
+
+	@Unmodifiable
+	public List<R> get(int uidId) {
+		int index = Arrays.binarySearch(uidIds, uidId);
+		if (index < 0) {
+			return List.of();
+		}
+		List<R> subList = recipes.subList(offsets[index], offsets[index + 1]);
+		return Collections.unmodifiableList(subList);
+	}
+}
@@ -0,0 +1,85 @@
+package mezz.jei.library.recipes.collect;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import mezz.jei.api.recipe.RecipeType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * An immutable map from ingredient uid ids to recipe type ids.
+ *
+ * The recipe type ids for every ingredient uid are stored sorted, one after another in a single flat array,
+ * with the start of each ingredient's recipe types kept in an offset table (compressed sparse rows).
+ */
+public class FrozenRecipeTypeIndex {
+	private static final FrozenRecipeTypeIndex EMPTY = new FrozenRecipeTypeIndex(new int[1], new int[0]);
+
+	private final int[] offsets;
+	private final int[] recipeTypeIds;
+
+	public static FrozenRecipeTypeIndex empty() {
+		return EMPTY;
+	}
+
+	public static FrozenRecipeTypeIndex create(
+		Map<Object, Collection<RecipeType<?>>> uidToRecipeTypes,
+		IngredientUidIds ingredientUidIds,
+		Reference2IntMap<RecipeType<?>> recipeTypeIds
+	) {
+		int uidCount = ingredientUidIds.size();
+		int[] counts = new int[uidCount];
+		int total = 0;
+		for (Map.Entry<Object, Collection<RecipeType<?>>> entry : uidToRecipeTypes.entrySet()) {
+			int uidId = ingredientUidIds.get(entry.getKey());
+			int count = entry.getValue().size();
+			counts[uidId] = count;
+			total += count;
+		}
+
+		int[] offsets = new int[uidCount + 1];
+		for (int uidId = 0; uidId < uidCount; uidId++) {
+			offsets[uidId + 1] = offsets[uidId] + counts[uidId];
+		}
+
+		int[] ids = new int[total];
+		for (Map.Entry<Object, Collection<RecipeType<?>>> entry : uidToRecipeTypes.entrySet()) {
+			int uidId = ingredientUidIds.get(entry.getKey());
+			int start = offsets[uidId];
+			int i = start;
+			for (RecipeType<?> recipeType : entry.getValue()) {
+				ids[i++] = recipeTypeIds.getInt(recipeType);
+			}
+			Arrays.sort(ids, start, i);
+		}
+		return new FrozenRecipeTypeIndex(offsets, ids);
+	}
+
+	private FrozenRecipeTypeIndex(int[] offsets, int[] recipeTypeIds) {
+		this.offsets = offsets;
+		this.recipeTypeIds = recipeTypeIds;
+	}
+
+	public int getStart(int uidId) {
+		if (uidId < 0 || uidId >= offsets.length - 1) {
+			return 0;
+		}
+		return offsets[uidId];
+	}
+
+	public int getEnd(int uidId) {
+		if (uidId < 0 || uidId >= offsets.length - 1) {
+			return 0;
+		}
+		return offsets[uidId + 1];
+	}
+
+	public int getRecipeTypeId(int index) {
+		return recipeTypeIds[index];
+	}
+
+	public boolean contains(int uidId, int recipeTypeId) {
+		return Arrays.binarySearch(recipeTypeIds, getStart(uidId), getEnd(uidId), recipeTypeId) >= 0;
+	}
+}
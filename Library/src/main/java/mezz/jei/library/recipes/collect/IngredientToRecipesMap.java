@@ -1,11 +1,10 @@
 package mezz.jei.library.recipes.collect;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import org.jetbrains.annotations.UnmodifiableView;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -19,16 +18,27 @@ public class IngredientToRecipesMap<R> {
 		}
 	}
 
-	@UnmodifiableView
+	/**
+	 * Returns the recipes added so far. Recipes that are added later are not included.
+	 */
+	@Unmodifiable
 	public List<R> get(Object ingredientUid) {
 		List<R> recipes = uidToRecipes.get(ingredientUid);
 		if (recipes == null) {
-			return Collections.emptyList();
+			return List.of();
 		}
-		return Collections.unmodifiableList(recipes);
+		return AppendOnlyListSnapshot.of(recipes);
+	}
+
+	public boolean isEmpty() {
+		return uidToRecipes.isEmpty();
 	}
 
 	public void compact() {
 		uidToRecipes.values().forEach(ArrayList::trimToSize);
 	}
+
+	public FrozenIngredientToRecipesMap<R> freeze(IngredientUidIds ingredientUidIds) {
+		return FrozenIngredientToRecipesMap.create(uidToRecipes, ingredientUidIds);
+	}
 }
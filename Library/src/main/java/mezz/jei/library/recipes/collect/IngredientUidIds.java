@@ -0,0 +1,40 @@
+package mezz.jei.library.recipes.collect;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+/**
+ * Assigns small int ids to ingredient uids, so that frozen recipe tables can refer to them with primitive arrays.
+ */
+public class IngredientUidIds {
+	public static final int NONE = -1;
+
+	private final Object2IntOpenHashMap<Object> ids = new Object2IntOpenHashMap<>();
+
+	public IngredientUidIds() {
+		this.ids.defaultReturnValue(NONE);
+	}
+
+	public int getOrCreate(Object ingredientUid) {
+		int id = ids.getInt(ingredientUid);
+		if (id == NONE) {
+			id = ids.size();
+			ids.put(ingredientUid, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the id for the ingredient uid, or {@link #NONE} if it has no id.
+	 */
+	public int get(Object ingredientUid) {
+		return ids.getInt(ingredientUid);
+	}
+
+	public int size() {
+		return ids.size();
+	}
+
+	public void trim() {
+		ids.trim();
+	}
+}
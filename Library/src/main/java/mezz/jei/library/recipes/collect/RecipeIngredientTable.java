@@ -1,15 +1,21 @@
 package mezz.jei.library.recipes.collect;
 
 import mezz.jei.api.recipe.RecipeType;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class RecipeIngredientTable {
-	private final Map<RecipeType<?>, IngredientToRecipesMap<?>> map = new HashMap<>();
+	private Map<RecipeType<?>, IngredientToRecipesMap<?>> map = new HashMap<>();
+	private Map<RecipeType<?>, FrozenIngredientToRecipesMap<?>> frozenMap = Map.of();
+	@Nullable
+	private IngredientUidIds frozenUidIds;
 
 	public <V> void add(V recipe, RecipeType<V> recipeType, Collection<Object> ingredientUids) {
 		@SuppressWarnings("unchecked")
@@ -19,6 +25,37 @@ public class RecipeIngredientTable {
 
 	@UnmodifiableView
 	public <V> List<V> get(RecipeType<V> recipeType, Object ingredientUid) {
+		List<V> frozenRecipes = getFrozen(recipeType, ingredientUid);
+		List<V> recipes = getUnfrozen(recipeType, ingredientUid);
+		if (recipes.isEmpty()) {
+			return frozenRecipes;
+		}
+		if (frozenRecipes.isEmpty()) {
+			return recipes;
+		}
+		List<V> combined = new ArrayList<>(frozenRecipes.size() + recipes.size());
+		combined.addAll(frozenRecipes);
+		combined.addAll(recipes);
+		return Collections.unmodifiableList(combined);
+	}
+
+	private <V> List<V> getFrozen(RecipeType<V> recipeType, Object ingredientUid) {
+		if (frozenUidIds == null) {
+			return List.of();
+		}
+		@SuppressWarnings("unchecked")
+		FrozenIngredientToRecipesMap<V> frozenIngredientToRecipesMap = (FrozenIngredientToRecipesMap<V>) this.frozenMap.get(recipeType);
+		if (frozenIngredientToRecipesMap == null) {
+			return List.of();
+		}
+		int uidId = frozenUidIds.get(ingredientUid);
+		if (uidId == IngredientUidIds.NONE) {
+			return List.of();
+		}
+		return frozenIngredientToRecipesMap.get(uidId);
+	}
+
+	private <V> List<V> getUnfrozen(RecipeType<V> recipeType, Object ingredientUid) {
 		@SuppressWarnings("unchecked")
 		IngredientToRecipesMap<V> ingredientToRecipesMap = (IngredientToRecipesMap<V>) this.map.get(recipeType);
 		if (ingredientToRecipesMap == null) {
@@ -30,4 +67,26 @@ public class RecipeIngredientTable {
 	public void compact() {
 		map.values().forEach(IngredientToRecipesMap::compact);
 	}
+
+	/**
+	 * Moves all the recipes added so far into immutable tables that use much less memory.
+	 * Recipes added after this are kept in the regular tables and combined with the frozen ones on lookup.
+	 * Only the first call has an effect.
+	 */
+	public void freeze(IngredientUidIds ingredientUidIds) {
+		if (frozenUidIds != null) {
+			compact();
+			return;
+		}
+		Map<RecipeType<?>, FrozenIngredientToRecipesMap<?>> frozenMap = new HashMap<>();
+		for (Map.Entry<RecipeType<?>, IngredientToRecipesMap<?>> entry : map.entrySet()) {
+			IngredientToRecipesMap<?> ingredientToRecipesMap = entry.getValue();
+			if (!ingredientToRecipesMap.isEmpty()) {
+				frozenMap.put(entry.getKey(), ingredientToRecipesMap.freeze(ingredientUidIds));
+			}
+		}
+		this.frozenMap = Map.copyOf(frozenMap);
+		this.frozenUidIds = ingredientUidIds;
+		this.map = new HashMap<>();
+	}
 }
@@ -4,6 +4,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import mezz.jei.api.ingredients.IIngredientHelper;
 import mezz.jei.api.ingredients.IIngredientSupplier;
 import mezz.jei.api.ingredients.IIngredientType;
@@ -12,8 +13,12 @@ import mezz.jei.api.ingredients.subtypes.UidContext;
 import mezz.jei.api.recipe.RecipeIngredientRole;
 import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.ingredients.IngredientUids;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 import org.jetbrains.annotations.UnmodifiableView;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -26,26 +31,85 @@ import java.util.stream.Stream;
  */
 public class RecipeMap {
 	private final RecipeIngredientTable recipeTable = new RecipeIngredientTable();
-	private final Multimap<Object, RecipeType<?>> ingredientUidToCategoryMap = Multimaps.newSetMultimap(new Object2ObjectOpenHashMap<>(), () -> new ObjectOpenHashSet<>(2));
-	private final Multimap<Object, RecipeType<?>> categoryCatalystUidToRecipeCategoryMap = Multimaps.newSetMultimap(new Object2ObjectOpenHashMap<>(), ObjectOpenHashSet::new);
+	private Multimap<Object, RecipeType<?>> ingredientUidToCategoryMap = createIngredientUidToCategoryMap();
+	private Multimap<Object, RecipeType<?>> categoryCatalystUidToRecipeCategoryMap = createCategoryCatalystUidToRecipeCategoryMap();
 	private final Comparator<RecipeType<?>> recipeTypeComparator;
 	private final IIngredientManager ingredientManager;
 	private final RecipeIngredientRole role;
 
+	/**
+	 * Immutable copies of the maps above, created by {@link #freeze()}.
+	 * Recipe type ids are assigned in {@link #recipeTypeComparator} order,
+	 * so the frozen recipe types for an ingredient are already sorted.
+	 */
+	@Nullable
+	private IngredientUidIds frozenUidIds;
+	@Unmodifiable
+	private List<RecipeType<?>> frozenRecipeTypes = List.of();
+	private final Reference2IntOpenHashMap<RecipeType<?>> frozenRecipeTypeIds = new Reference2IntOpenHashMap<>();
+	private FrozenRecipeTypeIndex frozenCategoryIndex = FrozenRecipeTypeIndex.empty();
+	private FrozenRecipeTypeIndex frozenCatalystIndex = FrozenRecipeTypeIndex.empty();
+
 	public RecipeMap(Comparator<RecipeType<?>> recipeTypeComparator, IIngredientManager ingredientManager, RecipeIngredientRole role) {
 		this.recipeTypeComparator = recipeTypeComparator;
 		this.ingredientManager = ingredientManager;
 		this.role = role;
+		this.frozenRecipeTypeIds.defaultReturnValue(-1);
+	}
+
+	private static Multimap<Object, RecipeType<?>> createIngredientUidToCategoryMap() {
+		return Multimaps.newSetMultimap(new Object2ObjectOpenHashMap<>(), () -> new ObjectOpenHashSet<>(2));
+	}
+
+	private static Multimap<Object, RecipeType<?>> createCategoryCatalystUidToRecipeCategoryMap() {
+		return Multimaps.newSetMultimap(new Object2ObjectOpenHashMap<>(), ObjectOpenHashSet::new);
 	}
 
 	public <T> Stream<RecipeType<?>> getRecipeTypes(ITypedIngredient<T> ingredient) {
 		Object ingredientUid = getIngredientUid(ingredient);
+		List<RecipeType<?>> frozenTypes = getFrozenRecipeTypes(ingredientUid);
 		Collection<RecipeType<?>> recipeCategoryUids = ingredientUidToCategoryMap.get(ingredientUid);
 		Collection<RecipeType<?>> catalystRecipeCategoryUids = categoryCatalystUidToRecipeCategoryMap.get(ingredientUid);
-		return Stream.concat(recipeCategoryUids.stream(), catalystRecipeCategoryUids.stream())
+		if (recipeCategoryUids.isEmpty() && catalystRecipeCategoryUids.isEmpty()) {
+			return frozenTypes.stream();
+		}
+		return Stream.of(frozenTypes, recipeCategoryUids, catalystRecipeCategoryUids)
+			.flatMap(Collection::stream)
+			.distinct()
 			.sorted(recipeTypeComparator);
 	}
 
+	/**
+	 * Merges the sorted recipe type ids of the frozen category and catalyst indexes.
+	 */
+	private List<RecipeType<?>> getFrozenRecipeTypes(Object ingredientUid) {
+		if (frozenUidIds == null) {
+			return List.of();
+		}
+		int uidId = frozenUidIds.get(ingredientUid);
+		if (uidId == IngredientUidIds.NONE) {
+			return List.of();
+		}
+		int categoryIndex = frozenCategoryIndex.getStart(uidId);
+		int categoryEnd = frozenCategoryIndex.getEnd(uidId);
+		int catalystIndex = frozenCatalystIndex.getStart(uidId);
+		int catalystEnd = frozenCatalystIndex.getEnd(uidId);
+		List<RecipeType<?>> recipeTypes = new ArrayList<>((categoryEnd - categoryIndex) + (catalystEnd - catalystIndex));
+		while (categoryIndex < categoryEnd || catalystIndex < catalystEnd) {
+			int categoryTypeId = categoryIndex < categoryEnd ? frozenCategoryIndex.getRecipeTypeId(categoryIndex) : Integer.MAX_VALUE;
+			int catalystTypeId = catalystIndex < catalystEnd ? frozenCatalystIndex.getRecipeTypeId(catalystIndex) : Integer.MAX_VALUE;
+			int recipeTypeId = Math.min(categoryTypeId, catalystTypeId);
+			if (categoryTypeId == recipeTypeId) {
+				categoryIndex++;
+			}
+			if (catalystTypeId == recipeTypeId) {
+				catalystIndex++;
+			}
+			recipeTypes.add(frozenRecipeTypes.get(recipeTypeId));
+		}
+		return recipeTypes;
+	}
+
 	public <T> void addCatalystForCategory(RecipeType<?> recipeType, ITypedIngredient<T> ingredient) {
 		Object ingredientUid = getIngredientUid(ingredient);
 		categoryCatalystUidToRecipeCategoryMap.put(ingredientUid, recipeType);
@@ -59,18 +123,38 @@ public class RecipeMap {
 
 	public <T> boolean isCatalystForRecipeCategory(RecipeType<T> recipeType, ITypedIngredient<?> ingredient) {
 		Object ingredientUid = getIngredientUid(ingredient);
+		if (frozenUidIds != null) {
+			int uidId = frozenUidIds.get(ingredientUid);
+			int recipeTypeId = frozenRecipeTypeIds.getInt(recipeType);
+			if (uidId != IngredientUidIds.NONE && recipeTypeId != -1 && frozenCatalystIndex.contains(uidId, recipeTypeId)) {
+				return true;
+			}
+		}
 		Collection<RecipeType<?>> catalystCategories = categoryCatalystUidToRecipeCategoryMap.get(ingredientUid);
 		return catalystCategories.contains(recipeType);
 	}
 
 	public <T> void addRecipe(RecipeType<T> recipeType, T recipe, IIngredientSupplier ingredientSupplier) {
+		Set<Object> ingredientUids = getIngredientUids(ingredientSupplier);
+		addRecipe(recipeType, recipe, ingredientUids);
+	}
+
+	/**
+	 * Gets the ingredient uids for this map's role, without modifying the map.
+	 * This is safe to call from multiple threads, so the uids for many recipes can be computed in parallel
+	 * and then added in order with {@link #addRecipe(RecipeType, Object, Set)}.
+	 */
+	public Set<Object> getIngredientUids(IIngredientSupplier ingredientSupplier) {
 		Set<Object> ingredientUids = new HashSet<>();
 		Collection<ITypedIngredient<?>> ingredients = ingredientSupplier.getIngredients(this.role);
 		for (ITypedIngredient<?> ingredient : ingredients) {
 			Object ingredientUid = getIngredientUid(ingredient);
 			ingredientUids.add(ingredientUid);
 		}
+		return ingredientUids;
+	}
 
+	public <T> void addRecipe(RecipeType<T> recipeType, T recipe, Set<Object> ingredientUids) {
 		if (!ingredientUids.isEmpty()) {
 			for (Object ingredientUid : ingredientUids) {
 				ingredientUidToCategoryMap.put(ingredientUid, recipeType);
@@ -79,13 +163,47 @@ public class RecipeMap {
 		}
 	}
 
-	public void compact() {
-		recipeTable.compact();
+	/**
+	 * Moves everything added so far into immutable tables keyed by int ids,
+	 * which use much less memory and are faster to look up.
+	 * Anything added after this is kept in the regular maps and combined with the frozen tables on lookup.
+	 * Only the first call has an effect.
+	 */
+	public void freeze() {
+		if (frozenUidIds != null) {
+			recipeTable.compact();
+			return;
+		}
+		IngredientUidIds uidIds = new IngredientUidIds();
+		recipeTable.freeze(uidIds);
+		for (Object ingredientUid : ingredientUidToCategoryMap.keySet()) {
+			uidIds.getOrCreate(ingredientUid);
+		}
+		for (Object ingredientUid : categoryCatalystUidToRecipeCategoryMap.keySet()) {
+			uidIds.getOrCreate(ingredientUid);
+		}
+		uidIds.trim();
+
+		this.frozenRecipeTypes = Stream.concat(ingredientUidToCategoryMap.values().stream(), categoryCatalystUidToRecipeCategoryMap.values().stream())
+			.distinct()
+			.sorted(recipeTypeComparator)
+			.toList();
+		for (int i = 0; i < frozenRecipeTypes.size(); i++) {
+			frozenRecipeTypeIds.put(frozenRecipeTypes.get(i), i);
+		}
+		frozenRecipeTypeIds.trim();
+
+		this.frozenCategoryIndex = FrozenRecipeTypeIndex.create(ingredientUidToCategoryMap.asMap(), uidIds, frozenRecipeTypeIds);
+		this.frozenCatalystIndex = FrozenRecipeTypeIndex.create(categoryCatalystUidToRecipeCategoryMap.asMap(), uidIds, frozenRecipeTypeIds);
+		this.frozenUidIds = uidIds;
+
+		this.ingredientUidToCategoryMap = createIngredientUidToCategoryMap();
+		this.categoryCatalystUidToRecipeCategoryMap = createCategoryCatalystUidToRecipeCategoryMap();
 	}
 
 	private <T> Object getIngredientUid(ITypedIngredient<T> typedIngredient) {
 		IIngredientType<T> type = typedIngredient.getType();
 		IIngredientHelper<T> ingredientHelper = ingredientManager.getIngredientHelper(type);
-		return ingredientHelper.getUid(typedIngredient, UidContext.Recipe);
+		return IngredientUids.getUid(typedIngredient, UidContext.Recipe, ingredientHelper);
 	}
 }
@@ -13,10 +13,16 @@ import java.util.List;
 import java.util.Set;
 
 public class RecipeTypeData<T> {
+	private static final int UNKNOWN = -1;
+
 	private final IRecipeCategory<T> recipeCategory;
 	private final List<ITypedIngredient<?>> recipeCategoryCatalysts;
 	private final List<T> recipes = new ArrayList<>();
 	private final Set<T> hiddenRecipes = Collections.newSetFromMap(new IdentityHashMap<>());
+	/**
+	 * The number of recipes that are not hidden, or {@link #UNKNOWN} if they need to be counted again.
+	 */
+	private int visibleRecipeCount = 0;
 
 	public RecipeTypeData(IRecipeCategory<T> recipeCategory, List<ITypedIngredient<?>> recipeCategoryCatalysts) {
 		this.recipeCategory = recipeCategory;
@@ -32,16 +38,51 @@ public class RecipeTypeData<T> {
 		return recipeCategoryCatalysts;
 	}
 
-	@UnmodifiableView
+	/**
+	 * Returns the recipes added so far. Recipes that are added later are not included.
+	 */
+	@Unmodifiable
 	public List<T> getRecipes() {
-		return Collections.unmodifiableList(recipes);
+		return AppendOnlyListSnapshot.of(recipes);
 	}
 
+	/**
+	 * Recipes must not be hidden when they are added.
+	 */
 	public void addRecipes(Collection<T> recipes) {
 		this.recipes.addAll(recipes);
+		if (visibleRecipeCount != UNKNOWN) {
+			visibleRecipeCount += recipes.size();
+		}
 	}
 
+	@UnmodifiableView
 	public Set<T> getHiddenRecipes() {
-		return hiddenRecipes;
+		return Collections.unmodifiableSet(hiddenRecipes);
+	}
+
+	public void hideRecipes(Collection<T> recipes) {
+		if (hiddenRecipes.addAll(recipes)) {
+			visibleRecipeCount = UNKNOWN;
+		}
+	}
+
+	public void unhideRecipes(Collection<T> recipes) {
+		if (hiddenRecipes.removeAll(recipes)) {
+			visibleRecipeCount = UNKNOWN;
+		}
+	}
+
+	public int getVisibleRecipeCount() {
+		if (visibleRecipeCount == UNKNOWN) {
+			int count = 0;
+			for (T recipe : recipes) {
+				if (!hiddenRecipes.contains(recipe)) {
+					count++;
+				}
+			}
+			visibleRecipeCount = count;
+		}
+		return visibleRecipeCount;
 	}
 }
@@ -19,6 +19,7 @@ import mezz.jei.common.util.ErrorUtil;
 import mezz.jei.common.util.RegistryUtil;
 import mezz.jei.core.util.LoggedTimer;
 import mezz.jei.library.color.ColorHelper;
+import mezz.jei.library.color.ColorPaletteCache;
 import mezz.jei.library.config.ColorNameConfig;
 import mezz.jei.library.config.EditModeConfig;
 import mezz.jei.library.config.ModIdFormatConfig;
@@ -51,6 +52,7 @@ public final class JeiStarter {
 	private final VanillaPlugin vanillaPlugin;
 	private final ModIdFormatConfig modIdFormatConfig;
 	private final ColorNameConfig colorNameConfig;
+	private final ColorPaletteCache colorPaletteCache = new ColorPaletteCache();
 	private final RecipeCategorySortingConfig recipeCategorySortingConfig;
 	@SuppressWarnings("FieldCanBeLocal")
 	private final FileWatcher fileWatcher = new FileWatcher("JEI Config File Watcher");
@@ -107,7 +109,8 @@ public final class JeiStarter {
 		totalTime.start("Starting JEI");
 		this.configManager.onJeiStarted();
 
-		IColorHelper colorHelper = new ColorHelper(colorNameConfig);
+		colorPaletteCache.load(jeiClientConfigs.getClientConfig().isColorPaletteCacheEnabled());
+		IColorHelper colorHelper = new ColorHelper(colorNameConfig, colorPaletteCache);
 		IIngredientFilterConfig ingredientFilterConfig = jeiClientConfigs.getIngredientFilterConfig();
 		SubtypeManager subtypeManager = PluginLoader.registerSubtypes(data);
 		IIngredientManager ingredientManager = PluginLoader.registerIngredients(data, subtypeManager, colorHelper, ingredientFilterConfig);
@@ -131,7 +134,9 @@ public final class JeiStarter {
 			vanillaPlugin,
 			recipeCategorySortingConfig,
 			jeiHelpers,
-			ingredientManager
+			ingredientManager,
+			jeiClientConfigs.getClientConfig().isParallelRecipeRegistrationEnabled(),
+			jeiClientConfigs.getClientConfig().isParallelPluginRegistrationEnabled()
 		);
 		IRecipeTransferManager recipeTransferManager = PluginLoader.createRecipeTransferManager(
 			vanillaPlugin,
@@ -173,6 +178,9 @@ public final class JeiStarter {
 		PluginCaller.callOnPlugins("Sending Runtime", plugins, p -> p.onRuntimeAvailable(jeiRuntime));
 		Internal.setRuntime(jeiRuntime);
 
+		// the ingredient list has read the colors for the search index by now
+		colorPaletteCache.save();
+
 		totalTime.stop();
 	}
 
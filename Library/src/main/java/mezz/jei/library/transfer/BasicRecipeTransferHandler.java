@@ -7,11 +7,12 @@ import mezz.jei.api.helpers.IStackHelper;
 import mezz.jei.api.recipe.RecipeIngredientRole;
 import mezz.jei.api.recipe.RecipeType;
 import mezz.jei.api.recipe.transfer.IRecipeTransferError;
-import mezz.jei.api.recipe.transfer.IRecipeTransferHandler;
 import mezz.jei.api.recipe.transfer.IRecipeTransferHandlerHelper;
 import mezz.jei.api.recipe.transfer.IRecipeTransferInfo;
 import mezz.jei.common.network.IConnectionToServer;
 import mezz.jei.common.network.packets.PacketRecipeTransfer;
+import mezz.jei.common.transfer.IBasicRecipeTransferHandler;
+import mezz.jei.common.transfer.InventorySnapshot;
 import mezz.jei.common.transfer.RecipeTransferOperationsResult;
 import mezz.jei.common.transfer.RecipeTransferUtil;
 import mezz.jei.common.util.StringUtil;
@@ -33,7 +34,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-public class BasicRecipeTransferHandler<C extends AbstractContainerMenu, R> implements IRecipeTransferHandler<C, R> {
+public class BasicRecipeTransferHandler<C extends AbstractContainerMenu, R> implements IBasicRecipeTransferHandler<C, R> {
 	private static final Logger LOGGER = LogManager.getLogger();
 
 	private final IConnectionToServer serverConnection;
@@ -68,6 +69,11 @@ public class BasicRecipeTransferHandler<C extends AbstractContainerMenu, R> impl
 		return transferInfo.getRecipeType();
 	}
 
+	@Override
+	public IRecipeTransferInfo<C, R> getTransferInfo() {
+		return transferInfo;
+	}
+
 	@Nullable
 	@Override
 	public IRecipeTransferError transferRecipe(C container, R recipe, IRecipeSlotsView recipeSlotsView, Player player, boolean maxTransfer, boolean doTransfer) {
@@ -107,8 +113,11 @@ public class BasicRecipeTransferHandler<C extends AbstractContainerMenu, R> impl
 			return handlerHelper.createUserErrorWithTooltip(message);
 		}
 
+		// the snapshot is shared by every recipe that checks a transfer into this container
+		InventorySnapshot inventorySnapshot = InventorySnapshot.get(container, stackHelper);
 		RecipeTransferOperationsResult transferOperations = RecipeTransferUtil.getRecipeTransferOperations(
 			stackHelper,
+			inventorySnapshot,
 			inventoryState.availableItemStacks,
 			inputItemSlotViews,
 			craftingSlots
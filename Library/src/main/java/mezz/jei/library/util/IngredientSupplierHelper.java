@@ -1,13 +1,18 @@
 package mezz.jei.library.util;
 
 import mezz.jei.api.ingredients.IIngredientSupplier;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.recipe.RecipeIngredientRole;
 import mezz.jei.api.recipe.category.IRecipeCategory;
 import mezz.jei.api.runtime.IIngredientManager;
 import mezz.jei.library.focus.FocusGroup;
+import mezz.jei.library.gui.recipes.supplier.builder.IngredientSlotsBuilder;
 import mezz.jei.library.gui.recipes.supplier.builder.IngredientSupplierBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
+
 public final class IngredientSupplierHelper {
 	private static final Logger LOGGER = LogManager.getLogger();
 
@@ -28,4 +33,19 @@ public final class IngredientSupplierHelper {
 
 		return builder.buildIngredientSupplier();
 	}
+
+	public static <T> List<List<ITypedIngredient<?>>> getSlotIngredients(T recipe, IRecipeCategory<T> recipeCategory, RecipeIngredientRole role, IIngredientManager ingredientManager) {
+		IngredientSlotsBuilder builder = new IngredientSlotsBuilder(ingredientManager);
+		if (!recipeCategory.isHandled(recipe)) {
+			return List.of();
+		}
+		try {
+			recipeCategory.setRecipe(builder, recipe, FocusGroup.EMPTY);
+		} catch (RuntimeException | LinkageError e) {
+			String recipeName = RecipeErrorUtil.getNameForRecipe(recipe);
+			LOGGER.error("Found a broken recipe, failed to setRecipe with RecipeLayoutBuilder: {}\n", recipeName, e);
+		}
+
+		return builder.getSlotIngredients(role);
+	}
 }
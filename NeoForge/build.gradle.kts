@@ -10,6 +10,7 @@ plugins {
 	id("maven-publish")
 	id("me.modmuss50.mod-publish-plugin")
 	id("net.neoforged.moddev")
+	id("me.champeau.jmh")
 }
 
 // gradle.properties
@@ -98,6 +99,7 @@ neoForge {
 	setAccessTransformers("src/main/resources/META-INF/accesstransformer.cfg")
 
 	addModdingDependenciesTo(sourceSets.test.get())
+	addModdingDependenciesTo(sourceSets.named("jmh").get())
 
 	mods {
 		create("jei") {
@@ -193,6 +195,23 @@ tasks.named<Test>("test") {
 	}
 }
 
+// Benchmarks for the classes that need Minecraft on the classpath, using the test stand-ins.
+// Run with ./gradlew :NeoForge:jmh
+// Pass -PjmhIncludes=<regex> to only run matching benchmarks, for example -PjmhIncludes=RecipeMap
+jmh {
+	jmhVersion.set(project.property("jmhVersion").toString())
+	includeTests.set(true)
+	val includes = project.findProperty("jmhIncludes")
+	if (includes != null) {
+		this.includes.add(includes.toString())
+	}
+	fork.set(1)
+	warmupIterations.set(3)
+	iterations.set(5)
+	jvmArgs.set(listOf("-Xmx8G"))
+	resultFormat.set("JSON")
+}
+
 artifacts {
 	archives(tasks.jar.get())
 	archives(sourcesJarTask.get())
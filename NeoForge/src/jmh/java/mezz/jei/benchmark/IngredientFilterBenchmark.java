@@ -0,0 +1,143 @@
+package mezz.jei.benchmark;
+
+import mezz.jei.api.helpers.IColorHelper;
+import mezz.jei.api.helpers.IModIdHelper;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.api.runtime.IIngredientVisibility;
+import mezz.jei.common.config.IClientToggleState;
+import mezz.jei.gui.filter.FilterTextSource;
+import mezz.jei.gui.ingredients.IListElement;
+import mezz.jei.gui.ingredients.IListElementInfo;
+import mezz.jei.gui.ingredients.IngredientFilter;
+import mezz.jei.gui.ingredients.IngredientListElementFactory;
+import mezz.jei.library.config.EditModeConfig;
+import mezz.jei.library.ingredients.IngredientBlacklistInternal;
+import mezz.jei.library.ingredients.IngredientVisibility;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.test.lib.TestClientConfig;
+import mezz.jei.test.lib.TestClientToggleState;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredientFilterConfig;
+import mezz.jei.test.lib.TestModIdHelper;
+import mezz.jei.test.lib.TestPlugin;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs search bar queries through {@link IngredientFilter#getElements()},
+ * with an ingredient list made of the test ingredients, set up the same way as the ingredient filter tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IngredientFilterBenchmark {
+	/**
+	 * Test ingredients are named "Test Ingredient Display Name TestIngredient#<number>",
+	 * have two tooltip lines with the same text, and belong to the "jei_test_mod" mod.
+	 */
+	private static final List<String> QUERIES = List.of(
+		"t",
+		"test",
+		"testingredient#1",
+		"testingredient#12",
+		"testingredient#1234",
+		"display name",
+		"\"display name\"",
+		"@jei_test_mod",
+		"$line 2",
+		"testingredient#1 -testingredient#12",
+		"testingredient#1|testingredient#2",
+		"zzzz"
+	);
+
+	@Param({"10000", "100000"})
+	public int size;
+
+	private FilterTextSource filterTextSource = new FilterTextSource();
+	@Nullable
+	private IngredientFilter ingredientFilter;
+
+	@Setup
+	public void setup() {
+		TestPlugin testPlugin = new TestPlugin(size);
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IColorHelper colorHelper = new TestColorHelper();
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, colorHelper);
+		testPlugin.registerIngredients(ingredientManagerBuilder);
+		IIngredientManager ingredientManager = ingredientManagerBuilder.build();
+
+		IModIdHelper modIdHelper = new TestModIdHelper();
+		List<IListElementInfo<?>> baseList = IngredientListElementFactory.createBaseList(ingredientManager, modIdHelper);
+		EditModeConfig editModeConfig = new EditModeConfig(new NullSerializer(), ingredientManager);
+		IClientToggleState toggleState = new TestClientToggleState();
+		IIngredientVisibility ingredientVisibility = new IngredientVisibility(new IngredientBlacklistInternal(), toggleState, editModeConfig, ingredientManager);
+
+		this.filterTextSource = new FilterTextSource();
+		this.ingredientFilter = new IngredientFilter(
+			filterTextSource,
+			new TestClientConfig(false),
+			new TestIngredientFilterConfig(),
+			ingredientManager,
+			Comparator.comparingInt(IListElement::getCreatedIndex),
+			baseList,
+			modIdHelper,
+			ingredientVisibility,
+			colorHelper,
+			toggleState
+		);
+	}
+
+	@Benchmark
+	public void getElements(Blackhole blackhole) {
+		IngredientFilter ingredientFilter = Objects.requireNonNull(this.ingredientFilter);
+		for (String query : QUERIES) {
+			// skip the cache of recent results, so every query is searched
+			ingredientFilter.invalidateCache();
+			filterTextSource.setFilterText(query);
+			blackhole.consume(ingredientFilter.getElements());
+		}
+	}
+
+	@Benchmark
+	public void getElementsWhileTyping(Blackhole blackhole) {
+		IngredientFilter ingredientFilter = Objects.requireNonNull(this.ingredientFilter);
+		ingredientFilter.invalidateCache();
+		String query = "testingredient#1234";
+		for (int i = 1; i <= query.length(); i++) {
+			filterTextSource.setFilterText(query.substring(0, i));
+			blackhole.consume(ingredientFilter.getElements());
+		}
+	}
+
+	private static class NullSerializer implements EditModeConfig.ISerializer {
+		@Override
+		public void initialize(EditModeConfig config) {
+
+		}
+
+		@Override
+		public void save(EditModeConfig config) {
+
+		}
+
+		@Override
+		public void load(EditModeConfig config) {
+
+		}
+	}
+}
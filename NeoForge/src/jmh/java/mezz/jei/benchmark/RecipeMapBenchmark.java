@@ -0,0 +1,117 @@
+package mezz.jei.benchmark;
+
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.library.recipes.collect.RecipeMap;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestPlugin;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up recipes and recipe types by ingredient in a {@link RecipeMap} filled with recipes made of the test ingredients,
+ * both before and after the map is frozen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeMapBenchmark {
+	private static final int INGREDIENT_COUNT = 10_000;
+	private static final int RECIPE_TYPE_COUNT = 50;
+	private static final int LOOKUP_COUNT = 1_000;
+
+	@Param({"10000", "100000"})
+	public int recipeCount;
+
+	@Param({"false", "true"})
+	public boolean frozen;
+
+	@Nullable
+	private RecipeMap recipeMap;
+	private List<ITypedIngredient<TestIngredient>> lookups = List.of();
+
+	public record TestRecipe(List<ITypedIngredient<?>> inputs) {}
+
+	@Setup
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin(INGREDIENT_COUNT).registerIngredients(ingredientManagerBuilder);
+		IIngredientManager ingredientManager = ingredientManagerBuilder.build();
+
+		List<ITypedIngredient<TestIngredient>> ingredients = new ArrayList<>(INGREDIENT_COUNT);
+		for (int i = 0; i < INGREDIENT_COUNT; i++) {
+			ingredients.add(ingredientManager.createTypedIngredient(TestIngredient.TYPE, new TestIngredient(i)).orElseThrow());
+		}
+
+		List<RecipeType<TestRecipe>> recipeTypes = new ArrayList<>(RECIPE_TYPE_COUNT);
+		for (int i = 0; i < RECIPE_TYPE_COUNT; i++) {
+			recipeTypes.add(RecipeType.create("jei_test_mod", "recipe_type_" + i, TestRecipe.class));
+		}
+
+		Comparator<RecipeType<?>> recipeTypeComparator = Comparator.comparing(recipeType -> recipeType.getUid().toString());
+		RecipeMap recipeMap = new RecipeMap(recipeTypeComparator, ingredientManager, RecipeIngredientRole.INPUT);
+		Random random = new Random(1);
+		for (int i = 0; i < recipeCount; i++) {
+			RecipeType<TestRecipe> recipeType = recipeTypes.get(random.nextInt(RECIPE_TYPE_COUNT));
+			int inputCount = 1 + random.nextInt(9);
+			List<ITypedIngredient<?>> inputs = new ArrayList<>(inputCount);
+			for (int j = 0; j < inputCount; j++) {
+				inputs.add(ingredients.get(random.nextInt(INGREDIENT_COUNT)));
+			}
+			TestRecipe recipe = new TestRecipe(List.copyOf(inputs));
+			recipeMap.addRecipe(recipeType, recipe, role -> recipe.inputs());
+		}
+		for (RecipeType<TestRecipe> recipeType : recipeTypes) {
+			recipeMap.addCatalystForCategory(recipeType, ingredients.get(random.nextInt(INGREDIENT_COUNT)));
+		}
+		if (frozen) {
+			recipeMap.freeze();
+		}
+		this.recipeMap = recipeMap;
+
+		List<ITypedIngredient<TestIngredient>> lookups = new ArrayList<>(LOOKUP_COUNT);
+		for (int i = 0; i < LOOKUP_COUNT; i++) {
+			lookups.add(ingredients.get(random.nextInt(INGREDIENT_COUNT)));
+		}
+		this.lookups = lookups;
+	}
+
+	@Benchmark
+	public void getRecipeTypes(Blackhole blackhole) {
+		RecipeMap recipeMap = Objects.requireNonNull(this.recipeMap);
+		for (ITypedIngredient<TestIngredient> ingredient : lookups) {
+			blackhole.consume(recipeMap.getRecipeTypes(ingredient).toList());
+		}
+	}
+
+	@Benchmark
+	public void getRecipes(Blackhole blackhole) {
+		RecipeMap recipeMap = Objects.requireNonNull(this.recipeMap);
+		for (ITypedIngredient<TestIngredient> ingredient : lookups) {
+			recipeMap.getRecipeTypes(ingredient)
+				.forEach(recipeType -> blackhole.consume(recipeMap.getRecipes(recipeType, ingredient)));
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package mezz.jei.test;
+
+import mezz.jei.library.color.ColorName;
+import mezz.jei.library.color.ColorNameIndex;
+import mezz.jei.library.color.ColorUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class ColorNameIndexTest {
+	private static final List<ColorName> COLOR_NAMES = List.of(
+		new ColorName("White", 0xEEEEEE),
+		new ColorName("LightBlue", 0x7492cc),
+		new ColorName("Cyan", 0x00EEEE),
+		new ColorName("Blue", 0x2222dd),
+		new ColorName("Yellow", 0xcacb58),
+		new ColorName("Orange", 0xd97634),
+		new ColorName("Pink", 0xD1899D),
+		new ColorName("Purple", 0x813eb9),
+		new ColorName("Brown", 0x634b33),
+		new ColorName("Green", 0x008000),
+		new ColorName("Red", 0x963430),
+		new ColorName("Black", 0x181515),
+		new ColorName("Gray", 0x808080),
+		new ColorName("Silver", 0xC0C0C0)
+	);
+
+	/**
+	 * The scan that {@link ColorNameIndex} replaces.
+	 */
+	private static String getClosestColorNameByScan(List<ColorName> colorNames, int color) {
+		return colorNames
+			.stream()
+			.min(Comparator.comparing(entry -> {
+				int namedColor = entry.color();
+				double distance = ColorUtil.slowPerceptualColorDistanceSquared(namedColor, color);
+				return Math.abs(distance);
+			}))
+			.map(ColorName::name)
+			.orElseThrow();
+	}
+
+	private static void assertSameAsScan(List<ColorName> colorNames, List<Integer> colors) {
+		ColorNameIndex colorNameIndex = new ColorNameIndex(colorNames);
+		for (int color : colors) {
+			String expected = getClosestColorNameByScan(colorNames, color);
+			String actual = colorNameIndex.getClosestColorName(color);
+			Assertions.assertEquals(expected, actual, () -> "Wrong color name for color " + Integer.toHexString(color) + " in " + colorNames);
+		}
+	}
+
+	private static List<Integer> randomColors(Random random, int count) {
+		List<Integer> colors = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			colors.add(random.nextInt());
+		}
+		return colors;
+	}
+
+	@Test
+	public void testRandomColors() {
+		Random random = new Random(0);
+		assertSameAsScan(COLOR_NAMES, randomColors(random, 200_000));
+	}
+
+	@Test
+	public void testNamedColors() {
+		List<Integer> colors = new ArrayList<>();
+		for (ColorName colorName : COLOR_NAMES) {
+			int color = colorName.color();
+			colors.add(color);
+			// neighbors of each named color, where the closest one changes
+			for (int shift : new int[]{0, 8, 16}) {
+				for (int delta = -3; delta <= 3; delta++) {
+					int channel = ((color >> shift) & 255) + delta;
+					if (channel >= 0 && channel <= 255) {
+						colors.add((color & ~(255 << shift)) | (channel << shift));
+					}
+				}
+			}
+		}
+		assertSameAsScan(COLOR_NAMES, colors);
+	}
+
+	@Test
+	public void testGreyColors() {
+		List<Integer> colors = new ArrayList<>();
+		for (int i = 0; i <= 255; i++) {
+			colors.add(i * 0x010101);
+		}
+		assertSameAsScan(COLOR_NAMES, colors);
+	}
+
+	@Test
+	public void testTies() {
+		// equal and mirrored named colors, so many colors are equally close to more than one of them
+		List<ColorName> colorNames = List.of(
+			new ColorName("Gray", 0x808080),
+			new ColorName("GrayAgain", 0x808080),
+			new ColorName("Darker", 0x707070),
+			new ColorName("Lighter", 0x909090),
+			new ColorName("GrayWithAlpha", 0xFF808080)
+		);
+		List<Integer> colors = new ArrayList<>();
+		for (int i = 0; i <= 255; i++) {
+			colors.add(i * 0x010101);
+		}
+		colors.addAll(randomColors(new Random(1), 10_000));
+		assertSameAsScan(colorNames, colors);
+	}
+
+	@Test
+	public void testRandomColorNames() {
+		Random random = new Random(2);
+		for (int size = 1; size <= 64; size++) {
+			List<ColorName> colorNames = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				// few distinct channel values, so some named colors are equal
+				int color = (random.nextInt(4) * 0x55) << 16 | (random.nextInt(4) * 0x55) << 8 | random.nextInt(4) * 0x55;
+				colorNames.add(new ColorName("Color" + i, color));
+			}
+			assertSameAsScan(colorNames, randomColors(random, 5_000));
+		}
+	}
+}
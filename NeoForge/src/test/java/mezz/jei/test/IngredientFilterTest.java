@@ -11,6 +11,7 @@ import mezz.jei.common.config.IClientConfig;
 import mezz.jei.common.config.IClientToggleState;
 import mezz.jei.gui.filter.FilterTextSource;
 import mezz.jei.gui.filter.IFilterTextSource;
+import mezz.jei.gui.ingredients.IListElement;
 import mezz.jei.gui.ingredients.IListElementInfo;
 import mezz.jei.gui.ingredients.IngredientFilter;
 import mezz.jei.gui.ingredients.IngredientListElementFactory;
@@ -39,6 +40,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public class IngredientFilterTest {
@@ -179,6 +181,72 @@ public class IngredientFilterTest {
 		Assertions.assertEquals(TestPlugin.BASE_INGREDIENT_COUNT - 1, ingredientList.size());
 	}
 
+	@Test
+	public void testTypingRefinesResults() {
+		Assertions.assertNotNull(ingredientFilter);
+		Assertions.assertNotNull(ingredientManager);
+		Assertions.assertNotNull(ingredientVisibility);
+		Assertions.assertNotNull(filterTextSource);
+		Assertions.assertNotNull(modIdHelper);
+
+		List<TestIngredient> ingredients = createIngredients();
+		addIngredients(ingredientFilter, filterTextSource, ingredientVisibility, ingredientManager, modIdHelper, ingredients);
+
+		List<String> filterTexts = List.of("", "t", "testingredient#", "testingredient#6", "testingredient#6 ", "testingredient#6 z", "testingredient#6", "t", "testingredient#");
+		for (String filterText : filterTexts) {
+			filterTextSource.setFilterText(filterText);
+			List<TestIngredient> typedResults = ingredientFilter.getFilteredIngredients(TestIngredient.TYPE);
+
+			ingredientFilter.invalidateCache();
+			List<TestIngredient> freshResults = ingredientFilter.getFilteredIngredients(TestIngredient.TYPE);
+			Assertions.assertEquals(freshResults, typedResults, filterText);
+		}
+
+		filterTextSource.setFilterText("testingredient#6");
+		Assertions.assertEquals(List.of(new TestIngredient(6)), ingredientFilter.getFilteredIngredients(TestIngredient.TYPE));
+	}
+
+	@Test
+	public void testResultsFollowComparator() {
+		Assertions.assertNotNull(ingredientManager);
+		Assertions.assertNotNull(ingredientVisibility);
+		Assertions.assertNotNull(baseList);
+		Assertions.assertNotNull(modIdHelper);
+
+		List<TestIngredient> expected = baseList.stream()
+			.map(IListElementInfo::getTypedIngredient)
+			.map(i -> i.getIngredient(TestIngredient.TYPE))
+			.flatMap(Optional::stream)
+			.toList();
+
+		Comparator<IListElement<?>> createdOrder = Comparator.comparingInt(IListElement::getCreatedIndex);
+		IngredientFilter presortedFilter = createIngredientFilter(createdOrder);
+		Assertions.assertEquals(expected, presortedFilter.getFilteredIngredients(TestIngredient.TYPE));
+
+		IngredientFilter reversedFilter = createIngredientFilter(createdOrder.reversed());
+		Assertions.assertEquals(expected.reversed(), reversedFilter.getFilteredIngredients(TestIngredient.TYPE));
+	}
+
+	private IngredientFilter createIngredientFilter(Comparator<IListElement<?>> comparator) {
+		Assertions.assertNotNull(ingredientManager);
+		Assertions.assertNotNull(ingredientVisibility);
+		Assertions.assertNotNull(baseList);
+		Assertions.assertNotNull(modIdHelper);
+
+		return new IngredientFilter(
+			new FilterTextSource(),
+			new TestClientConfig(false),
+			new TestIngredientFilterConfig(),
+			ingredientManager,
+			comparator,
+			baseList,
+			modIdHelper,
+			ingredientVisibility,
+			new TestColorHelper(),
+			new TestClientToggleState()
+		);
+	}
+
 	public static Set<String> getTooltipStrings(IIngredientRenderer<TestIngredient> ingredientRenderer, TestIngredient testIngredient) {
 		ListElementInfoTooltip tooltip = new ListElementInfoTooltip();
 		ingredientRenderer.getTooltip(tooltip, testIngredient, TooltipFlag.Default.NORMAL);
@@ -0,0 +1,137 @@
+package mezz.jei.test;
+
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.recipe.IFocus;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.focus.Focus;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.library.recipes.RecipeLookupCache;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestPlugin;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RecipeLookupCacheTest {
+	private static final int INGREDIENT_COUNT = 100;
+	private static final RecipeType<String> TYPE_A = RecipeType.create("jei_test_mod", "a", String.class);
+	private static final RecipeType<String> TYPE_B = RecipeType.create("jei_test_mod", "b", String.class);
+
+	@Nullable
+	private IIngredientManager ingredientManager;
+	@Nullable
+	private RecipeLookupCache lookupCache;
+	private final AtomicInteger lookupCount = new AtomicInteger();
+
+	@BeforeEach
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin(INGREDIENT_COUNT).registerIngredients(ingredientManagerBuilder);
+		this.ingredientManager = ingredientManagerBuilder.build();
+		this.lookupCache = new RecipeLookupCache(ingredientManager);
+		this.lookupCount.set(0);
+	}
+
+	private IFocus<TestIngredient> focus(RecipeIngredientRole role, int number) {
+		Assertions.assertNotNull(ingredientManager);
+		ITypedIngredient<TestIngredient> typedIngredient = ingredientManager.createTypedIngredient(TestIngredient.TYPE, new TestIngredient(number)).orElseThrow();
+		return new Focus<>(role, typedIngredient);
+	}
+
+	private List<String> getRecipes(RecipeType<String> recipeType, IFocus<?> focus) {
+		Assertions.assertNotNull(lookupCache);
+		return lookupCache.getRecipes(recipeType, focus, () -> {
+			lookupCount.incrementAndGet();
+			return List.of(recipeType.getUid().getPath() + " " + focus.getRole() + " " + focus.getTypedValue().getIngredient());
+		});
+	}
+
+	private List<RecipeType<?>> getRecipeTypes(IFocus<?> focus) {
+		Assertions.assertNotNull(lookupCache);
+		return lookupCache.getRecipeTypes(focus, () -> {
+			lookupCount.incrementAndGet();
+			return List.of(TYPE_A);
+		});
+	}
+
+	@Test
+	public void testHit() {
+		List<String> recipes = getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, 1));
+		Assertions.assertEquals(1, lookupCount.get());
+
+		// a new focus on an equal ingredient has the same key
+		Assertions.assertSame(recipes, getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, 1)));
+		Assertions.assertEquals(1, lookupCount.get());
+
+		List<RecipeType<?>> recipeTypes = getRecipeTypes(focus(RecipeIngredientRole.INPUT, 1));
+		Assertions.assertSame(recipeTypes, getRecipeTypes(focus(RecipeIngredientRole.INPUT, 1)));
+		Assertions.assertEquals(2, lookupCount.get());
+	}
+
+	@Test
+	public void testMiss() {
+		getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, 1));
+		getRecipes(TYPE_B, focus(RecipeIngredientRole.INPUT, 1));
+		getRecipes(TYPE_A, focus(RecipeIngredientRole.OUTPUT, 1));
+		getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, 2));
+		getRecipeTypes(focus(RecipeIngredientRole.INPUT, 1));
+		Assertions.assertEquals(5, lookupCount.get());
+
+		Assertions.assertEquals(List.of("a INPUT TestIngredient#1"), getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, 1)));
+		Assertions.assertEquals(List.of("b INPUT TestIngredient#1"), getRecipes(TYPE_B, focus(RecipeIngredientRole.INPUT, 1)));
+		Assertions.assertEquals(List.of("a OUTPUT TestIngredient#1"), getRecipes(TYPE_A, focus(RecipeIngredientRole.OUTPUT, 1)));
+		Assertions.assertEquals(5, lookupCount.get());
+	}
+
+	@Test
+	public void testInvalidate() {
+		Assertions.assertNotNull(lookupCache);
+		getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, 1));
+		getRecipeTypes(focus(RecipeIngredientRole.INPUT, 1));
+		lookupCache.invalidate();
+
+		getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, 1));
+		getRecipeTypes(focus(RecipeIngredientRole.INPUT, 1));
+		Assertions.assertEquals(4, lookupCount.get());
+	}
+
+	@Test
+	public void testInvalidateDuringLookup() {
+		Assertions.assertNotNull(lookupCache);
+		IFocus<TestIngredient> focus = focus(RecipeIngredientRole.INPUT, 1);
+		List<String> recipes = lookupCache.getRecipes(TYPE_A, focus, () -> {
+			lookupCount.incrementAndGet();
+			lookupCache.invalidate();
+			return List.of("outdated");
+		});
+		Assertions.assertEquals(List.of("outdated"), recipes);
+
+		// the outdated result is not kept
+		Assertions.assertEquals(List.of("a INPUT TestIngredient#1"), getRecipes(TYPE_A, focus));
+		Assertions.assertEquals(2, lookupCount.get());
+	}
+
+	@Test
+	public void testEviction() {
+		for (int i = 0; i < INGREDIENT_COUNT; i++) {
+			getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, i));
+		}
+		Assertions.assertEquals(INGREDIENT_COUNT, lookupCount.get());
+
+		// the most recent lookups are still cached, the oldest ones are not
+		getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, INGREDIENT_COUNT - 1));
+		Assertions.assertEquals(INGREDIENT_COUNT, lookupCount.get());
+		getRecipes(TYPE_A, focus(RecipeIngredientRole.INPUT, 0));
+		Assertions.assertEquals(INGREDIENT_COUNT + 1, lookupCount.get());
+	}
+}
@@ -0,0 +1,239 @@
+package mezz.jei.test;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import mezz.jei.api.ingredients.ITypedIngredient;
+import mezz.jei.api.recipe.RecipeIngredientRole;
+import mezz.jei.api.recipe.RecipeType;
+import mezz.jei.api.runtime.IIngredientManager;
+import mezz.jei.library.ingredients.subtypes.SubtypeInterpreters;
+import mezz.jei.library.ingredients.subtypes.SubtypeManager;
+import mezz.jei.library.load.registration.IngredientManagerBuilder;
+import mezz.jei.library.recipes.collect.FrozenIngredientToRecipesMap;
+import mezz.jei.library.recipes.collect.FrozenRecipeTypeIndex;
+import mezz.jei.library.recipes.collect.IngredientUidIds;
+import mezz.jei.library.recipes.collect.RecipeMap;
+import mezz.jei.test.lib.TestColorHelper;
+import mezz.jei.test.lib.TestIngredient;
+import mezz.jei.test.lib.TestPlugin;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RecipeMapTest {
+	private static final int INGREDIENT_COUNT = 10;
+	private static final RecipeType<TestRecipe> TYPE_A = RecipeType.create("jei_test_mod", "a", TestRecipe.class);
+	private static final RecipeType<TestRecipe> TYPE_B = RecipeType.create("jei_test_mod", "b", TestRecipe.class);
+	private static final RecipeType<TestRecipe> TYPE_C = RecipeType.create("jei_test_mod", "c", TestRecipe.class);
+
+	@Nullable
+	private IIngredientManager ingredientManager;
+	@Nullable
+	private RecipeMap recipeMap;
+
+	private record TestRecipe(String name, List<ITypedIngredient<?>> inputs) {}
+
+	@BeforeEach
+	public void setup() {
+		SubtypeManager subtypeManager = new SubtypeManager(new SubtypeInterpreters());
+		IngredientManagerBuilder ingredientManagerBuilder = new IngredientManagerBuilder(subtypeManager, new TestColorHelper());
+		new TestPlugin(INGREDIENT_COUNT).registerIngredients(ingredientManagerBuilder);
+		this.ingredientManager = ingredientManagerBuilder.build();
+
+		Comparator<RecipeType<?>> recipeTypeComparator = Comparator.comparing(recipeType -> recipeType.getUid().toString());
+		this.recipeMap = new RecipeMap(recipeTypeComparator, ingredientManager, RecipeIngredientRole.INPUT);
+	}
+
+	private ITypedIngredient<TestIngredient> ingredient(int number) {
+		Assertions.assertNotNull(ingredientManager);
+		return ingredientManager.createTypedIngredient(TestIngredient.TYPE, new TestIngredient(number)).orElseThrow();
+	}
+
+	private TestRecipe addRecipe(RecipeType<TestRecipe> recipeType, String name, int... inputNumbers) {
+		Assertions.assertNotNull(recipeMap);
+		List<ITypedIngredient<?>> inputs = Arrays.stream(inputNumbers)
+			.<ITypedIngredient<?>>mapToObj(this::ingredient)
+			.toList();
+		TestRecipe recipe = new TestRecipe(name, inputs);
+		recipeMap.addRecipe(recipeType, recipe, role -> recipe.inputs());
+		return recipe;
+	}
+
+	private List<RecipeType<?>> getRecipeTypes(int number) {
+		Assertions.assertNotNull(recipeMap);
+		return recipeMap.getRecipeTypes(ingredient(number)).toList();
+	}
+
+	private List<TestRecipe> getRecipes(RecipeType<TestRecipe> recipeType, int number) {
+		Assertions.assertNotNull(recipeMap);
+		return recipeMap.getRecipes(recipeType, ingredient(number));
+	}
+
+	@Test
+	public void testLookupBeforeAndAfterFreeze() {
+		Assertions.assertNotNull(recipeMap);
+		TestRecipe recipe1 = addRecipe(TYPE_B, "recipe1", 0, 1);
+		TestRecipe recipe2 = addRecipe(TYPE_A, "recipe2", 1, 2);
+		TestRecipe recipe3 = addRecipe(TYPE_B, "recipe3", 1);
+		recipeMap.addCatalystForCategory(TYPE_C, ingredient(1));
+		recipeMap.addCatalystForCategory(TYPE_A, ingredient(3));
+
+		for (boolean frozen : List.of(false, true)) {
+			if (frozen) {
+				recipeMap.freeze();
+			}
+			String message = frozen ? "frozen" : "not frozen";
+			Assertions.assertEquals(List.of(recipe1, recipe3), getRecipes(TYPE_B, 1), message);
+			Assertions.assertEquals(List.of(recipe2), getRecipes(TYPE_A, 1), message);
+			Assertions.assertEquals(List.of(recipe1), getRecipes(TYPE_B, 0), message);
+			Assertions.assertEquals(List.of(), getRecipes(TYPE_A, 0), message);
+			Assertions.assertEquals(List.of(), getRecipes(TYPE_C, 1), message);
+
+			// recipe types are sorted and include the categories an ingredient is a catalyst for
+			Assertions.assertEquals(List.of(TYPE_A, TYPE_B, TYPE_C), getRecipeTypes(1), message);
+			Assertions.assertEquals(List.of(TYPE_B), getRecipeTypes(0), message);
+			Assertions.assertEquals(List.of(TYPE_A), getRecipeTypes(2), message);
+			Assertions.assertEquals(List.of(TYPE_A), getRecipeTypes(3), message);
+
+			Assertions.assertTrue(recipeMap.isCatalystForRecipeCategory(TYPE_C, ingredient(1)), message);
+			Assertions.assertTrue(recipeMap.isCatalystForRecipeCategory(TYPE_A, ingredient(3)), message);
+			Assertions.assertFalse(recipeMap.isCatalystForRecipeCategory(TYPE_A, ingredient(1)), message);
+		}
+	}
+
+	@Test
+	public void testMissingUids() {
+		Assertions.assertNotNull(recipeMap);
+		addRecipe(TYPE_A, "recipe1", 0);
+		recipeMap.addCatalystForCategory(TYPE_A, ingredient(1));
+
+		for (boolean frozen : List.of(false, true)) {
+			if (frozen) {
+				recipeMap.freeze();
+			}
+			String message = frozen ? "frozen" : "not frozen";
+			Assertions.assertEquals(List.of(), getRecipes(TYPE_A, 9), message);
+			Assertions.assertEquals(List.of(), getRecipes(TYPE_C, 0), message);
+			Assertions.assertEquals(List.of(), getRecipeTypes(9), message);
+			Assertions.assertFalse(recipeMap.isCatalystForRecipeCategory(TYPE_A, ingredient(9)), message);
+			Assertions.assertFalse(recipeMap.isCatalystForRecipeCategory(TYPE_C, ingredient(1)), message);
+		}
+	}
+
+	@Test
+	public void testAddAfterFreeze() {
+		Assertions.assertNotNull(recipeMap);
+		TestRecipe recipe1 = addRecipe(TYPE_B, "recipe1", 0, 1);
+		recipeMap.addCatalystForCategory(TYPE_B, ingredient(2));
+		recipeMap.freeze();
+
+		// an ingredient that already has frozen recipes
+		TestRecipe recipe2 = addRecipe(TYPE_B, "recipe2", 1);
+		TestRecipe recipe3 = addRecipe(TYPE_A, "recipe3", 1);
+		// an ingredient that was not known when the map was frozen
+		TestRecipe recipe4 = addRecipe(TYPE_C, "recipe4", 5);
+		// a catalyst for a category that already had one, and for a new category
+		recipeMap.addCatalystForCategory(TYPE_A, ingredient(2));
+		recipeMap.addCatalystForCategory(TYPE_C, ingredient(6));
+
+		Assertions.assertEquals(List.of(recipe1, recipe2), getRecipes(TYPE_B, 1));
+		Assertions.assertEquals(List.of(recipe3), getRecipes(TYPE_A, 1));
+		Assertions.assertEquals(List.of(recipe1), getRecipes(TYPE_B, 0));
+		Assertions.assertEquals(List.of(recipe4), getRecipes(TYPE_C, 5));
+
+		Assertions.assertEquals(List.of(TYPE_A, TYPE_B), getRecipeTypes(1));
+		Assertions.assertEquals(List.of(TYPE_A, TYPE_B), getRecipeTypes(2));
+		Assertions.assertEquals(List.of(TYPE_C), getRecipeTypes(5));
+		Assertions.assertEquals(List.of(TYPE_C), getRecipeTypes(6));
+
+		Assertions.assertTrue(recipeMap.isCatalystForRecipeCategory(TYPE_B, ingredient(2)));
+		Assertions.assertTrue(recipeMap.isCatalystForRecipeCategory(TYPE_A, ingredient(2)));
+		Assertions.assertTrue(recipeMap.isCatalystForRecipeCategory(TYPE_C, ingredient(6)));
+
+		// freezing again only compacts, the recipes added after the first freeze are still found
+		recipeMap.freeze();
+		Assertions.assertEquals(List.of(recipe1, recipe2), getRecipes(TYPE_B, 1));
+		Assertions.assertEquals(List.of(TYPE_C), getRecipeTypes(6));
+	}
+
+	@Test
+	public void testIngredientUidIds() {
+		IngredientUidIds uidIds = new IngredientUidIds();
+		Assertions.assertEquals(IngredientUidIds.NONE, uidIds.get("a"));
+		int a = uidIds.getOrCreate("a");
+		int b = uidIds.getOrCreate("b");
+		Assertions.assertNotEquals(a, b);
+		Assertions.assertEquals(a, uidIds.getOrCreate("a"));
+		Assertions.assertEquals(a, uidIds.get("a"));
+		Assertions.assertEquals(b, uidIds.get("b"));
+		Assertions.assertEquals(2, uidIds.size());
+		Assertions.assertEquals(IngredientUidIds.NONE, uidIds.get("c"));
+	}
+
+	@Test
+	public void testFrozenIngredientToRecipesMap() {
+		IngredientUidIds uidIds = new IngredientUidIds();
+		// assign ids in a different order than the map, so the frozen map has to sort them
+		int c = uidIds.getOrCreate("c");
+		Map<Object, List<String>> uidToRecipes = new LinkedHashMap<>();
+		uidToRecipes.put("a", List.of("recipe1", "recipe2"));
+		uidToRecipes.put("b", List.of("recipe3"));
+		uidToRecipes.put("c", List.of("recipe4", "recipe5", "recipe6"));
+		FrozenIngredientToRecipesMap<String> frozenMap = FrozenIngredientToRecipesMap.create(uidToRecipes, uidIds);
+
+		Assertions.assertEquals(List.of("recipe1", "recipe2"), frozenMap.get(uidIds.get("a")));
+		Assertions.assertEquals(List.of("recipe3"), frozenMap.get(uidIds.get("b")));
+		Assertions.assertEquals(List.of("recipe4", "recipe5", "recipe6"), frozenMap.get(c));
+		Assertions.assertEquals(List.of(), frozenMap.get(uidIds.getOrCreate("d")));
+		Assertions.assertEquals(List.of(), frozenMap.get(IngredientUidIds.NONE));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> frozenMap.get(c).add("recipe7"));
+	}
+
+	@Test
+	public void testFrozenRecipeTypeIndex() {
+		IngredientUidIds uidIds = new IngredientUidIds();
+		int a = uidIds.getOrCreate("a");
+		int b = uidIds.getOrCreate("b");
+		int c = uidIds.getOrCreate("c");
+		Reference2IntMap<RecipeType<?>> recipeTypeIds = new Reference2IntOpenHashMap<>();
+		recipeTypeIds.put(TYPE_A, 0);
+		recipeTypeIds.put(TYPE_B, 1);
+		recipeTypeIds.put(TYPE_C, 2);
+
+		Map<Object, Collection<RecipeType<?>>> uidToRecipeTypes = new LinkedHashMap<>();
+		uidToRecipeTypes.put("a", List.of(TYPE_C, TYPE_A));
+		uidToRecipeTypes.put("c", List.of(TYPE_B));
+		FrozenRecipeTypeIndex index = FrozenRecipeTypeIndex.create(uidToRecipeTypes, uidIds, recipeTypeIds);
+
+		// recipe type ids are sorted for each uid
+		Assertions.assertEquals(2, index.getEnd(a) - index.getStart(a));
+		Assertions.assertEquals(0, index.getRecipeTypeId(index.getStart(a)));
+		Assertions.assertEquals(2, index.getRecipeTypeId(index.getStart(a) + 1));
+		Assertions.assertTrue(index.contains(a, 0));
+		Assertions.assertTrue(index.contains(a, 2));
+		Assertions.assertFalse(index.contains(a, 1));
+
+		Assertions.assertEquals(index.getStart(b), index.getEnd(b));
+		Assertions.assertFalse(index.contains(b, 0));
+
+		Assertions.assertTrue(index.contains(c, 1));
+		Assertions.assertFalse(index.contains(c, 0));
+
+		// ids that were created after the index are not in it
+		int d = uidIds.getOrCreate("d");
+		Assertions.assertEquals(index.getStart(d), index.getEnd(d));
+		Assertions.assertFalse(index.contains(d, 0));
+		Assertions.assertFalse(index.contains(IngredientUidIds.NONE, 0));
+
+		FrozenRecipeTypeIndex empty = FrozenRecipeTypeIndex.empty();
+		Assertions.assertFalse(empty.contains(a, 0));
+	}
+}
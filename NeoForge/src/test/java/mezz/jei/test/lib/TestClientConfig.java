@@ -26,6 +26,36 @@ public class TestClientConfig implements IClientConfig {
 		return lowMemorySlowSearchEnabled;
 	}
 
+	@Override
+	public boolean isCompactSearchIndexEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isSearchIndexCacheEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isColorPaletteCacheEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isAsyncSearchEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isParallelRecipeRegistrationEnabled() {
+		return false;
+	}
+
+	@Override
+	public boolean isParallelPluginRegistrationEnabled() {
+		return false;
+	}
+
 	@Override
 	public boolean isCatchRenderErrorsEnabled() {
 		return false;
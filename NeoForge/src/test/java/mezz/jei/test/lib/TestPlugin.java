@@ -13,6 +13,19 @@ import java.util.Collection;
 public class TestPlugin implements IModPlugin {
 	public static final int BASE_INGREDIENT_COUNT = 2;
 
+	private final int ingredientCount;
+
+	public TestPlugin() {
+		this(BASE_INGREDIENT_COUNT);
+	}
+
+	/**
+	 * Creates a plugin that registers a different number of ingredients, for benchmarks.
+	 */
+	public TestPlugin(int ingredientCount) {
+		this.ingredientCount = ingredientCount;
+	}
+
 	@Override
 	public ResourceLocation getPluginUid() {
 		return ResourceLocation.fromNamespaceAndPath(ModIds.JEI_ID, "test");
@@ -21,7 +34,7 @@ public class TestPlugin implements IModPlugin {
 	@Override
 	public void registerIngredients(IModIngredientRegistration registration) {
 		Collection<TestIngredient> baseTestIngredients = new ArrayList<>();
-		for (int i = 0; i < BASE_INGREDIENT_COUNT; i++) {
+		for (int i = 0; i < ingredientCount; i++) {
 			baseTestIngredients.add(new TestIngredient(i));
 		}
 
@@ -19,6 +19,9 @@ plugins {
 
     // https://mvnrepository.com/artifact/org.parchmentmc.librarian.forgegradle/org.parchmentmc.librarian.forgegradle.gradle.plugin
     id("org.parchmentmc.librarian.forgegradle") version("1.2.0") apply(false)
+
+    // https://plugins.gradle.org/plugin/me.champeau.jmh
+    id("me.champeau.jmh") version("0.7.2") apply(false)
 }
 apply {
 	from("buildtools/ColoredOutput.gradle")
@@ -53,5 +53,6 @@ include(
 	"Forge", "ForgeApi",
 	"Fabric", "FabricApi",
 	"Library",
-	"Gui"
+	"Gui",
+	"Benchmarks"
 )